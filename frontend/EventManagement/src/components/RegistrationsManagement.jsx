@@ -152,7 +152,9 @@ const RegistrationsManagement = () => {
     const statusConfig = {
       PENDING: { color: 'pending', icon: Clock },
       CONFIRMED: { color: 'confirmed', icon: CheckCircle },
-      CANCELLED: { color: 'cancelled', icon: XCircle }
+      CANCELLED: { color: 'cancelled', icon: XCircle },
+      WAITLISTED: { color: 'pending', icon: Clock },
+      EXPIRED: { color: 'cancelled', icon: XCircle }
     };
     
     const config = statusConfig[status] || statusConfig.PENDING;
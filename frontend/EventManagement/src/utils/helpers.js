@@ -73,6 +73,10 @@ export const getRegistrationStatusColor = (status) => {
       return 'bg-red-500 text-white';
     case 'REFUNDED':
       return 'bg-purple-500 text-white';
+    case 'WAITLISTED':
+      return 'bg-blue-500 text-white';
+    case 'EXPIRED':
+      return 'bg-gray-500 text-white';
     default:
       return 'bg-gray-300 text-gray-700';
   }
@@ -88,6 +92,10 @@ export const getRegistrationStatusText = (status) => {
       return 'Cancelled';
     case 'REFUNDED':
       return 'Refunded';
+    case 'WAITLISTED':
+      return 'Waitlisted';
+    case 'EXPIRED':
+      return 'Expired';
     default:
       return status;
   }
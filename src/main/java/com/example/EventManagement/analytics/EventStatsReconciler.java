@@ -0,0 +1,52 @@
+package com.example.EventManagement.analytics;
+
+import com.example.EventManagement.repository.EventStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Periodically recomputes {@code event_stats} from {@code event_registrations}. Deltas that
+ * {@link RegistrationRollups} was still holding when its instance stopped are lost; this puts the
+ * affected rows right again.
+ * <p>
+ * Only events whose registrations and rollup row have been quiet for {@link #QUIET_PERIOD} are
+ * recomputed, as deltas for busier events may still be waiting in some instance's buffer and
+ * would be counted twice. Deleting a registration stamps the rollup row, so deletes count as
+ * activity too. {@code event_daily_stats} records history that cannot be derived from
+ * the current registrations, so it is not repaired.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventStatsReconciler {
+    
+    // Well past the flush interval, so a quiet event has no delta left to flush
+    static final Duration QUIET_PERIOD = Duration.ofMinutes(1);
+    
+    private final EventStatsRepository statsRepository;
+    
+    @Scheduled(fixedDelayString = "${app.analytics.recompute-interval-ms:300000}",
+               initialDelayString = "${app.analytics.recompute-interval-ms:300000}")
+    /**
+     * @return the number of rows added plus the number of rows corrected
+     */
+    @Transactional
+    public int recompute() {
+        // The columns hold microseconds; a finer bound would misjudge rows written at the same instant
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime quietSince = now.minus(QUIET_PERIOD);
+        int added = statsRepository.insertMissing();
+        int corrected = statsRepository.recompute(quietSince, now);
+        if (added > 0 || corrected > 0) {
+            log.info("Event statistics: {} row(s) added, {} corrected", added, corrected);
+        }
+        return added + corrected;
+    }
+}
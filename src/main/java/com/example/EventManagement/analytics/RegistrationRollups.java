@@ -0,0 +1,185 @@
+package com.example.EventManagement.analytics;
+
+import com.example.EventManagement.event.RegistrationChangedEvent;
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import com.example.EventManagement.repository.EventDailyStatsRepository;
+import com.example.EventManagement.repository.EventStatsRepository;
+import com.example.EventManagement.service.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maintains the {@code event_stats} and {@code event_daily_stats} rollups from registration
+ * changes.
+ * <p>
+ * Changes are collected per transaction and, once it commits, merged into deltas that are
+ * written every {@code flush-interval-ms}, one upsert per event and one per event and day. A
+ * popular event's rollup rows would otherwise be locked by every registration for it until
+ * commit, including waitlisted ones that never lock the event row, so the dashboard trails the
+ * registrations by up to one interval instead. Rolled-back changes are never merged; deltas
+ * still buffered when the instance dies are lost, and {@link EventStatsReconciler} repairs them.
+ */
+@Slf4j
+@Component
+public class RegistrationRollups {
+    
+    private final EventStatsRepository statsRepository;
+    private final EventDailyStatsRepository dailyStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    private Map<Long, EventDelta> events = new HashMap<>();
+    private Map<DayKey, DailyDelta> days = new HashMap<>();
+    
+    public RegistrationRollups(EventStatsRepository statsRepository,
+                               EventDailyStatsRepository dailyStatsRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.dailyStatsRepository = dailyStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    // Registration changes are only published inside the registration services' transactions
+    @EventListener
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        if (change.getStatus() == null) {
+            // A deleted registration leaves nothing behind to show its delta may still be buffered;
+            // stamping the rollup row with the delete keeps EventStatsReconciler off the event meanwhile
+            statsRepository.upsert(change.getEventId(), 0, 0, 0, 0, 0, LocalDateTime.now());
+        }
+        AfterCommit.buffer(this, PendingRollups::new, pending -> merge(pending.events, pending.days)).add(change);
+    }
+    
+    /**
+     * Writes the deltas merged since the last flush. If the write fails they are merged back and
+     * retried with the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.flush-interval-ms:1000}")
+    public void flush() {
+        Map<Long, EventDelta> flushedEvents;
+        Map<DayKey, DailyDelta> flushedDays;
+        synchronized (this) {
+            if (events.isEmpty() && days.isEmpty()) {
+                return;
+            }
+            flushedEvents = events;
+            flushedDays = days;
+            events = new HashMap<>();
+            days = new HashMap<>();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(flushedEvents, flushedDays));
+        } catch (RuntimeException e) {
+            log.warn("Failed to write registration rollups for {} event(s), retrying with the next flush",
+                    flushedEvents.size(), e);
+            merge(flushedEvents, flushedDays);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+    
+    // Upserts of deleted events insert nothing, so their deltas are simply dropped
+    private void write(Map<Long, EventDelta> flushedEvents, Map<DayKey, DailyDelta> flushedDays) {
+        LocalDateTime now = LocalDateTime.now();
+        flushedEvents.forEach((eventId, delta) -> {
+            if (delta.registrations != 0 || delta.waitlisted != 0 || delta.cancelled != 0
+                    || delta.expired != 0 || delta.revenue != 0) {
+                statsRepository.upsert(eventId, delta.registrations, delta.waitlisted, delta.cancelled,
+                        delta.expired, delta.revenue, now);
+            }
+        });
+        flushedDays.forEach((key, delta) -> {
+            if (delta.registrations != 0 || delta.confirmations != 0 || delta.cancellations != 0 || delta.revenue != 0) {
+                dailyStatsRepository.upsert(key.eventId(), key.date(), delta.registrations,
+                        delta.confirmations, delta.cancellations, delta.revenue);
+            }
+        });
+    }
+    
+    private synchronized void merge(Map<Long, EventDelta> committedEvents, Map<DayKey, DailyDelta> committedDays) {
+        committedEvents.forEach((eventId, delta) -> events.merge(eventId, delta, EventDelta::plus));
+        committedDays.forEach((key, delta) -> days.merge(key, delta, DailyDelta::plus));
+    }
+    
+    private static int delta(boolean before, boolean after) {
+        return (after ? 1 : 0) - (before ? 1 : 0);
+    }
+    
+    private static boolean isCancelled(RegistrationStatus status) {
+        return status == RegistrationStatus.CANCELLED || status == RegistrationStatus.REFUNDED;
+    }
+    
+    private static final class EventDelta {
+        int registrations;
+        int waitlisted;
+        int cancelled;
+        int expired;
+        double revenue;
+        
+        EventDelta plus(EventDelta other) {
+            registrations += other.registrations;
+            waitlisted += other.waitlisted;
+            cancelled += other.cancelled;
+            expired += other.expired;
+            revenue += other.revenue;
+            return this;
+        }
+    }
+    
+    private static final class DailyDelta {
+        int registrations;
+        int confirmations;
+        int cancellations;
+        double revenue;
+        
+        DailyDelta plus(DailyDelta other) {
+            registrations += other.registrations;
+            confirmations += other.confirmations;
+            cancellations += other.cancellations;
+            revenue += other.revenue;
+            return this;
+        }
+    }
+    
+    private record DayKey(Long eventId, LocalDate date) {
+    }
+    
+    private static final class PendingRollups {
+        
+        private final Map<Long, EventDelta> events = new LinkedHashMap<>();
+        private final Map<DayKey, DailyDelta> days = new LinkedHashMap<>();
+        
+        void add(RegistrationChangedEvent change) {
+            RegistrationStatus before = change.getPreviousStatus();
+            RegistrationStatus after = change.getStatus();
+            int confirmed = delta(before == RegistrationStatus.CONFIRMED, after == RegistrationStatus.CONFIRMED);
+            double revenue = confirmed == 0 || change.getAmountPaid() == null ? 0 : confirmed * change.getAmountPaid();
+            
+            EventDelta event = events.computeIfAbsent(change.getEventId(), id -> new EventDelta());
+            event.registrations += delta(before != null, after != null);
+            event.waitlisted += delta(before == RegistrationStatus.WAITLISTED, after == RegistrationStatus.WAITLISTED);
+            event.cancelled += delta(isCancelled(before), isCancelled(after));
+            event.expired += delta(before == RegistrationStatus.EXPIRED, after == RegistrationStatus.EXPIRED);
+            event.revenue += revenue;
+            
+            DailyDelta day = days.computeIfAbsent(new DayKey(change.getEventId(), LocalDate.now()), key -> new DailyDelta());
+            day.registrations += before == null && after != null ? 1 : 0;
+            day.confirmations += confirmed > 0 ? 1 : 0;
+            day.cancellations += isCancelled(after) && !isCancelled(before) ? 1 : 0;
+            day.revenue += revenue;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.EventManagement.cache;
+
+import com.example.EventManagement.config.CacheConfig;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.event.EventChangedEvent;
+import com.example.EventManagement.event.RegistrationChangedEvent;
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Evicts exactly the cached event reads a committed change can affect.
+ * <p>
+ * Event mutations can move an event into, out of or around a listing, so the listings it
+ * belongs to are dropped. Registration changes only alter the seat count shown on the
+ * event, and only when a registration enters or leaves CONFIRMED; then only the detail entry
+ * and the cached pages that actually contain it are evicted.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventCacheInvalidator {
+    
+    private final CacheManager cacheManager;
+    
+    /**
+     * Cache key for a category listing page; the category id prefix lets a single category be evicted.
+     */
+    public static String categoryKey(Long categoryId, Pageable pageable) {
+        return categoryId + ":" + pageable;
+    }
+    
+    @TransactionalEventListener
+    public void onEventChanged(EventChangedEvent change) {
+        cache(CacheConfig.EVENT_DETAILS).evict(change.getEventId());
+        
+        // New events start as drafts and cannot appear in the published listing yet
+        if (change.getType() != EventChangedEvent.ChangeType.CREATED) {
+            cache(CacheConfig.PUBLISHED_EVENTS).clear();
+        }
+        
+        evictCategory(change.getCategoryId());
+        if (!Objects.equals(change.getCategoryId(), change.getPreviousCategoryId())) {
+            evictCategory(change.getPreviousCategoryId());
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        // The seat count shown is the confirmed count; holds and the waitlist do not move it
+        if (change.getPreviousStatus() != RegistrationStatus.CONFIRMED
+                && change.getStatus() != RegistrationStatus.CONFIRMED) {
+            return;
+        }
+        cache(CacheConfig.EVENT_DETAILS).evict(change.getEventId());
+        evictPagesContaining(CacheConfig.PUBLISHED_EVENTS, change.getEventId());
+        evictPagesContaining(CacheConfig.EVENTS_BY_CATEGORY, change.getEventId());
+    }
+    
+    private void evictCategory(Long categoryId) {
+        if (categoryId == null) {
+            return;
+        }
+        String prefix = categoryId + ":";
+        nativeEntries(CacheConfig.EVENTS_BY_CATEGORY).keySet()
+                .removeIf(key -> key.toString().startsWith(prefix));
+    }
+    
+    private void evictPagesContaining(String cacheName, Long eventId) {
+        nativeEntries(cacheName).values().removeIf(value -> value instanceof Page<?> page &&
+                page.getContent().stream().anyMatch(item -> item instanceof EventDto dto && eventId.equals(dto.getId())));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> nativeEntries(String cacheName) {
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache(cacheName).getNativeCache()).asMap();
+    }
+    
+    private Cache cache(String cacheName) {
+        return Objects.requireNonNull(cacheManager.getCache(cacheName), "Cache not configured: " + cacheName);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.EventManagement.config;
+
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Read-through caches for event reads. Caffeine evicts with W-TinyLFU once a cache is full;
+ * entries also expire after a TTL as a safety net, but are normally invalidated explicitly
+ * by {@code EventCacheInvalidator} when events or registrations change.
+ * <p>
+ * Also holds the regions of Hibernate's second-level cache, which keeps the {@link Category} and
+ * {@link User} rows and the results of queries marked cacheable. Hibernate invalidates those
+ * itself on every write it issues, including bulk and native statements, so they need no
+ * invalidator; writes that bypass Hibernate are only corrected by the TTL.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String EVENT_DETAILS = "eventDetails";
+    public static final String PUBLISHED_EVENTS = "publishedEvents";
+    public static final String EVENTS_BY_CATEGORY = "eventsByCategory";
+    
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.event-details.max-size:10000}") long eventDetailsMaxSize,
+            @Value("${app.cache.event-details.ttl:10m}") Duration eventDetailsTtl,
+            @Value("${app.cache.event-listings.max-size:2000}") long listingsMaxSize,
+            @Value("${app.cache.event-listings.ttl:2m}") Duration listingsTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(EVENT_DETAILS, newCache(eventDetailsMaxSize, eventDetailsTtl));
+        cacheManager.registerCustomCache(PUBLISHED_EVENTS, newCache(listingsMaxSize, listingsTtl));
+        cacheManager.registerCustomCache(EVENTS_BY_CATEGORY, newCache(listingsMaxSize, listingsTtl));
+        return cacheManager;
+    }
+    
+    /**
+     * One JCache manager per application context, so contexts on different databases never share
+     * entries. Regions Hibernate asks for that are not created here fail startup instead of
+     * silently getting an unbounded cache.
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager hibernateCacheManager(
+            @Value("${app.cache.reference-data.max-size:10000}") long referenceDataMaxSize,
+            @Value("${app.cache.reference-data.ttl:30m}") Duration referenceDataTtl,
+            @Value("${app.cache.query-results.max-size:1000}") long queryResultsMaxSize,
+            @Value("${app.cache.query-results.ttl:10m}") Duration queryResultsTtl) {
+        javax.cache.CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(Category.class.getName(), newRegion(referenceDataMaxSize, referenceDataTtl));
+        cacheManager.createCache(User.class.getName(), newRegion(referenceDataMaxSize, referenceDataTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                newRegion(queryResultsMaxSize, queryResultsTtl));
+        // Last write per table; evicting one would let a stale query result count as current
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>().setStoreByValue(false));
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(javax.cache.CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+    
+    private Cache<Object, Object> newCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+    
+    // Hibernate stores disassembled, immutable entries, so they need not be copied on every read
+    private CaffeineConfiguration<Object, Object> newRegion(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
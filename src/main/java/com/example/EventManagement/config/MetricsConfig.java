@@ -0,0 +1,42 @@
+package com.example.EventManagement.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meter names shared by the instrumented layers. HTTP endpoints ({@code http.server.requests}),
+ * repository invocations ({@code spring.data.repository.invocations}), Hikari and the caches are
+ * instrumented by Spring Boot itself; histogram and percentile settings live in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** Timer for every public service method, tagged with class, method and exception. */
+    public static final String SERVICE_TIMER = "eventmanagement.service";
+
+    /** Distribution of rows returned per repository query, tagged with repository and method. */
+    public static final String REPOSITORY_ROWS = "eventmanagement.repository.rows";
+
+    /** Prefix of the database admission gauges ({@code .waiting}, {@code .available}). */
+    public static final String DB_ADMISSION = "eventmanagement.db.admission";
+
+    /** Prefix of the asynchronous registration queue meters ({@code .depth}, {@code .lag}, {@code .wait}). */
+    public static final String REGISTRATION_QUEUE = "eventmanagement.registration.queue";
+
+    /** Prefix of the seat hold meters ({@code .active} gauge, {@code .expired} counter). */
+    public static final String SEAT_HOLDS = "eventmanagement.registration.holds";
+
+    /** Counter of API requests turned away before reaching a controller, tagged with reason and endpoint. */
+    public static final String REJECTED_REQUESTS = "eventmanagement.http.rejected";
+
+    /** Prefix of the load shedding gauges ({@code .in_flight}, {@code .acquire_time}). */
+    public static final String LOAD_SHEDDING = "eventmanagement.http.shedding";
+
+    // Enables @Timed on Spring beans
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -2,17 +2,23 @@ package com.example.EventManagement.controller;
 
 import com.example.EventManagement.dto.CategoryDto;
 import com.example.EventManagement.service.CategoryService;
+import com.example.EventManagement.web.ConditionalGet;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/categories")
 @RequiredArgsConstructor
@@ -20,6 +26,7 @@ import java.util.Map;
 public class CategoryController {
     
     private final CategoryService categoryService;
+    private final ConditionalGet conditionalGet;
     
     @PostMapping
     @Operation(summary = "Create a new category")
@@ -29,8 +36,7 @@ public class CategoryController {
             return new ResponseEntity<>(savedCategory, HttpStatus.CREATED);
         } catch (Exception e) {
             // Log the error for debugging
-            System.err.println("Error creating category: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating category: {}", e.getMessage(), e);
             throw e;
         }
     }
@@ -63,8 +69,7 @@ public class CategoryController {
             response.put("errorType", e.getClass().getSimpleName());
             
             // Log the full error for debugging
-            System.err.println("Test category creation failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Test category creation failed: {}", e.getMessage(), e);
             
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
@@ -72,16 +77,24 @@ public class CategoryController {
     
     @GetMapping
     @Operation(summary = "List all categories")
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        List<CategoryDto> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<CategoryDto>> getAllCategories(WebRequest request) {
+        return conditionalGet.category(request, categoryService.getCategoriesVersion(), categoryService::getAllCategories);
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "Search categories by name prefix", description = "Case-insensitive; paginated in name order")
+    public ResponseEntity<Page<CategoryDto>> searchCategories(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(categoryService.getCategoriesByNamePrefix(name, PageRequest.of(page, size)));
     }
     
     @GetMapping("/{categoryId}")
     @Operation(summary = "Get category by id")
-    public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long categoryId) {
-        CategoryDto category = categoryService.getCategoryById(categoryId);
-        return ResponseEntity.ok(category);
+    public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long categoryId, WebRequest request) {
+        return conditionalGet.category(request, categoryService.getCategoryVersion(categoryId),
+                () -> categoryService.getCategoryById(categoryId));
     }
     
     @PutMapping("/{categoryId}")
@@ -1,33 +1,48 @@
 package com.example.EventManagement.controller;
 
 import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.dto.CursorPage;
 import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.service.EventCatalogService;
 import com.example.EventManagement.service.EventService;
+import com.example.EventManagement.web.ConditionalGet;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/events")
 @RequiredArgsConstructor
 @Tag(name = "Events", description = "Manage events lifecycle")
 public class EventController {
     
+    // Search pages are collected in memory up to offset + size hits
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    
     private final EventService eventService;
+    private final EventCatalogService catalogService;
+    private final ConditionalGet conditionalGet;
     
     @PostMapping
-    @Operation(summary = "Create a new event")
+    @Operation(summary = "Create a new event",
+               description = "A retry carrying the same Idempotency-Key header gets the first response back")
     public ResponseEntity<EventDto> createEvent(
             @Valid @RequestBody CreateEventRequest request,
             @RequestParam Long organizerId) {
@@ -36,8 +51,7 @@ public class EventController {
             return new ResponseEntity<>(event, HttpStatus.CREATED);
         } catch (Exception e) {
             // Log the error for debugging
-            System.err.println("Error creating event: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating event: {}", e.getMessage(), e);
             throw e;
         }
     }
@@ -86,8 +100,7 @@ public class EventController {
             response.put("errorDetails", e.toString());
             
             // Log the full error for debugging
-            System.err.println("Test event creation failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Test event creation failed: {}", e.getMessage(), e);
             
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
@@ -127,18 +140,18 @@ public class EventController {
     }
     
     @GetMapping("/all")
-    @Operation(summary = "List all events (no pagination)")
-    public ResponseEntity<List<EventDto>> getAllEventsSimple() {
-        try {
-            // Get all events without pagination for testing
-            Pageable pageable = PageRequest.of(0, 1000); // Get up to 1000 events
-            Page<EventDto> eventsPage = eventService.getAllEventsRegardlessOfStatus(pageable);
-            return ResponseEntity.ok(eventsPage.getContent());
-        } catch (Exception e) {
-            System.err.println("Error getting all events: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+    @Operation(summary = "Stream the full event catalog",
+               description = "Unpaginated JSON array written as it is read; send If-None-Match to get a 304 when nothing changed")
+    public ResponseEntity<StreamingResponseBody> getAllEventsSimple(WebRequest request) {
+        String etag = catalogService.getCatalogETag();
+        if (request.checkNotModified(etag)) {
+            return null;
         }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalogService::writeCatalog);
     }
     
     @GetMapping("/search")
@@ -147,18 +160,35 @@ public class EventController {
             @RequestParam String searchTerm,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_SEARCH_PAGE_SIZE));
         Page<EventDto> events = eventService.searchEvents(searchTerm, pageable);
         return ResponseEntity.ok(events);
     }
     
+    @GetMapping("/search/feed")
+    @Operation(summary = "Search events (cursor-paginated)")
+    public ResponseEntity<CursorPage<EventDto>> searchEventsFeed(
+            @RequestParam String searchTerm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.searchEventsAfter(searchTerm, cursor, size));
+    }
+    
     @GetMapping("/upcoming")
-    @Operation(summary = "List upcoming events")
-    public ResponseEntity<List<EventDto>> getUpcomingEvents() {
-        List<EventDto> events = eventService.getUpcomingEvents();
+    @Operation(summary = "List upcoming events", description = "Earliest first; all of them unless limit is given")
+    public ResponseEntity<List<EventDto>> getUpcomingEvents(@RequestParam(required = false) Integer limit) {
+        List<EventDto> events = limit == null ? eventService.getUpcomingEvents() : eventService.getUpcomingEvents(limit);
         return ResponseEntity.ok(events);
     }
     
+    @GetMapping("/upcoming/feed")
+    @Operation(summary = "List upcoming events (cursor-paginated)")
+    public ResponseEntity<CursorPage<EventDto>> getUpcomingEventsFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.getUpcomingEventsAfter(cursor, size));
+    }
+    
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "List events by category")
     public ResponseEntity<Page<EventDto>> getEventsByCategory(
@@ -170,6 +200,15 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
     
+    @GetMapping("/category/{categoryId}/feed")
+    @Operation(summary = "List events by category (cursor-paginated)")
+    public ResponseEntity<CursorPage<EventDto>> getEventsByCategoryFeed(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.getEventsByCategoryAfter(categoryId, cursor, size));
+    }
+    
     @GetMapping("/organizer/{organizerId}")
     @Operation(summary = "List events by organizer")
     public ResponseEntity<Page<EventDto>> getEventsByOrganizer(
@@ -181,6 +220,15 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
     
+    @GetMapping("/organizer/{organizerId}/feed")
+    @Operation(summary = "List events by organizer (cursor-paginated)")
+    public ResponseEntity<CursorPage<EventDto>> getEventsByOrganizerFeed(
+            @PathVariable Long organizerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.getEventsByOrganizerAfter(organizerId, cursor, size));
+    }
+    
     @GetMapping("/available")
     @Operation(summary = "List events with available seats")
     public ResponseEntity<List<EventDto>> getEventsWithAvailableCapacity() {
@@ -198,11 +246,18 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
     
+    @GetMapping("/feed")
+    @Operation(summary = "List published events (cursor-paginated)")
+    public ResponseEntity<CursorPage<EventDto>> getPublishedEventsFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.getPublishedEventsAfter(cursor, size));
+    }
+    
     @GetMapping("/{eventId}")
-    @Operation(summary = "Get event by id")
-    public ResponseEntity<EventDto> getEventById(@PathVariable Long eventId) {
-        EventDto event = eventService.getEventById(eventId);
-        return ResponseEntity.ok(event);
+    @Operation(summary = "Get event by id", description = "Send If-None-Match or If-Modified-Since to get a 304 when unchanged")
+    public ResponseEntity<EventDto> getEventById(@PathVariable Long eventId, WebRequest request) {
+        return conditionalGet.event(request, eventService.getEventVersion(eventId), () -> eventService.getEventById(eventId));
     }
     
     @PutMapping("/{eventId}")
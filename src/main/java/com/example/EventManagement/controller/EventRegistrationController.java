@@ -1,14 +1,25 @@
 package com.example.EventManagement.controller;
 
+import com.example.EventManagement.dto.BatchRegistrationRequest;
+import com.example.EventManagement.dto.BatchResult;
+import com.example.EventManagement.dto.BatchStatusChangeRequest;
+import com.example.EventManagement.dto.RegistrationTicket;
 import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.queue.RegistrationQueue;
 import com.example.EventManagement.service.EventRegistrationService;
+import com.example.EventManagement.service.RegistrationExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -18,16 +29,55 @@ import java.util.List;
 public class EventRegistrationController {
     
     private final EventRegistrationService registrationService;
+    private final RegistrationExportService exportService;
+    private final RegistrationQueue registrationQueue;
     
     @PostMapping
-    @Operation(summary = "Register user for an event")
-    public ResponseEntity<EventRegistration> registerForEvent(
+    @Operation(summary = "Register user for an event",
+               description = "Returns the registration (201), or with app.registration.async.enabled a ticket to poll (202). "
+                       + "A retry carrying the same Idempotency-Key header gets the first response back")
+    public ResponseEntity<?> registerForEvent(
             @RequestParam Long eventId,
             @RequestParam Long userId) {
+        if (registrationQueue.isEnabled()) {
+            RegistrationTicket ticket = registrationQueue.enqueue(eventId, userId);
+            URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/api/registrations/requests/{ticketId}")
+                    .buildAndExpand(ticket.getTicketId())
+                    .toUri();
+            return ResponseEntity.accepted().location(location).body(ticket);
+        }
         EventRegistration registration = registrationService.registerForEvent(eventId, userId);
         return new ResponseEntity<>(registration, HttpStatus.CREATED);
     }
     
+    @GetMapping("/requests/{ticketId}")
+    @Operation(summary = "Get the state of an asynchronous registration request")
+    public ResponseEntity<RegistrationTicket> getRegistrationRequest(@PathVariable Long ticketId) {
+        return ResponseEntity.ok(registrationQueue.getTicket(ticketId));
+    }
+    
+    @PostMapping("/batch")
+    @Operation(summary = "Register many users for an event", description = "Returns one result per user, in request order; honours Idempotency-Key")
+    public ResponseEntity<BatchResult> registerForEventBatch(@Valid @RequestBody BatchRegistrationRequest request) {
+        BatchResult result = registrationService.registerForEventBatch(request.getEventId(), request.getUserIds());
+        return ResponseEntity.ok(result);
+    }
+    
+    @PatchMapping("/batch/confirm")
+    @Operation(summary = "Confirm many registrations", description = "Returns one result per registration, in request order")
+    public ResponseEntity<BatchResult> confirmRegistrations(@Valid @RequestBody BatchStatusChangeRequest request) {
+        BatchResult result = registrationService.confirmRegistrations(request.getRegistrationIds());
+        return ResponseEntity.ok(result);
+    }
+    
+    @PatchMapping("/batch/cancel")
+    @Operation(summary = "Cancel many registrations", description = "Returns one result per registration, in request order")
+    public ResponseEntity<BatchResult> cancelRegistrations(@Valid @RequestBody BatchStatusChangeRequest request) {
+        BatchResult result = registrationService.cancelRegistrations(request.getRegistrationIds());
+        return ResponseEntity.ok(result);
+    }
+    
     @GetMapping("/event/{eventId}")
     @Operation(summary = "Get registrations for an event")
     public ResponseEntity<List<EventRegistration>> getRegistrationsByEvent(@PathVariable Long eventId) {
@@ -35,6 +85,23 @@ public class EventRegistrationController {
         return ResponseEntity.ok(registrations);
     }
     
+    @GetMapping("/event/{eventId}/export")
+    @Operation(summary = "Export all registrations for an event",
+               description = "format=ndjson (default) or csv; rows are streamed as they are read, for events of any size")
+    public ResponseEntity<StreamingResponseBody> exportRegistrationsByEvent(
+            @PathVariable Long eventId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        RegistrationExportService.Format exportFormat = RegistrationExportService.Format.from(format);
+        exportService.checkEventExists(eventId);
+        // Runs after the handler returns, in its own read-only transaction
+        StreamingResponseBody body = out -> exportService.exportRegistrations(eventId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"event-" + eventId + "-registrations." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+    
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get registrations for a user")
     public ResponseEntity<List<EventRegistration>> getRegistrationsByUser(@PathVariable Long userId) {
@@ -3,7 +3,14 @@ package com.example.EventManagement.controller;
 import com.example.EventManagement.repository.CategoryRepository;
 import com.example.EventManagement.repository.EventRepository;
 import com.example.EventManagement.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,6 +30,8 @@ public class HealthController {
     private final CategoryRepository categoryRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
     
     @GetMapping
     @Operation(summary = "Check application health and database connectivity")
@@ -54,4 +63,38 @@ public class HealthController {
         
         return ResponseEntity.ok(health);
     }
+    
+    @GetMapping("/cache")
+    @Operation(summary = "Hit/miss/eviction statistics for the application caches and the Hibernate cache regions")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        Map<String, Object> caches = new HashMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(cacheName) instanceof CaffeineCache cache) {
+                CacheStats stats = cache.getNativeCache().stats();
+                Map<String, Object> cacheInfo = new HashMap<>();
+                cacheInfo.put("size", cache.getNativeCache().estimatedSize());
+                cacheInfo.put("hits", stats.hitCount());
+                cacheInfo.put("misses", stats.missCount());
+                cacheInfo.put("hitRate", stats.hitRate());
+                cacheInfo.put("evictions", stats.evictionCount());
+                caches.put(cacheName, cacheInfo);
+            }
+        }
+        // Second-level cache regions are keyed by their Hibernate region name
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                Map<String, Object> regionInfo = new HashMap<>();
+                long requests = region.getHitCount() + region.getMissCount();
+                regionInfo.put("size", region.getElementCountInMemory());
+                regionInfo.put("hits", region.getHitCount());
+                regionInfo.put("misses", region.getMissCount());
+                regionInfo.put("hitRate", requests == 0 ? 1.0 : (double) region.getHitCount() / requests);
+                regionInfo.put("puts", region.getPutCount());
+                caches.put(regionName, regionInfo);
+            }
+        }
+        return ResponseEntity.ok(caches);
+    }
 }
@@ -1,18 +1,33 @@
 package com.example.EventManagement.controller;
 
+import com.example.EventManagement.dto.CursorPage;
+import com.example.EventManagement.dto.DailyRegistrationsDto;
+import com.example.EventManagement.dto.EventAnalyticsDto;
+import com.example.EventManagement.dto.EventDto;
 import com.example.EventManagement.dto.UserDto;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.service.EventService;
+import com.example.EventManagement.service.OrganizerAnalyticsService;
 import com.example.EventManagement.service.UserService;
+import com.example.EventManagement.web.ConditionalGet;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -20,6 +35,11 @@ import java.util.Map;
 public class UserController {
     
     private final UserService userService;
+    private final EventService eventService;
+    private final OrganizerAnalyticsService analyticsService;
+    private final ConditionalGet conditionalGet;
+    
+    private static final int MAX_PAGE_SIZE = 100;
     
     @PostMapping("/register")
     @Operation(summary = "Register a new user")
@@ -29,8 +49,7 @@ public class UserController {
             return new ResponseEntity<>(registeredUser, HttpStatus.CREATED);
         } catch (Exception e) {
             // Log the error for debugging
-            System.err.println("Error registering user: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error registering user: {}", e.getMessage(), e);
             throw e;
         }
     }
@@ -66,25 +85,49 @@ public class UserController {
             response.put("errorType", e.getClass().getSimpleName());
             
             // Log the full error for debugging
-            System.err.println("Test user creation failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Test user creation failed: {}", e.getMessage(), e);
             
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
     
     @GetMapping
-    @Operation(summary = "List all users")
+    @Operation(summary = "List users", description = "The first " + UserService.MAX_USER_LIST_SIZE
+            + " users by id; use /feed to page through all of them")
     public ResponseEntity<List<UserDto>> getAllUsers() {
         List<UserDto> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
     
+    @GetMapping("/page")
+    @Operation(summary = "List users (paginated)")
+    public ResponseEntity<Page<UserDto>> getUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.getUsers(PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE))));
+    }
+    
+    @GetMapping("/feed")
+    @Operation(summary = "List users (cursor-paginated)")
+    public ResponseEntity<CursorPage<UserDto>> getUsersFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.getUsersAfter(cursor, size));
+    }
+    
+    @GetMapping("/role/{role}")
+    @Operation(summary = "List users with a role (paginated)")
+    public ResponseEntity<Page<UserDto>> getUsersByRole(
+            @PathVariable User.UserRole role,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.getUsersByRole(role, PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE))));
+    }
+    
     @GetMapping("/{userId}")
     @Operation(summary = "Get user by id")
-    public ResponseEntity<UserDto> getUserById(@PathVariable Long userId) {
-        UserDto user = userService.getUserById(userId);
-        return ResponseEntity.ok(user);
+    public ResponseEntity<UserDto> getUserById(@PathVariable Long userId, WebRequest request) {
+        return conditionalGet.user(request, userService.getUserVersion(userId), () -> userService.getUserById(userId));
     }
     
     @PutMapping("/{userId}")
@@ -104,9 +147,33 @@ public class UserController {
     }
     
     @GetMapping("/{userId}/events")
-    @Operation(summary = "List events for a user (stub)")
-    public ResponseEntity<List<UserDto>> getUserEvents(@PathVariable Long userId) {
-        // This would return events organized by the user
-        return ResponseEntity.ok().build();
+    @Operation(summary = "List events organized by a user (paginated)")
+    public ResponseEntity<Page<EventDto>> getUserEvents(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.getEventsByOrganizer(userId, PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE))));
+    }
+    
+    @GetMapping("/{userId}/analytics/events")
+    @Operation(summary = "Sales figures per event for an organizer (paginated)",
+               description = "Registrations, fill rate, cancellation rate and confirmed revenue, served from rollups")
+    public ResponseEntity<Page<EventAnalyticsDto>> getEventAnalytics(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(analyticsService.getEventAnalytics(userId, PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE))));
+    }
+    
+    @GetMapping("/{userId}/analytics/daily")
+    @Operation(summary = "Registrations per day across an organizer's events",
+               description = "Defaults to the last 30 days; days without activity are omitted")
+    public ResponseEntity<List<DailyRegistrationsDto>> getDailyRegistrations(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(analyticsService.getDailyRegistrations(userId, start, end));
     }
 }
@@ -0,0 +1,24 @@
+package com.example.EventManagement.dto;
+
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch request. {@code userId} is set for batch registrations,
+ * {@code registrationId} whenever the registration exists; {@code error} is null on success.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    private Long userId;
+    private Long registrationId;
+    private RegistrationStatus status;
+    private String error;
+    
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.EventManagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchRegistrationRequest {
+    
+    @NotNull(message = "Event ID is required")
+    private Long eventId;
+    
+    @NotEmpty(message = "At least one user ID is required")
+    @Size(max = 1000, message = "A batch cannot exceed 1000 registrations")
+    private List<@NotNull Long> userIds;
+}
@@ -0,0 +1,25 @@
+package com.example.EventManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per-item results of a batch request, in request order. Failed items do not roll back
+ * the successful ones.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult {
+    private List<BatchItemResult> items;
+    private int succeeded;
+    private int failed;
+    
+    public static BatchResult of(List<BatchItemResult> items) {
+        int succeeded = (int) items.stream().filter(BatchItemResult::isSuccess).count();
+        return new BatchResult(items, succeeded, items.size() - succeeded);
+    }
+}
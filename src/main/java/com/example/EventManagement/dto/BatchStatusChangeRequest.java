@@ -0,0 +1,16 @@
+package com.example.EventManagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchStatusChangeRequest {
+    
+    @NotEmpty(message = "At least one registration ID is required")
+    @Size(max = 1000, message = "A batch cannot exceed 1000 registrations")
+    private List<@NotNull Long> registrationIds;
+}
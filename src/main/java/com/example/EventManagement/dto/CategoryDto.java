@@ -1,6 +1,7 @@
 package com.example.EventManagement.dto;
 
 import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.CategoryStats;
 import lombok.Data;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -27,6 +28,20 @@ public class CategoryDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Integer eventCount;
+    private Integer publishedEventCount;
+    private Integer upcomingEventCount;
+    private Long confirmedSeats;
+    
+    // Counters come from the maintained category_stats row; the events collection is never touched
+    public CategoryDto(Category category, CategoryStats stats) {
+        this(category);
+        if (stats != null) {
+            this.eventCount = stats.getTotalEvents();
+            this.publishedEventCount = stats.getPublishedEvents();
+            this.upcomingEventCount = stats.getUpcomingEvents();
+            this.confirmedSeats = stats.getConfirmedSeats();
+        }
+    }
     
     // Constructor to convert from Entity
     public CategoryDto(Category category) {
@@ -37,7 +52,6 @@ public class CategoryDto {
         this.color = category.getColor();
         this.createdAt = category.getCreatedAt();
         this.updatedAt = category.getUpdatedAt();
-        //this.eventCount = category.getEventCount();
     }
     
     // Default constructor for JSON deserialization
@@ -0,0 +1,21 @@
+package com.example.EventManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Registration activity across an organizer's events on one day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRegistrationsDto {
+    private LocalDate date;
+    private Long registrations;
+    private Long confirmations;
+    private Long cancellations;
+    private Double revenue;
+}
@@ -0,0 +1,50 @@
+package com.example.EventManagement.dto;
+
+import com.example.EventManagement.model.Event;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sales figures of one event for its organizer's dashboard, read from the event row and its
+ * {@code event_stats} rollup.
+ */
+@Data
+@NoArgsConstructor
+public class EventAnalyticsDto {
+    private Long eventId;
+    private String title;
+    private LocalDateTime startDate;
+    private Event.EventStatus status;
+    private Integer maxCapacity;
+    private Integer confirmedSeats;
+    // confirmedSeats / maxCapacity
+    private Double fillRate;
+    private Integer registrations;
+    private Integer waitlisted;
+    private Integer cancelled;
+    private Integer expired;
+    // cancelled / registrations, 0 without registrations
+    private Double cancellationRate;
+    private Double revenue;
+    
+    // Constructor used by the JPQL projection in EventStatsRepository; events without registrations have no stats row
+    public EventAnalyticsDto(Long eventId, String title, LocalDateTime startDate, Event.EventStatus status,
+                             Integer maxCapacity, Integer confirmedSeats, Integer registrations, Integer waitlisted,
+                             Integer cancelled, Integer expired, Double revenue) {
+        this.eventId = eventId;
+        this.title = title;
+        this.startDate = startDate;
+        this.status = status;
+        this.maxCapacity = maxCapacity;
+        this.confirmedSeats = confirmedSeats;
+        this.fillRate = maxCapacity > 0 ? (double) confirmedSeats / maxCapacity : 0.0;
+        this.registrations = registrations != null ? registrations : 0;
+        this.waitlisted = waitlisted != null ? waitlisted : 0;
+        this.cancelled = cancelled != null ? cancelled : 0;
+        this.expired = expired != null ? expired : 0;
+        this.cancellationRate = this.registrations > 0 ? (double) this.cancelled / this.registrations : 0.0;
+        this.revenue = revenue != null ? revenue : 0.0;
+    }
+}
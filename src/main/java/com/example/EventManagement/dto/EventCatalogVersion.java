@@ -0,0 +1,18 @@
+package com.example.EventManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap fingerprint of the event catalog: any create, update or delete changes at least one field.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCatalogVersion {
+    private Long eventCount;
+    private LocalDateTime lastUpdated;
+}
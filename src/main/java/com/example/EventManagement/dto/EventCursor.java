@@ -0,0 +1,37 @@
+package com.example.EventManagement.dto;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a listing ordered by {@code (startDate, id)}.
+ */
+@Value
+public class EventCursor {
+    
+    LocalDateTime startDate;
+    Long id;
+    
+    public static EventCursor of(EventDto event) {
+        return new EventCursor(event.getStartDate(), event.getId());
+    }
+    
+    public String encode() {
+        String raw = startDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static EventCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new EventCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -29,6 +29,34 @@ public class EventDto {
     // Default constructor for JSON deserialization
     public EventDto() {}
     
+    // Constructor used by the JPQL projections in EventRepository (single query, no lazy loading)
+    public EventDto(Long id, String title, String description, LocalDateTime startDate, LocalDateTime endDate,
+                    String location, Integer maxCapacity, Double ticketPrice, Event.EventStatus status,
+                    String imageUrl, String tags, LocalDateTime createdAt, LocalDateTime updatedAt,
+                    Long categoryId, String categoryName, Long organizerId, String organizerFirstName,
+                    String organizerLastName, Integer confirmedCount) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.location = location;
+        this.maxCapacity = maxCapacity;
+        this.ticketPrice = ticketPrice;
+        this.status = status;
+        this.imageUrl = imageUrl;
+        this.tags = tags;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.organizerId = organizerId;
+        if (organizerId != null) {
+            this.organizerName = organizerFirstName + " " + organizerLastName;
+        }
+        this.currentRegistrations = confirmedCount;
+    }
+    
     // Constructor to convert from Entity
     public EventDto(Event event) {
         this.id = event.getId();
@@ -55,16 +83,7 @@ public class EventDto {
             this.organizerName = event.getOrganizer().getFirstName() + " " + event.getOrganizer().getLastName();
         }
         
-        // Safely handle registrations to avoid LazyInitializationException
-        try {
-            if (event.getRegistrations() != null) {
-                this.currentRegistrations = event.getRegistrations().size();
-            } else {
-                this.currentRegistrations = 0;
-            }
-        } catch (Exception e) {
-            // If we can't access registrations (lazy loading issue), set to 0
-            this.currentRegistrations = 0;
-        }
+        // Read the maintained counter instead of initializing the registrations collection
+        this.currentRegistrations = event.getConfirmedCount();
     }
 }
@@ -0,0 +1,29 @@
+package com.example.EventManagement.dto;
+
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One attendee line of a registration export. Built by a constructor projection, so exporting
+ * never puts registration or user entities into the persistence context.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationExportRow {
+    private Long registrationId;
+    private Long userId;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private RegistrationStatus status;
+    private Double amountPaid;
+    private String paymentId;
+    private String specialRequirements;
+    private LocalDateTime registeredAt;
+}
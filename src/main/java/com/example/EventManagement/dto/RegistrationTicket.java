@@ -0,0 +1,31 @@
+package com.example.EventManagement.dto;
+
+import com.example.EventManagement.model.RegistrationRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of an asynchronous registration request. {@code registrationId} is set once it
+ * COMPLETED, {@code error} once it FAILED; both are null while it is QUEUED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationTicket {
+    private Long ticketId;
+    private Long eventId;
+    private Long userId;
+    private RegistrationRequest.Status status;
+    private Long registrationId;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+    
+    public static RegistrationTicket of(RegistrationRequest request) {
+        return new RegistrationTicket(request.getId(), request.getEventId(), request.getUserId(), request.getStatus(),
+                request.getRegistrationId(), request.getError(), request.getCreatedAt(), request.getProcessedAt());
+    }
+}
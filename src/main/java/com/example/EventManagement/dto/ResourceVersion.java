@@ -0,0 +1,44 @@
+package com.example.EventManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * What a conditional GET compares instead of the body: the resource id (or the row count, for a
+ * collection), its updatedAt (the newest one, for a collection) and, for bodies that include a
+ * count of other rows, that count. Read by timestamp-only queries, so a 304 never loads the entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceVersion {
+    private Long id;
+    private LocalDateTime lastModified;
+    private Long count;
+    
+    public ResourceVersion(Long id, LocalDateTime lastModified) {
+        this(id, lastModified, null);
+    }
+    
+    /**
+     * Strong ETag: changes whenever the row, or the counted rows, change.
+     */
+    public String eTag() {
+        // Microseconds, the precision of the datetime(6) columns
+        long stamp = lastModified == null ? 0
+                : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return "\"" + id + "-" + Long.toHexString(stamp) + (count == null ? "" : "-" + count) + "\"";
+    }
+    
+    /**
+     * Last-Modified in epoch milliseconds, or -1 when unknown. Timestamps are written in the JVM's zone.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.EventManagement.dto;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in search results ordered by {@code (score desc, id asc)}.
+ */
+@Value
+public class SearchCursor {
+    
+    float score;
+    Long id;
+    
+    public String encode() {
+        String raw = Float.floatToIntBits(score) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new SearchCursor(Float.intBitsToFloat(Integer.parseInt(raw.substring(0, separator))),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+}
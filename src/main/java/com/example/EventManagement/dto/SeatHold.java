@@ -0,0 +1,18 @@
+package com.example.EventManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A PENDING registration's claim on its seat, valid until {@code expiresAt}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHold {
+    private Long registrationId;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,31 @@
+package com.example.EventManagement.dto;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the user directory, which is ordered by {@code id}.
+ */
+@Value
+public class UserCursor {
+    
+    Long id;
+    
+    public static UserCursor of(UserDto user) {
+        return new UserCursor(user.getId());
+    }
+    
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static UserCursor decode(String cursor) {
+        try {
+            return new UserCursor(Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+}
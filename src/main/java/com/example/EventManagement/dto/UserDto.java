@@ -48,6 +48,25 @@ public class UserDto {
     // Default constructor
     public UserDto() {}
     
+    // Constructor used by the JPQL projections in UserRepository: the password column is never
+    // selected and the event count comes from a subquery in the same statement
+    public UserDto(Long id, String username, String email, String firstName, String lastName, String phoneNumber,
+                   User.UserRole role, String profileImageUrl, LocalDateTime createdAt, LocalDateTime updatedAt,
+                   Boolean isActive, Long organizedEventCount) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.phoneNumber = phoneNumber;
+        this.role = role;
+        this.profileImageUrl = profileImageUrl;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.isActive = isActive;
+        this.organizedEventCount = organizedEventCount.intValue();
+    }
+    
     // Constructor to convert from Entity
     public UserDto(User user) {
         this.id = user.getId();
@@ -0,0 +1,33 @@
+package com.example.EventManagement.event;
+
+import lombok.Value;
+
+/**
+ * Published by {@code EventService} whenever an event is created or changes state.
+ * Listeners that maintain derived data (search index, caches) react after the
+ * surrounding transaction commits.
+ */
+@Value
+public class EventChangedEvent {
+    
+    Long eventId;
+    ChangeType type;
+    Long categoryId;
+    // Category before an update moved the event; equal to categoryId otherwise
+    Long previousCategoryId;
+    
+    public EventChangedEvent(Long eventId, ChangeType type, Long categoryId) {
+        this(eventId, type, categoryId, categoryId);
+    }
+    
+    public EventChangedEvent(Long eventId, ChangeType type, Long categoryId, Long previousCategoryId) {
+        this.eventId = eventId;
+        this.type = type;
+        this.categoryId = categoryId;
+        this.previousCategoryId = previousCategoryId;
+    }
+    
+    public enum ChangeType {
+        CREATED, UPDATED, PUBLISHED, CANCELLED, DELETED
+    }
+}
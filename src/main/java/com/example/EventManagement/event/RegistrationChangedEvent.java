@@ -0,0 +1,34 @@
+package com.example.EventManagement.event;
+
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import lombok.Value;
+
+/**
+ * Published by {@code EventRegistrationService} whenever a registration is created, changes
+ * status or is deleted. {@code previousStatus} is null for new registrations and
+ * {@code status} is null for deleted ones. {@code amountPaid} may be null when neither
+ * status is CONFIRMED, since only confirmed registrations count towards revenue.
+ */
+@Value
+public class RegistrationChangedEvent {
+    
+    Long registrationId;
+    Long eventId;
+    RegistrationStatus previousStatus;
+    RegistrationStatus status;
+    Double amountPaid;
+    
+    public RegistrationChangedEvent(Long registrationId, Long eventId, RegistrationStatus previousStatus,
+                                    RegistrationStatus status) {
+        this(registrationId, eventId, previousStatus, status, null);
+    }
+    
+    public RegistrationChangedEvent(Long registrationId, Long eventId, RegistrationStatus previousStatus,
+                                    RegistrationStatus status, Double amountPaid) {
+        this.registrationId = registrationId;
+        this.eventId = eventId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.amountPaid = amountPaid;
+    }
+}
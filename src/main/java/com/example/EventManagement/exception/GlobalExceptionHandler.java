@@ -1,5 +1,6 @@
 package com.example.EventManagement.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,6 +15,12 @@ public class GlobalExceptionHandler {
     
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException ex) {
+        if (TransientFailures.isTransient(ex)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "The service is busy, please retry");
+            error.put("status", "503");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+        }
         Map<String, String> error = new HashMap<>();
         error.put("error", ex.getMessage());
         error.put("status", "400");
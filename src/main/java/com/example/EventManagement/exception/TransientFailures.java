@@ -0,0 +1,24 @@
+package com.example.EventManagement.exception;
+
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Tells failures worth retrying from ones that say something about the request.
+ */
+public final class TransientFailures {
+    
+    private TransientFailures() {
+    }
+    
+    // Deadlocks, lock waits and connection pool timeouts say nothing about the request, and the
+    // services often wrap them, so the whole cause chain is checked
+    public static boolean isTransient(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
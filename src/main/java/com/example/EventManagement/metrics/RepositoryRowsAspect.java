@@ -0,0 +1,74 @@
+package com.example.EventManagement.metrics;
+
+import com.example.EventManagement.config.MetricsConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Entity;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how many rows each repository query hands back, next to the latency Spring Boot
+ * already records per repository method. Scalar results (counts, flags, updated-row counts)
+ * are not rows and are skipped.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryRowsAspect {
+
+    private final MeterRegistry registry;
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @AfterReturning(pointcut = "execution(* org.springframework.data.repository.Repository+.*(..))", returning = "result")
+    public void recordRows(JoinPoint joinPoint, Object result) {
+        Integer rows = countRows(result);
+        if (rows == null) {
+            return;
+        }
+        DistributionSummary.builder(MetricsConfig.REPOSITORY_ROWS)
+                .baseUnit("rows")
+                .tag("repository", repositoryName(joinPoint))
+                .tag("method", joinPoint.getSignature().getName())
+                .register(registry)
+                .record(rows);
+    }
+
+    private Integer countRows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result != null && result.getClass().isAnnotationPresent(Entity.class)) {
+            return 1;
+        }
+        return null;
+    }
+
+    // The repository interface, not CrudRepository/JpaRepository for inherited methods
+    private String repositoryName(JoinPoint joinPoint) {
+        return repositoryNames.computeIfAbsent(joinPoint.getTarget().getClass(), targetClass ->
+                Arrays.stream(targetClass.getInterfaces())
+                        .filter(Repository.class::isAssignableFrom)
+                        .findFirst()
+                        .map(Class::getSimpleName)
+                        .orElse(joinPoint.getSignature().getDeclaringType().getSimpleName()));
+    }
+}
@@ -6,30 +6,42 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories",
+       uniqueConstraints = @UniqueConstraint(name = "uk_categories_name", columnNames = "name"),
+       indexes = @Index(name = "idx_categories_name_normalized", columnList = "name_normalized"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Category {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     @NotBlank(message = "Category name is required")
     @Size(min = 2, max = 50, message = "Category name must be between 2 and 50 characters")
     private String name;
     
+    // Lower-cased name for indexed case-insensitive lookups; kept in step with name on every write
+    @Column(nullable = false, length = 50)
+    private String nameNormalized;
+    
     @Column
     @Size(max = 200, message = "Description cannot exceed 200 characters")
     private String description;
@@ -44,6 +56,8 @@ public class Category {
     
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Event> events = new HashSet<>();
     
     @CreationTimestamp
@@ -51,4 +65,14 @@ public class Category {
     
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+    
+    public static String normalizeName(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    @PrePersist
+    @PreUpdate
+    void updateNameNormalized() {
+        nameNormalized = normalizeName(name);
+    }
 }
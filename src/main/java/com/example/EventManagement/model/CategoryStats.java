@@ -0,0 +1,45 @@
+package com.example.EventManagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event counts and confirmed seats of one category. The columns are only ever moved by
+ * relative bulk updates in {@code CategoryStatsRepository}, never by saving this entity,
+ * so concurrent transitions cannot overwrite each other's increments.
+ */
+@Entity
+@Table(name = "category_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryStats {
+    
+    @Id
+    private Long categoryId;
+    
+    @Column(nullable = false)
+    private Integer totalEvents = 0;
+    
+    @Column(nullable = false)
+    private Integer publishedEvents = 0;
+    
+    // Published events that had not started at the time of the last transition or recompute
+    @Column(nullable = false)
+    private Integer upcomingEvents = 0;
+    
+    // Sum of Event.confirmedCount over the category's events
+    @Column(nullable = false)
+    private Long confirmedSeats = 0L;
+    
+    private LocalDateTime updatedAt;
+    
+    public CategoryStats(Long categoryId) {
+        this.categoryId = categoryId;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -10,7 +10,10 @@ import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -19,7 +22,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_status_start_date", columnList = "status, start_date, id"),
+        @Index(name = "idx_events_category_start_date", columnList = "category_id, start_date, id"),
+        @Index(name = "idx_events_organizer_start_date", columnList = "organizer_id, start_date, id"),
+        @Index(name = "idx_events_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -53,11 +61,23 @@ public class Event {
     @NotBlank(message = "Location is required")
     private String location;
     
-    @Column(nullable = false)
+    // Changed only through EventRepository.updateCapacity, which checks it against the seat
+    // counters in the same statement
+    @Column(nullable = false, updatable = false)
     @NotNull(message = "Maximum capacity is required")
     @Min(value = 1, message = "Maximum capacity must be at least 1")
     private Integer maxCapacity;
     
+    // Seat counters are only ever written by the conditional UPDATEs in EventRepository,
+    // never from entity state, so a stale copy of the entity cannot overwrite them.
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer confirmedCount = 0;
+    
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer reservedCount = 0;
+    
     @Column(nullable = false)
     @NotNull(message = "Ticket price is required")
     @DecimalMin(value = "0.0", message = "Ticket price cannot be negative")
@@ -80,6 +100,8 @@ public class Event {
     
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<EventRegistration> registrations = new HashSet<>();
     
     @CreationTimestamp
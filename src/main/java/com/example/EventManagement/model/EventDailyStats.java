@@ -0,0 +1,50 @@
+package com.example.EventManagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Registration activity of one event on one day. Written only by the relative upsert in
+ * {@code EventDailyStatsRepository}.
+ */
+@Entity
+@Table(name = "event_daily_stats")
+@IdClass(EventDailyStats.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventDailyStats {
+    
+    @Id
+    private Long eventId;
+    
+    @Id
+    private LocalDate activityDate;
+    
+    // Registrations created that day
+    @Column(nullable = false)
+    private Integer registrations = 0;
+    
+    @Column(nullable = false)
+    private Integer confirmations = 0;
+    
+    @Column(nullable = false)
+    private Integer cancellations = 0;
+    
+    // Net change in confirmed revenue that day; cancelling a confirmed registration subtracts
+    @Column(nullable = false)
+    private Double revenue = 0.0;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long eventId;
+        private LocalDate activityDate;
+    }
+}
@@ -11,7 +11,13 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "event_registrations")
+@Table(name = "event_registrations",
+       uniqueConstraints = @UniqueConstraint(name = "uk_event_registrations_event_user", columnNames = {"event_id", "user_id"}),
+       indexes = {
+           @Index(name = "idx_event_registrations_event_status", columnList = "event_id, status"),
+           @Index(name = "idx_event_registrations_user_status", columnList = "user_id, status"),
+           @Index(name = "idx_event_registrations_status_hold", columnList = "status, hold_expires_at")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,6 +49,10 @@ public class EventRegistration {
     @Column
     private String specialRequirements;
     
+    // When a PENDING registration gives up its held seat unless confirmed first
+    @Column
+    private LocalDateTime holdExpiresAt;
+    
     @CreationTimestamp
     private LocalDateTime registeredAt;
     
@@ -50,6 +60,6 @@ public class EventRegistration {
     private LocalDateTime updatedAt;
     
     public enum RegistrationStatus {
-        PENDING, CONFIRMED, CANCELLED, REFUNDED
+        PENDING, CONFIRMED, CANCELLED, REFUNDED, WAITLISTED, EXPIRED
     }
 }
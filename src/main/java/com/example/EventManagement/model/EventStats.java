@@ -0,0 +1,43 @@
+package com.example.EventManagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registration counts and confirmed revenue of one event. Written only by the relative upsert
+ * in {@code EventStatsRepository}; confirmed seats live on {@code Event.confirmedCount}.
+ */
+@Entity
+@Table(name = "event_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventStats {
+    
+    @Id
+    private Long eventId;
+    
+    // Registrations in any status
+    @Column(nullable = false)
+    private Integer registrations = 0;
+    
+    @Column(nullable = false)
+    private Integer waitlisted = 0;
+    
+    // CANCELLED or REFUNDED
+    @Column(nullable = false)
+    private Integer cancelled = 0;
+    
+    @Column(nullable = false)
+    private Integer expired = 0;
+    
+    // Sum of amountPaid over CONFIRMED registrations
+    @Column(nullable = false)
+    private Double revenue = 0.0;
+    
+    private LocalDateTime updatedAt;
+}
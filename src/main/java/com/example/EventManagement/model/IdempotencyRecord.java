@@ -0,0 +1,46 @@
+package com.example.EventManagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * The response to a request sent with an {@code Idempotency-Key}, replayed when the same key
+ * comes back before {@code expiresAt}. {@code fingerprint} identifies the original request.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+       indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    
+    @Id
+    private String idempotencyKey;
+    
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+    
+    @Column(nullable = false)
+    private Integer status;
+    
+    @Column
+    private String contentType;
+    
+    @Column
+    private String location;
+    
+    @Column(columnDefinition = "TEXT")
+    private String body;
+    
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
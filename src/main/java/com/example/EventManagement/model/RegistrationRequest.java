@@ -0,0 +1,55 @@
+package com.example.EventManagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A registration accepted in asynchronous mode and waiting to be applied. The id doubles as
+ * the ticket the client polls; {@code registrationId} or {@code error} is set once processed.
+ */
+@Entity
+@Table(name = "registration_requests",
+       indexes = {
+           @Index(name = "idx_registration_requests_status_id", columnList = "status, id"),
+           @Index(name = "idx_registration_requests_status_event", columnList = "status, event_id, id")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationRequest {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long eventId;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.QUEUED;
+    
+    @Column
+    private Long registrationId;
+    
+    @Column
+    private String error;
+    
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+    
+    @Column
+    private LocalDateTime processedAt;
+    
+    public enum Status {
+        QUEUED, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.EventManagement.queue;
+
+import com.example.EventManagement.config.MetricsConfig;
+import com.example.EventManagement.dto.RegistrationTicket;
+import com.example.EventManagement.model.RegistrationRequest;
+import com.example.EventManagement.repository.RegistrationRequestRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Entry point of asynchronous registration: a request is one insert into
+ * {@code registration_requests}, applied later by {@link RegistrationQueueWorker}.
+ */
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Service
+@Transactional
+public class RegistrationQueue {
+    
+    private final RegistrationRequestRepository requestRepository;
+    private final boolean enabled;
+    
+    public RegistrationQueue(RegistrationRequestRepository requestRepository,
+                             @Value("${app.registration.async.enabled:false}") boolean enabled) {
+        this.requestRepository = requestRepository;
+        this.enabled = enabled;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public RegistrationTicket enqueue(Long eventId, Long userId) {
+        // Everything is checked by the worker; a full event waitlists rather than rejects
+        RegistrationRequest request = new RegistrationRequest();
+        request.setEventId(eventId);
+        request.setUserId(userId);
+        return RegistrationTicket.of(requestRepository.save(request));
+    }
+    
+    @Transactional(readOnly = true)
+    public RegistrationTicket getTicket(Long ticketId) {
+        return requestRepository.findById(ticketId)
+                .map(RegistrationTicket::of)
+                .orElseThrow(() -> new RuntimeException("Registration request not found"));
+    }
+}
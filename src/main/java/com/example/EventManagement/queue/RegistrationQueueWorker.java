@@ -0,0 +1,198 @@
+package com.example.EventManagement.queue;
+
+import com.example.EventManagement.config.MetricsConfig;
+import com.example.EventManagement.dto.BatchItemResult;
+import com.example.EventManagement.dto.BatchResult;
+import com.example.EventManagement.exception.TransientFailures;
+import com.example.EventManagement.model.RegistrationRequest;
+import com.example.EventManagement.model.RegistrationRequest.Status;
+import com.example.EventManagement.repository.RegistrationRequestRepository;
+import com.example.EventManagement.service.EventRegistrationService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Drains {@code registration_requests}. Each poll hands the events with queued requests to a
+ * pool of workers, one worker per event at a time so requests are applied in arrival order.
+ * A worker takes up to {@code batch-size} requests and applies them through
+ * {@link EventRegistrationService#registerForEventBatch}, so capacity is checked once per batch,
+ * and marks the requests processed in the same transaction as the registrations they created.
+ * That transaction claims the requests first with a locking read that skips rows already
+ * claimed, so several instances can drain the same table without applying a request twice. A
+ * crash before commit releases the claim and leaves them queued for the next poll, and so does a
+ * transient database failure; only requests the registration itself rejects are marked FAILED.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.registration.async.enabled", havingValue = "true")
+public class RegistrationQueueWorker {
+    
+    private final RegistrationRequestRepository requestRepository;
+    private final EventRegistrationService registrationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final Set<Long> eventsInProgress = ConcurrentHashMap.newKeySet();
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Timer waitTimer;
+    
+    public RegistrationQueueWorker(RegistrationRequestRepository requestRepository,
+                                   EventRegistrationService registrationService,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry registry,
+                                   @Value("${app.registration.async.workers:2}") int workers,
+                                   @Value("${app.registration.async.batch-size:200}") int batchSize) {
+        this.requestRepository = requestRepository;
+        this.registrationService = registrationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("registration-queue-"));
+        Gauge.builder(MetricsConfig.REGISTRATION_QUEUE + ".depth", depth, AtomicLong::get)
+                .description("Registration requests waiting to be processed")
+                .register(registry);
+        TimeGauge.builder(MetricsConfig.REGISTRATION_QUEUE + ".lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest queued registration request")
+                .register(registry);
+        this.waitTimer = Timer.builder(MetricsConfig.REGISTRATION_QUEUE + ".wait")
+                .description("Time from accepting a registration request to processing it")
+                .register(registry);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.registration.async.poll-interval-ms:100}")
+    public void poll() {
+        Optional<RegistrationRequest> oldest = requestRepository.findFirstByStatusOrderByIdAsc(Status.QUEUED);
+        if (oldest.isEmpty()) {
+            depth.set(0);
+            lagMillis.set(0);
+            return;
+        }
+        depth.set(requestRepository.countByStatus(Status.QUEUED));
+        lagMillis.set(Duration.between(oldest.get().getCreatedAt(), LocalDateTime.now()).toMillis());
+        
+        // A few more events than workers, so a worker finishing early finds the next one queued
+        List<Long> eventIds = requestRepository.findEventIdsByStatus(Status.QUEUED, PageRequest.of(0, workers * 2));
+        for (Long eventId : eventIds) {
+            if (eventsInProgress.add(eventId)) {
+                executor.execute(() -> {
+                    try {
+                        drain(eventId);
+                    } catch (RuntimeException e) {
+                        if (TransientFailures.isTransient(e)) {
+                            log.warn("Stopped draining registration requests for event {} until the next poll: {}", eventId, e.getMessage());
+                        } else {
+                            log.error("Failed to drain registration requests for event {}", eventId, e);
+                        }
+                    } finally {
+                        eventsInProgress.remove(eventId);
+                    }
+                });
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Unfinished batches roll back and stay queued
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    
+    private void drain(Long eventId) {
+        List<Long> claimed;
+        do {
+            claimed = process(eventId, () -> requestRepository.claimByStatusAndEventId(Status.QUEUED, eventId,
+                    PageRequest.of(0, batchSize)));
+        } while (claimed.size() == batchSize && !executor.isShutdown());
+    }
+    
+    /**
+     * Claims requests with {@code claim} and applies them in the claiming transaction, so they
+     * stay locked against other workers and instances until their outcome commits.
+     *
+     * @return the ids of the requests claimed, empty when another worker holds them all
+     */
+    private List<Long> process(Long eventId, Supplier<List<RegistrationRequest>> claim) {
+        List<Long> claimed = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<RegistrationRequest> batch = claim.get();
+                batch.forEach(request -> claimed.add(request.getId()));
+                if (!batch.isEmpty()) {
+                    BatchResult result = registrationService.registerForEventBatch(eventId,
+                            batch.stream().map(RegistrationRequest::getUserId).toList());
+                    complete(batch, result.getItems());
+                }
+            });
+        } catch (RuntimeException e) {
+            // A lock wait or an unavailable pool says nothing about the requests: they rolled back
+            // to QUEUED, and draining stops until the next poll
+            if (claimed.isEmpty() || TransientFailures.isTransient(e)) {
+                throw e;
+            }
+            if (claimed.size() == 1) {
+                transactionTemplate.executeWithoutResult(status -> fail(claimed.get(0), e.getMessage()));
+                return claimed;
+            }
+            // The batch rolled back as a whole, e.g. a synchronous registration won a race for one
+            // of its users; retry the requests one at a time so only the ones at fault fail
+            log.debug("Registration batch for event {} failed ({}), retrying its {} requests one by one",
+                    eventId, e.getMessage(), claimed.size());
+            claimed.forEach(requestId -> process(eventId,
+                    () -> requestRepository.claimByStatusAndId(Status.QUEUED, requestId).stream().toList()));
+        }
+        return claimed;
+    }
+    
+    // Results come back in request order, one per request
+    private void complete(List<RegistrationRequest> batch, List<BatchItemResult> items) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            RegistrationRequest request = batch.get(i);
+            BatchItemResult item = items.get(i);
+            request.setStatus(item.isSuccess() ? Status.COMPLETED : Status.FAILED);
+            request.setRegistrationId(item.getRegistrationId());
+            request.setError(item.getError());
+            request.setProcessedAt(now);
+            waitTimer.record(Duration.between(request.getCreatedAt(), now));
+        }
+    }
+    
+    // Claimed again: the failed transaction released it, and another worker may have taken it since
+    private void fail(Long requestId, String error) {
+        requestRepository.claimByStatusAndId(Status.QUEUED, requestId).ifPresent(request -> {
+            LocalDateTime now = LocalDateTime.now();
+            request.setStatus(Status.FAILED);
+            request.setError(error);
+            request.setProcessedAt(now);
+            waitTimer.record(Duration.between(request.getCreatedAt(), now));
+        });
+    }
+}
@@ -1,17 +1,44 @@
 package com.example.EventManagement.repository;
 
+import com.example.EventManagement.dto.ResourceVersion;
 import com.example.EventManagement.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
+    // Results come from the query cache until the categories table is next written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findAllByOrderByNameAsc();
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Category findByName(String name);
     
     boolean existsByName(String name);
+    
+    // Range scan on idx_categories_name_normalized; callers pass a lower-cased prefix
+    Page<Category> findByNameNormalizedStartingWithOrderByNameNormalizedAsc(String prefix, Pageable pageable);
+    
+    // CategoryDto carries the maintained counters, so their last change counts as a modification too
+    @Query("SELECT new com.example.EventManagement.dto.ResourceVersion(c.id, " +
+           "GREATEST(c.updatedAt, COALESCE(s.updatedAt, c.updatedAt))) " +
+           "FROM Category c LEFT JOIN CategoryStats s ON s.categoryId = c.id WHERE c.id = :categoryId")
+    Optional<ResourceVersion> findVersionById(@Param("categoryId") Long categoryId);
+    
+    // The id slot carries the row count, so deleting a category changes the version too
+    @Query("SELECT new com.example.EventManagement.dto.ResourceVersion(COUNT(c), " +
+           "GREATEST(MAX(c.updatedAt), COALESCE(MAX(s.updatedAt), MAX(c.updatedAt)))) " +
+           "FROM Category c LEFT JOIN CategoryStats s ON s.categoryId = c.id")
+    ResourceVersion findListVersion();
 }
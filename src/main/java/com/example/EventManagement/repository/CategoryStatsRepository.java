@@ -0,0 +1,53 @@
+package com.example.EventManagement.repository;
+
+import com.example.EventManagement.model.CategoryStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CategoryStatsRepository extends JpaRepository<CategoryStats, Long> {
+    
+    // Relative updates: concurrent transitions on the same category add up instead of overwriting
+    @Modifying
+    @Query("UPDATE CategoryStats s SET s.totalEvents = s.totalEvents + :total, " +
+           "s.publishedEvents = s.publishedEvents + :published, s.upcomingEvents = s.upcomingEvents + :upcoming, " +
+           "s.confirmedSeats = s.confirmedSeats + :seats, s.updatedAt = :now WHERE s.categoryId = :categoryId")
+    int applyDelta(@Param("categoryId") Long categoryId, @Param("total") int total, @Param("published") int published,
+                   @Param("upcoming") int upcoming, @Param("seats") long seats, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE CategoryStats s SET s.confirmedSeats = s.confirmedSeats + :seats, s.updatedAt = :now " +
+           "WHERE s.categoryId = (SELECT e.category.id FROM Event e WHERE e.id = :eventId)")
+    int addConfirmedSeats(@Param("eventId") Long eventId, @Param("seats") long seats, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM CategoryStats s WHERE s.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+    
+    // Categories created outside CategoryService (e.g. seed data) get their row here
+    @Modifying
+    @Query("INSERT INTO CategoryStats (categoryId, totalEvents, publishedEvents, upcomingEvents, confirmedSeats, updatedAt) " +
+           "SELECT c.id, 0, 0, 0, 0L, :now FROM Category c " +
+           "WHERE NOT EXISTS (SELECT 1 FROM CategoryStats s WHERE s.categoryId = c.id)")
+    int insertMissing(@Param("now") LocalDateTime now);
+    
+    // Recompute every row from the events table; only rows that drifted (or whose upcoming
+    // events have started) are written. Returns the number of categories corrected.
+    @Modifying
+    @Query("UPDATE CategoryStats s SET " +
+           "s.totalEvents = (SELECT COUNT(e) FROM Event e WHERE e.category.id = s.categoryId), " +
+           "s.publishedEvents = (SELECT COUNT(e) FROM Event e WHERE e.category.id = s.categoryId AND e.status = 'PUBLISHED'), " +
+           "s.upcomingEvents = (SELECT COUNT(e) FROM Event e WHERE e.category.id = s.categoryId AND e.status = 'PUBLISHED' AND e.startDate > :now), " +
+           "s.confirmedSeats = (SELECT COALESCE(SUM(e.confirmedCount), 0) FROM Event e WHERE e.category.id = s.categoryId), " +
+           "s.updatedAt = :now " +
+           "WHERE s.totalEvents <> (SELECT COUNT(e) FROM Event e WHERE e.category.id = s.categoryId) " +
+           "OR s.publishedEvents <> (SELECT COUNT(e) FROM Event e WHERE e.category.id = s.categoryId AND e.status = 'PUBLISHED') " +
+           "OR s.upcomingEvents <> (SELECT COUNT(e) FROM Event e WHERE e.category.id = s.categoryId AND e.status = 'PUBLISHED' AND e.startDate > :now) " +
+           "OR s.confirmedSeats <> (SELECT COALESCE(SUM(e.confirmedCount), 0) FROM Event e WHERE e.category.id = s.categoryId)")
+    int recompute(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,42 @@
+package com.example.EventManagement.repository;
+
+import com.example.EventManagement.dto.DailyRegistrationsDto;
+import com.example.EventManagement.model.EventDailyStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EventDailyStatsRepository extends JpaRepository<EventDailyStats, EventDailyStats.Key> {
+    
+    // Declares the table it writes; without it Hibernate evicts every second-level cache region
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_daily_stats"))
+    @Query(value = "INSERT INTO event_daily_stats (event_id, activity_date, registrations, confirmations, cancellations, revenue) " +
+                   "SELECT e.id, :date, :registrations, :confirmations, :cancellations, :revenue FROM events e " +
+                   "WHERE e.id = :eventId " +
+                   "ON DUPLICATE KEY UPDATE registrations = registrations + :registrations, " +
+                   "confirmations = confirmations + :confirmations, cancellations = cancellations + :cancellations, " +
+                   "revenue = revenue + :revenue",
+           nativeQuery = true)
+    int upsert(@Param("eventId") Long eventId, @Param("date") LocalDate date, @Param("registrations") int registrations,
+               @Param("confirmations") int confirmations, @Param("cancellations") int cancellations,
+               @Param("revenue") double revenue);
+    
+    // The organizer's events from idx_events_organizer_start_date, then a primary key range per event
+    @Query("SELECT new com.example.EventManagement.dto.DailyRegistrationsDto(d.activityDate, " +
+           "SUM(d.registrations), SUM(d.confirmations), SUM(d.cancellations), SUM(d.revenue)) " +
+           "FROM EventDailyStats d JOIN Event e ON e.id = d.eventId " +
+           "WHERE e.organizer.id = :organizerId AND d.activityDate BETWEEN :from AND :to " +
+           "GROUP BY d.activityDate ORDER BY d.activityDate")
+    List<DailyRegistrationsDto> findDailyTotals(@Param("organizerId") Long organizerId,
+                                                @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,29 @@
+package com.example.EventManagement.repository;
+
+import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+
+import java.util.List;
+
+/**
+ * Bulk writes for {@link EventRegistrationRepository} that bypass the persistence context.
+ */
+public interface EventRegistrationBatchRepository {
+    
+    /**
+     * Inserts new registrations as JDBC batches and sets their generated ids and timestamps.
+     * The registrations are not attached to the persistence context.
+     */
+    void insertAll(List<EventRegistration> registrations);
+    
+    /**
+     * Applies conditional status changes as one JDBC batch: each row only changes if it is still
+     * in the expected status.
+     *
+     * @return per change, whether its row matched
+     */
+    boolean[] updateStatuses(List<StatusChange> changes);
+    
+    record StatusChange(Long registrationId, RegistrationStatus expected, RegistrationStatus status) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.EventManagement.repository;
+
+import com.example.EventManagement.model.EventRegistration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Registration ids come from an auto_increment column, which rules out Hibernate insert batching;
+// plain JDBC batches still work and return the generated keys (one multi-row INSERT on MySQL with
+// rewriteBatchedStatements). Runs on the connection of the surrounding JPA transaction.
+@RequiredArgsConstructor
+class EventRegistrationBatchRepositoryImpl implements EventRegistrationBatchRepository {
+    
+    private static final String INSERT = "INSERT INTO event_registrations "
+            + "(event_id, user_id, status, payment_id, amount_paid, special_requirements, hold_expires_at, registered_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String UPDATE_STATUS = "UPDATE event_registrations SET status = ?, updated_at = ? "
+            + "WHERE id = ? AND status = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void insertAll(List<EventRegistration> registrations) {
+        if (registrations.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        registrations.forEach(registration -> {
+            registration.setRegisteredAt(now);
+            registration.setUpdatedAt(now);
+        });
+        Timestamp timestamp = Timestamp.valueOf(now);
+        
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        EventRegistration registration = registrations.get(i);
+                        ps.setLong(1, registration.getEvent().getId());
+                        ps.setLong(2, registration.getUser().getId());
+                        ps.setString(3, registration.getStatus().name());
+                        ps.setString(4, registration.getPaymentId());
+                        ps.setDouble(5, registration.getAmountPaid());
+                        ps.setString(6, registration.getSpecialRequirements());
+                        LocalDateTime holdExpiresAt = registration.getHoldExpiresAt();
+                        ps.setTimestamp(7, holdExpiresAt != null ? Timestamp.valueOf(holdExpiresAt) : null);
+                        ps.setTimestamp(8, timestamp);
+                        ps.setTimestamp(9, timestamp);
+                    }
+                    
+                    @Override
+                    public int getBatchSize() {
+                        return registrations.size();
+                    }
+                }, keys);
+        
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < registrations.size(); i++) {
+            registrations.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+        }
+    }
+    
+    // Bulk JPQL updates are never batched by Hibernate; this is one round trip per batch, and the
+    // per-statement update counts still say which rows matched
+    @Override
+    public boolean[] updateStatuses(List<StatusChange> changes) {
+        boolean[] matched = new boolean[changes.size()];
+        if (changes.isEmpty()) {
+            return matched;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_STATUS, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StatusChange change = changes.get(i);
+                ps.setString(1, change.status().name());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, change.registrationId());
+                ps.setString(4, change.expected().name());
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return changes.size();
+            }
+        });
+        for (int i = 0; i < counts.length; i++) {
+            matched[i] = counts[i] > 0;
+        }
+        return matched;
+    }
+}
@@ -1,28 +1,101 @@
 package com.example.EventManagement.repository;
 
+import com.example.EventManagement.dto.RegistrationExportRow;
+import com.example.EventManagement.dto.SeatHold;
 import com.example.EventManagement.model.EventRegistration;
 import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Long> {
+public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Long>, EventRegistrationBatchRepository {
     
-    List<EventRegistration> findByEventId(Long eventId);
+    // Explicit queries on the foreign key columns: derived finders join events/users and
+    // filter on the joined id, which keeps the (event_id, ...) / (user_id, ...) indexes unused
+    @Query("SELECT er FROM EventRegistration er WHERE er.event.id = :eventId")
+    List<EventRegistration> findByEventId(@Param("eventId") Long eventId);
     
-    List<EventRegistration> findByUserId(Long userId);
+    @Query("SELECT er FROM EventRegistration er WHERE er.user.id = :userId")
+    List<EventRegistration> findByUserId(@Param("userId") Long userId);
     
-    List<EventRegistration> findByEventIdAndStatus(Long eventId, RegistrationStatus status);
+    @Query("SELECT er FROM EventRegistration er WHERE er.event.id = :eventId AND er.status = :status")
+    List<EventRegistration> findByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") RegistrationStatus status);
     
-    Optional<EventRegistration> findByEventIdAndUserId(Long eventId, Long userId);
+    @Query("SELECT er FROM EventRegistration er WHERE er.event.id = :eventId AND er.user.id = :userId")
+    Optional<EventRegistration> findByEventIdAndUserId(@Param("eventId") Long eventId, @Param("userId") Long userId);
     
     boolean existsByEventIdAndUserId(Long eventId, Long userId);
     
+    // Forward-only cursor for exports: rows are fetched 500 at a time and projected straight into
+    // DTOs. Must be consumed inside a transaction and closed; on MySQL the fetch size only streams
+    // with useCursorFetch=true on the connection URL
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.EventManagement.dto.RegistrationExportRow(" +
+           "er.id, u.id, u.username, u.email, u.firstName, u.lastName, er.status, er.amountPaid, " +
+           "er.paymentId, er.specialRequirements, er.registeredAt) " +
+           "FROM EventRegistration er JOIN er.user u WHERE er.event.id = :eventId ORDER BY er.id")
+    Stream<RegistrationExportRow> streamExportRowsByEventId(@Param("eventId") Long eventId);
+    
+    // Which of the given users already hold a registration for the event (one probe of the unique key per user)
+    @Query("SELECT er.user.id FROM EventRegistration er WHERE er.event.id = :eventId AND er.user.id IN :userIds")
+    List<Long> findRegisteredUserIds(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT COUNT(er) FROM EventRegistration er WHERE er.event.id = :eventId AND er.status = :status")
+    long countByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") RegistrationStatus status);
+    
+    // Head of an event's waitlist: first come, first promoted
+    @Query("SELECT er.id FROM EventRegistration er WHERE er.event.id = :eventId AND er.status = 'WAITLISTED' ORDER BY er.id")
+    List<Long> findWaitlistedIds(@Param("eventId") Long eventId, Pageable pageable);
+    
+    // Conditional, so two transactions promoting the same head cannot both win it
+    @Modifying
+    @Query("UPDATE EventRegistration er SET er.status = 'PENDING', er.holdExpiresAt = :holdExpiresAt, er.updatedAt = :now " +
+           "WHERE er.id = :registrationId AND er.status = 'WAITLISTED'")
+    int promoteFromWaitlist(@Param("registrationId") Long registrationId, @Param("holdExpiresAt") LocalDateTime holdExpiresAt,
+                            @Param("now") LocalDateTime now);
+    
+    // Registrations about to change status through updateStatus: loaded read-only, so the
+    // conditional update is the only write
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT er FROM EventRegistration er WHERE er.id IN :registrationIds")
+    List<EventRegistration> findAllForStatusChange(@Param("registrationIds") Collection<Long> registrationIds);
+    
+    // Conditional, so of two transactions moving a registration out of the same status only one wins
+    @Modifying
+    @Query("UPDATE EventRegistration er SET er.status = :status, er.updatedAt = :now " +
+           "WHERE er.id = :registrationId AND er.status = :expected")
+    int updateStatus(@Param("registrationId") Long registrationId, @Param("expected") RegistrationStatus expected,
+                     @Param("status") RegistrationStatus status, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM EventRegistration er WHERE er.id = :registrationId AND er.status = :expected")
+    int deleteIfStatus(@Param("registrationId") Long registrationId, @Param("expected") RegistrationStatus expected);
+    
+    // Every seat hold that can still expire, soonest first
+    @Query("SELECT new com.example.EventManagement.dto.SeatHold(er.id, er.holdExpiresAt) FROM EventRegistration er " +
+           "WHERE er.status = 'PENDING' AND er.holdExpiresAt IS NOT NULL ORDER BY er.holdExpiresAt")
+    List<SeatHold> findActiveHolds();
+    
+    @Query("SELECT er.id FROM EventRegistration er " +
+           "WHERE er.status = 'PENDING' AND er.holdExpiresAt <= :now ORDER BY er.holdExpiresAt")
+    List<Long> findExpiredHoldIds(@Param("now") LocalDateTime now, Pageable pageable);
+    
     @Query("SELECT COUNT(er) FROM EventRegistration er WHERE er.event.id = :eventId AND er.status = 'CONFIRMED'")
     Long countConfirmedRegistrationsByEventId(@Param("eventId") Long eventId);
     
@@ -1,28 +1,134 @@
 package com.example.EventManagement.repository;
 
+import com.example.EventManagement.dto.EventCatalogVersion;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.dto.ResourceVersion;
 import com.example.EventManagement.model.Event;
 import com.example.EventManagement.model.Event.EventStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     
+    // Projection shared by the listing queries: category, organizer and seat count come from
+    // one joined row, so building a page of EventDto costs a single statement plus its count.
+    // Both associations are NOT NULL, so inner joins return the same rows and let the database
+    // drive a category/organizer filter through its composite index.
+    String EVENT_DTO_SELECT = "SELECT new com.example.EventManagement.dto.EventDto(" +
+            "e.id, e.title, e.description, e.startDate, e.endDate, e.location, e.maxCapacity, e.ticketPrice, " +
+            "e.status, e.imageUrl, e.tags, e.createdAt, e.updatedAt, c.id, c.name, o.id, o.firstName, o.lastName, " +
+            "e.confirmedCount) " +
+            "FROM Event e JOIN e.category c JOIN e.organizer o ";
+    
+    @Query(EVENT_DTO_SELECT + "WHERE e.id = :eventId")
+    Optional<EventDto> findEventDtoById(@Param("eventId") Long eventId);
+    
+    // Like the catalog ETag, category and organizer renames do not take part; nor do they evict the cached DTO
+    @Query("SELECT new com.example.EventManagement.dto.ResourceVersion(e.id, e.updatedAt) FROM Event e WHERE e.id = :eventId")
+    Optional<ResourceVersion> findVersionById(@Param("eventId") Long eventId);
+    
+    // Answered from idx_events_category_start_date without loading Category.events
+    boolean existsByCategoryId(Long categoryId);
+    
+    @Query(EVENT_DTO_SELECT + "WHERE e.id IN :eventIds")
+    List<EventDto> findEventDtosByIdIn(@Param("eventIds") Collection<Long> eventIds);
+    
+    @Query(value = EVENT_DTO_SELECT,
+           countQuery = "SELECT COUNT(e) FROM Event e")
+    Page<EventDto> findAllEventDtos(Pageable pageable);
+    
+    // Whole catalog in primary key order as a forward-only cursor; consume inside a transaction and close
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EVENT_DTO_SELECT + "ORDER BY e.id")
+    Stream<EventDto> streamAllEventDtos();
+    
+    // Changes whenever an event is created, updated or deleted; MAX comes from idx_events_updated_at
+    @Query("SELECT new com.example.EventManagement.dto.EventCatalogVersion(COUNT(e), MAX(e.updatedAt)) FROM Event e")
+    EventCatalogVersion findCatalogVersion();
+    
+    @Query(value = EVENT_DTO_SELECT + "WHERE e.status = :status",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.status = :status")
+    Page<EventDto> findEventDtosByStatus(@Param("status") EventStatus status, Pageable pageable);
+    
+    @Query(value = EVENT_DTO_SELECT + "WHERE c.id = :categoryId",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.category.id = :categoryId")
+    Page<EventDto> findEventDtosByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query(value = EVENT_DTO_SELECT + "WHERE o.id = :organizerId",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.organizer.id = :organizerId")
+    Page<EventDto> findEventDtosByOrganizerId(@Param("organizerId") Long organizerId, Pageable pageable);
+    
+    // Substring scan kept for comparison with the full-text index (see EventSearchBenchmarkTest)
+    @Query(value = EVENT_DTO_SELECT + "WHERE e.status = 'PUBLISHED' AND " +
+                   "(LOWER(e.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(e.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.status = 'PUBLISHED' AND " +
+                        "(LOWER(e.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(e.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    Page<EventDto> searchEventDtos(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    // Keyset (seek) pagination on (startDate, id): pass PageRequest.of(0, n) as a limit only,
+    // so no OFFSET and no COUNT query is issued. Each filter has a matching composite index.
+    String KEYSET_AFTER = "AND (e.startDate > :startDate OR (e.startDate = :startDate AND e.id > :id)) ";
+    String KEYSET_ORDER = "ORDER BY e.startDate ASC, e.id ASC";
+    
+    @Query(EVENT_DTO_SELECT + "WHERE e.status = :status " + KEYSET_ORDER)
+    List<EventDto> findEventDtosByStatusFirst(@Param("status") EventStatus status, Pageable limit);
+    
+    @Query(EVENT_DTO_SELECT + "WHERE e.status = :status " + KEYSET_AFTER + KEYSET_ORDER)
+    List<EventDto> findEventDtosByStatusAfter(@Param("status") EventStatus status, @Param("startDate") LocalDateTime startDate,
+                                              @Param("id") Long id, Pageable limit);
+    
+    @Query(EVENT_DTO_SELECT + "WHERE e.category.id = :categoryId " + KEYSET_ORDER)
+    List<EventDto> findEventDtosByCategoryIdFirst(@Param("categoryId") Long categoryId, Pageable limit);
+    
+    @Query(EVENT_DTO_SELECT + "WHERE e.category.id = :categoryId " + KEYSET_AFTER + KEYSET_ORDER)
+    List<EventDto> findEventDtosByCategoryIdAfter(@Param("categoryId") Long categoryId, @Param("startDate") LocalDateTime startDate,
+                                                  @Param("id") Long id, Pageable limit);
+    
+    @Query(EVENT_DTO_SELECT + "WHERE e.organizer.id = :organizerId " + KEYSET_ORDER)
+    List<EventDto> findEventDtosByOrganizerIdFirst(@Param("organizerId") Long organizerId, Pageable limit);
+    
+    @Query(EVENT_DTO_SELECT + "WHERE e.organizer.id = :organizerId " + KEYSET_AFTER + KEYSET_ORDER)
+    List<EventDto> findEventDtosByOrganizerIdAfter(@Param("organizerId") Long organizerId, @Param("startDate") LocalDateTime startDate,
+                                                   @Param("id") Long id, Pageable limit);
+    
+    @Query(EVENT_DTO_SELECT + "WHERE e.status = 'PUBLISHED' AND e.startDate > :now ORDER BY e.startDate ASC")
+    List<EventDto> findUpcomingEventDtos(@Param("now") LocalDateTime now);
+    
+    @Query(EVENT_DTO_SELECT + "WHERE e.status = 'PUBLISHED' AND e.maxCapacity > e.confirmedCount + e.reservedCount")
+    List<EventDto> findAvailableEventDtos();
+    
     // Find events by status
     List<Event> findByStatus(EventStatus status);
     
-    // Find events by category
-    Page<Event> findByCategoryId(Long categoryId, Pageable pageable);
+    // Find events by category (filters on the foreign key column rather than a join)
+    @Query(value = "SELECT e FROM Event e WHERE e.category.id = :categoryId",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.category.id = :categoryId")
+    Page<Event> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
     
     // Find events by organizer
-    Page<Event> findByOrganizerId(Long organizerId, Pageable pageable);
+    @Query(value = "SELECT e FROM Event e WHERE e.organizer.id = :organizerId",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.organizer.id = :organizerId")
+    Page<Event> findByOrganizerId(@Param("organizerId") Long organizerId, Pageable pageable);
     
     // Find published events
     Page<Event> findByStatus(EventStatus status, Pageable pageable);
@@ -48,12 +154,69 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     
     // Find events with available capacity
     @Query("SELECT e FROM Event e WHERE e.status = 'PUBLISHED' AND " +
-           "e.maxCapacity > (SELECT COUNT(er) FROM EventRegistration er WHERE er.event = e AND er.status = 'CONFIRMED')")
+           "e.maxCapacity > e.confirmedCount + e.reservedCount")
     List<Event> findEventsWithAvailableCapacity();
     
-    // Check if event is full
-    @Query("SELECT CASE WHEN e.maxCapacity <= " +
-           "(SELECT COUNT(er) FROM EventRegistration er WHERE er.event = e AND er.status = 'CONFIRMED') " +
-           "THEN true ELSE false END FROM Event e WHERE e.id = :eventId")
+    // Check if event is full (confirmed seats plus seats held by pending registrations)
+    @Query("SELECT CASE WHEN e.maxCapacity <= e.confirmedCount + e.reservedCount THEN true ELSE false END " +
+           "FROM Event e WHERE e.id = :eventId")
     Boolean isEventFull(@Param("eventId") Long eventId);
+    
+    @Query("SELECT e.maxCapacity - e.confirmedCount - e.reservedCount FROM Event e WHERE e.id = :eventId")
+    Integer findRemainingSeats(@Param("eventId") Long eventId);
+    
+    // Conditional, so the capacity cannot drop below seats claimed after the event was read
+    @Modifying
+    @Query("UPDATE Event e SET e.maxCapacity = :maxCapacity, e.updatedAt = :now " +
+           "WHERE e.id = :eventId AND e.confirmedCount + e.reservedCount <= :maxCapacity")
+    int updateCapacity(@Param("eventId") Long eventId, @Param("maxCapacity") int maxCapacity, @Param("now") LocalDateTime now);
+    
+    // Hold seats for pending registrations; all-or-nothing, returns 0 when fewer than :count seats are left
+    @Modifying
+    @Query("UPDATE Event e SET e.reservedCount = e.reservedCount + :count " +
+           "WHERE e.id = :eventId AND e.confirmedCount + e.reservedCount + :count <= e.maxCapacity")
+    int reserveSeats(@Param("eventId") Long eventId, @Param("count") int count);
+    
+    // The confirmed count is published as EventDto.currentRegistrations, so updates that change it
+    // also move updatedAt (the catalog ETag is built from MAX(updatedAt)). :now is the JVM clock,
+    // like @UpdateTimestamp, so a skewed database clock cannot move it backwards
+    
+    // Turn held seats into confirmed ones; capacity is unchanged
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedCount = e.confirmedCount + :count, e.reservedCount = e.reservedCount - :count, " +
+           "e.updatedAt = :now WHERE e.id = :eventId AND e.reservedCount >= :count")
+    int confirmReservedSeats(@Param("eventId") Long eventId, @Param("count") int count, @Param("now") LocalDateTime now);
+    
+    // Claim confirmed seats without a prior hold; all-or-nothing like reserveSeats
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedCount = e.confirmedCount + :count, e.updatedAt = :now " +
+           "WHERE e.id = :eventId AND e.confirmedCount + e.reservedCount + :count <= e.maxCapacity")
+    int claimConfirmedSeats(@Param("eventId") Long eventId, @Param("count") int count, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedCount = e.confirmedCount - :count, e.updatedAt = :now " +
+           "WHERE e.id = :eventId AND e.confirmedCount >= :count")
+    int releaseConfirmedSeats(@Param("eventId") Long eventId, @Param("count") int count, @Param("now") LocalDateTime now);
+    
+    // Pass confirmed seats being given up straight to promoted waitlisters as held seats, so they
+    // are never free in between
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedCount = e.confirmedCount - :count, e.reservedCount = e.reservedCount + :count, " +
+           "e.updatedAt = :now WHERE e.id = :eventId AND e.confirmedCount >= :count")
+    int handOverConfirmedSeats(@Param("eventId") Long eventId, @Param("count") int count, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Event e SET e.reservedCount = e.reservedCount - :count " +
+           "WHERE e.id = :eventId AND e.reservedCount >= :count")
+    int releaseReservedSeats(@Param("eventId") Long eventId, @Param("count") int count);
+    
+    // Repair seat counters that drifted from the registrations table; returns the number of events fixed
+    @Modifying
+    @Query("UPDATE Event e SET " +
+           "e.confirmedCount = (SELECT COUNT(er) FROM EventRegistration er WHERE er.event = e AND er.status = 'CONFIRMED'), " +
+           "e.reservedCount = (SELECT COUNT(er) FROM EventRegistration er WHERE er.event = e AND er.status = 'PENDING'), " +
+           "e.updatedAt = :now " +
+           "WHERE e.confirmedCount <> (SELECT COUNT(er) FROM EventRegistration er WHERE er.event = e AND er.status = 'CONFIRMED') " +
+           "OR e.reservedCount <> (SELECT COUNT(er) FROM EventRegistration er WHERE er.event = e AND er.status = 'PENDING')")
+    int reconcileSeatCounters(@Param("now") LocalDateTime now);
 }
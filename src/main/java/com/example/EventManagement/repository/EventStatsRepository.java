@@ -0,0 +1,75 @@
+package com.example.EventManagement.repository;
+
+import com.example.EventManagement.dto.EventAnalyticsDto;
+import com.example.EventManagement.model.EventStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface EventStatsRepository extends JpaRepository<EventStats, Long> {
+    
+    // Adds the deltas, creating the row on the event's first registration; a deleted event gets no row.
+    // Declares the table it writes; without it Hibernate evicts every second-level cache region
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "event_stats"))
+    @Query(value = "INSERT INTO event_stats (event_id, registrations, waitlisted, cancelled, expired, revenue, updated_at) " +
+                   "SELECT e.id, :registrations, :waitlisted, :cancelled, :expired, :revenue, :now FROM events e " +
+                   "WHERE e.id = :eventId " +
+                   "ON DUPLICATE KEY UPDATE registrations = registrations + :registrations, " +
+                   "waitlisted = waitlisted + :waitlisted, cancelled = cancelled + :cancelled, " +
+                   "expired = expired + :expired, revenue = revenue + :revenue, updated_at = :now",
+           nativeQuery = true)
+    int upsert(@Param("eventId") Long eventId, @Param("registrations") int registrations,
+               @Param("waitlisted") int waitlisted, @Param("cancelled") int cancelled, @Param("expired") int expired,
+               @Param("revenue") double revenue, @Param("now") LocalDateTime now);
+    
+    // Events with registrations but no row, e.g. when their first deltas were lost with an instance.
+    // The rows are left without updatedAt, so the recompute that follows fills them in
+    @Modifying
+    @Query("INSERT INTO EventStats (eventId, registrations, waitlisted, cancelled, expired, revenue) " +
+           "SELECT e.id, 0, 0, 0, 0, 0.0 FROM Event e " +
+           "WHERE EXISTS (SELECT 1 FROM EventRegistration r WHERE r.event.id = e.id) " +
+           "AND NOT EXISTS (SELECT 1 FROM EventStats s WHERE s.eventId = e.id)")
+    int insertMissing();
+    
+    // Recompute the rows of events without registration activity since quietSince, so no delta for
+    // them can still be waiting to be flushed. Only rows that drifted are written; revenue is a
+    // sum of doubles, so rounding differences below a cent do not count as drift.
+    @Modifying
+    @Query("UPDATE EventStats s SET " +
+           "s.registrations = (SELECT COUNT(r) FROM EventRegistration r WHERE r.event.id = s.eventId), " +
+           "s.waitlisted = (SELECT COUNT(r) FROM EventRegistration r WHERE r.event.id = s.eventId AND r.status = 'WAITLISTED'), " +
+           "s.cancelled = (SELECT COUNT(r) FROM EventRegistration r WHERE r.event.id = s.eventId AND r.status IN ('CANCELLED', 'REFUNDED')), " +
+           "s.expired = (SELECT COUNT(r) FROM EventRegistration r WHERE r.event.id = s.eventId AND r.status = 'EXPIRED'), " +
+           "s.revenue = (SELECT COALESCE(SUM(r.amountPaid), 0.0) FROM EventRegistration r WHERE r.event.id = s.eventId AND r.status = 'CONFIRMED'), " +
+           "s.updatedAt = :now " +
+           "WHERE (s.updatedAt IS NULL OR s.updatedAt <= :quietSince) " +
+           "AND NOT EXISTS (SELECT 1 FROM EventRegistration r WHERE r.event.id = s.eventId " +
+           "AND (r.registeredAt > :quietSince OR r.updatedAt > :quietSince)) " +
+           "AND (s.registrations <> (SELECT COUNT(r) FROM EventRegistration r WHERE r.event.id = s.eventId) " +
+           "OR s.waitlisted <> (SELECT COUNT(r) FROM EventRegistration r WHERE r.event.id = s.eventId AND r.status = 'WAITLISTED') " +
+           "OR s.cancelled <> (SELECT COUNT(r) FROM EventRegistration r WHERE r.event.id = s.eventId AND r.status IN ('CANCELLED', 'REFUNDED')) " +
+           "OR s.expired <> (SELECT COUNT(r) FROM EventRegistration r WHERE r.event.id = s.eventId AND r.status = 'EXPIRED') " +
+           "OR ABS(s.revenue - (SELECT COALESCE(SUM(r.amountPaid), 0.0) FROM EventRegistration r " +
+           "WHERE r.event.id = s.eventId AND r.status = 'CONFIRMED')) >= 0.01)")
+    int recompute(@Param("quietSince") LocalDateTime quietSince, @Param("now") LocalDateTime now);
+    
+    // One row per event of the organizer, driven by idx_events_organizer_start_date
+    @Query(value = "SELECT new com.example.EventManagement.dto.EventAnalyticsDto(" +
+                   "e.id, e.title, e.startDate, e.status, e.maxCapacity, e.confirmedCount, " +
+                   "s.registrations, s.waitlisted, s.cancelled, s.expired, s.revenue) " +
+                   "FROM Event e LEFT JOIN EventStats s ON s.eventId = e.id " +
+                   "WHERE e.organizer.id = :organizerId ORDER BY e.startDate, e.id",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.organizer.id = :organizerId")
+    Page<EventAnalyticsDto> findEventAnalytics(@Param("organizerId") Long organizerId, Pageable pageable);
+}
@@ -0,0 +1,43 @@
+package com.example.EventManagement.repository;
+
+import com.example.EventManagement.model.RegistrationRequest;
+import com.example.EventManagement.model.RegistrationRequest.Status;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RegistrationRequestRepository extends JpaRepository<RegistrationRequest, Long> {
+    
+    // Events with requests in the given status, the one waiting longest first
+    @Query("SELECT r.eventId FROM RegistrationRequest r WHERE r.status = :status GROUP BY r.eventId ORDER BY MIN(r.id)")
+    List<Long> findEventIdsByStatus(@Param("status") Status status, Pageable pageable);
+    
+    // Claims requests for the current transaction, oldest first: the rows stay locked until it
+    // ends, and rows another transaction has claimed are skipped (lock timeout -2, SKIP LOCKED)
+    // instead of waited for, so two workers never apply the same request
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT r FROM RegistrationRequest r WHERE r.status = :status AND r.eventId = :eventId ORDER BY r.id")
+    List<RegistrationRequest> claimByStatusAndEventId(@Param("status") Status status, @Param("eventId") Long eventId,
+                                                      Pageable pageable);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT r FROM RegistrationRequest r WHERE r.status = :status AND r.id = :requestId")
+    Optional<RegistrationRequest> claimByStatusAndId(@Param("status") Status status, @Param("requestId") Long requestId);
+    
+    Optional<RegistrationRequest> findFirstByStatusOrderByIdAsc(Status status);
+    
+    long countByStatus(Status status);
+}
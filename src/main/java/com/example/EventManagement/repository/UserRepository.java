@@ -1,16 +1,51 @@
 package com.example.EventManagement.repository;
 
+import com.example.EventManagement.dto.ResourceVersion;
+import com.example.EventManagement.dto.UserDto;
 import com.example.EventManagement.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Projection shared by the user listings: the organized event count is a correlated COUNT
+    // answered from idx_events_organizer_start_date, so a page of users costs one statement and
+    // neither the organizedEvents collection nor the password column is ever loaded.
+    String USER_DTO_SELECT = "SELECT new com.example.EventManagement.dto.UserDto(" +
+            "u.id, u.username, u.email, u.firstName, u.lastName, u.phoneNumber, u.role, u.profileImageUrl, " +
+            "u.createdAt, u.updatedAt, u.isActive, (SELECT COUNT(e) FROM Event e WHERE e.organizer.id = u.id)) " +
+            "FROM User u ";
+    
+    @Query(USER_DTO_SELECT + "WHERE u.id = :userId")
+    Optional<UserDto> findUserDtoById(@Param("userId") Long userId);
+    
+    @Query(value = USER_DTO_SELECT + "ORDER BY u.id",
+           countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserDto> findUserDtos(Pageable pageable);
+    
+    // Keyset pagination on the primary key: pass PageRequest.of(0, n) as a limit only
+    @Query(USER_DTO_SELECT + "ORDER BY u.id")
+    List<UserDto> findUserDtosFirst(Pageable limit);
+    
+    @Query(USER_DTO_SELECT + "WHERE u.id > :id ORDER BY u.id")
+    List<UserDto> findUserDtosAfter(@Param("id") Long id, Pageable limit);
+    
+    // Natural-key lookups come from the query cache until the users table is next written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
     boolean existsByUsername(String username);
@@ -18,4 +53,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     
     Optional<User> findByUsernameOrEmail(String username, String email);
+    
+    // Served in id order by idx_users_role (role, id)
+    @Query(value = USER_DTO_SELECT + "WHERE u.role = :role ORDER BY u.id",
+           countQuery = "SELECT COUNT(u) FROM User u WHERE u.role = :role")
+    Page<UserDto> findUserDtosByRole(@Param("role") User.UserRole role, Pageable pageable);
+    
+    // UserDto carries the organized event count, which changes without touching the user row
+    @Query("SELECT new com.example.EventManagement.dto.ResourceVersion(u.id, u.updatedAt, " +
+           "(SELECT COUNT(e) FROM Event e WHERE e.organizer.id = u.id)) FROM User u WHERE u.id = :userId")
+    Optional<ResourceVersion> findVersionById(@Param("userId") Long userId);
 }
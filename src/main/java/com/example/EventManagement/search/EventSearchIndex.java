@@ -0,0 +1,254 @@
+package com.example.EventManagement.search;
+
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.dto.SearchCursor;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded Lucene inverted index over the searchable fields of published events.
+ * <p>
+ * Only ids are stored; callers resolve hits back to {@link EventDto}s with a single
+ * projection query. Every query term must match at least one field, either exactly or
+ * as a prefix, and title/tag matches outrank description matches.
+ */
+@Component
+public class EventSearchIndex {
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    static final String LOCATION = "location";
+    static final String TAGS = "tags";
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            TITLE, 4.0f,
+            TAGS, 3.0f,
+            LOCATION, 2.0f,
+            DESCRIPTION, 1.0f);
+
+    // Exact term matches score above prefix matches on the same field
+    private static final float PREFIX_WEIGHT = 0.5f;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory = new ByteBuffersDirectory();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public EventSearchIndex() throws IOException {
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public void index(EventDto event) {
+        try {
+            writer.updateDocument(new Term(ID, event.getId().toString()), toDocument(event));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index event " + event.getId(), e);
+        }
+    }
+
+    /**
+     * Adds a batch of events without refreshing readers after each one; used for bulk loads.
+     */
+    public void indexAll(List<EventDto> events) {
+        try {
+            for (EventDto event : events) {
+                writer.updateDocument(new Term(ID, event.getId().toString()), toDocument(event));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index events", e);
+        }
+    }
+
+    public void remove(Long eventId) {
+        try {
+            writer.deleteDocuments(new Term(ID, eventId.toString()));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove event " + eventId + " from the search index", e);
+        }
+    }
+
+    public void clear() {
+        try {
+            writer.deleteAll();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clear the search index", e);
+        }
+    }
+
+    /**
+     * Returns one page of matching event ids in relevance order. The collector never holds more
+     * than {@code maxDoc} hits, however far {@code offset} reaches.
+     */
+    public SearchHits search(String text, long offset, int limit) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return new SearchHits(Collections.emptyList(), 0);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int numHits = (int) Math.max(1, Math.min(offset + limit, searcher.getIndexReader().maxDoc()));
+                // Count every hit so the page total is exact rather than a lower bound
+                TopDocs topDocs = searcher.search(query, new TopScoreDocCollectorManager(numHits, Integer.MAX_VALUE));
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                if (offset >= scoreDocs.length) {
+                    return new SearchHits(Collections.emptyList(), topDocs.totalHits.value);
+                }
+                List<Long> ids = new ArrayList<>(Math.min(limit, scoreDocs.length));
+                for (int i = (int) offset; i < scoreDocs.length; i++) {
+                    ids.add(searcher.storedFields().document(scoreDocs[i].doc).getField(ID).numericValue().longValue());
+                }
+                return new SearchHits(ids, topDocs.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed for '" + text + "'", e);
+        }
+    }
+
+    /**
+     * Keyset variant of {@link #search}: returns up to {@code limit} hits ordered by
+     * (score desc, id asc) that come strictly after {@code after}, or from the top when it is null.
+     * Scores can shift slightly while the index changes, so a cursor is a best-effort position.
+     */
+    public List<ScoredEventId> searchAfter(String text, SearchCursor after, int limit) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return Collections.emptyList();
+        }
+        Sort sort = new Sort(SortField.FIELD_SCORE, new SortField(ID, SortField.Type.LONG));
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // Ids are unique, so the doc tie-breaker only ever applies to the cursor's own
+                // document; pointing it at the last doc excludes that one
+                FieldDoc afterDoc = after == null ? null : new FieldDoc(searcher.getIndexReader().maxDoc() - 1,
+                        after.getScore(), new Object[]{after.getScore(), after.getId()});
+                TopDocs topDocs = searcher.searchAfter(afterDoc, query, limit, sort, true);
+                List<ScoredEventId> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    FieldDoc fieldDoc = (FieldDoc) scoreDoc;
+                    hits.add(new ScoredEventId((Long) fieldDoc.fields[1], fieldDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed for '" + text + "'", e);
+        }
+    }
+
+    private Query buildQuery(String text) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            FIELD_BOOSTS.forEach((field, boost) -> {
+                anyField.add(new BoostQuery(new TermQuery(new Term(field, term)), boost), BooleanClause.Occur.SHOULD);
+                anyField.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost * PREFIX_WEIGHT), BooleanClause.Occur.SHOULD);
+            });
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute termAttribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(termAttribute.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to analyze search text", e);
+        }
+        return terms;
+    }
+
+    private Document toDocument(EventDto event) {
+        Document document = new Document();
+        document.add(new StringField(ID, event.getId().toString(), Field.Store.NO));
+        document.add(new NumericDocValuesField(ID, event.getId()));
+        document.add(new StoredField(ID, event.getId()));
+        addText(document, TITLE, event.getTitle());
+        addText(document, DESCRIPTION, event.getDescription());
+        addText(document, LOCATION, event.getLocation());
+        addText(document, TAGS, event.getTags());
+        return document;
+    }
+
+    private void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @Value
+    public static class SearchHits {
+        List<Long> eventIds;
+        long totalHits;
+    }
+
+    @Value
+    public static class ScoredEventId {
+        Long eventId;
+        float score;
+    }
+}
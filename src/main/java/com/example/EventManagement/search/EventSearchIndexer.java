@@ -0,0 +1,59 @@
+package com.example.EventManagement.search;
+
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.event.EventChangedEvent;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Keeps {@link EventSearchIndex} in step with the database: a full load at startup and
+ * an incremental update after every committed event change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventSearchIndexer {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final EventSearchIndex searchIndex;
+    private final EventRepository eventRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        searchIndex.clear();
+        long indexed = 0;
+        Page<EventDto> page;
+        int pageNumber = 0;
+        do {
+            page = eventRepository.findEventDtosByStatus(Event.EventStatus.PUBLISHED,
+                    PageRequest.of(pageNumber++, REBUILD_BATCH_SIZE, Sort.by("id")));
+            searchIndex.indexAll(page.getContent());
+            indexed += page.getNumberOfElements();
+        } while (page.hasNext());
+        log.info("Search index rebuilt with {} published event(s)", indexed);
+    }
+
+    @TransactionalEventListener
+    public void onEventChanged(EventChangedEvent change) {
+        // Only published events are searchable; anything else is dropped from the index
+        Optional<EventDto> event = eventRepository.findEventDtoById(change.getEventId())
+                .filter(dto -> dto.getStatus() == Event.EventStatus.PUBLISHED);
+        if (event.isPresent()) {
+            searchIndex.index(event.get());
+        } else {
+            searchIndex.remove(change.getEventId());
+        }
+    }
+}
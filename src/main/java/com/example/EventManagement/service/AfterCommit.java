@@ -0,0 +1,71 @@
+package com.example.EventManagement.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Defers in-memory side effects (cache adjustments, buffered counter deltas) until the current
+ * transaction commits, so a rollback leaves them unapplied.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs {@code action} once the current transaction commits, or straight away when no
+     * transaction is active.
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * The buffer {@code owner} collects into for the current transaction, created with
+     * {@code factory} on first use and handed to {@code onCommit} once the transaction commits.
+     * Needs an active transaction.
+     */
+    public static <T> T buffer(Object owner, Supplier<T> factory, Consumer<T> onCommit) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Buffer<?> buffer && buffer.owner == owner) {
+                @SuppressWarnings("unchecked")
+                T value = (T) buffer.value;
+                return value;
+            }
+        }
+        T value = factory.get();
+        TransactionSynchronizationManager.registerSynchronization(new Buffer<>(owner, value, onCommit));
+        return value;
+    }
+
+    // Not a record: synchronizations are kept in a set, and two empty buffers must not be equal
+    private static final class Buffer<T> implements TransactionSynchronization {
+
+        private final Object owner;
+        private final T value;
+        private final Consumer<T> onCommit;
+
+        Buffer(Object owner, T value, Consumer<T> onCommit) {
+            this.owner = owner;
+            this.value = value;
+            this.onCommit = onCommit;
+        }
+
+        @Override
+        public void afterCommit() {
+            onCommit.accept(value);
+        }
+    }
+}
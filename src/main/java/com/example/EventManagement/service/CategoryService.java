@@ -1,13 +1,21 @@
 package com.example.EventManagement.service;
 
 import com.example.EventManagement.dto.CategoryDto;
+import com.example.EventManagement.dto.ResourceVersion;
 import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.CategoryStats;
 import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.CategoryStatsRepository;
+import com.example.EventManagement.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,18 +24,38 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryStatsRepository statsRepository;
+    private final EventRepository eventRepository;
+    private final CategoryStatistics categoryStatistics;
 
     @Transactional(readOnly = true)
     public List<CategoryDto> getAllCategories() {
-        List<Category> categories = categoryRepository.findAll();
-        return categories.stream().map(CategoryDto::new).collect(Collectors.toList());
+        // Served from the query and entity caches until a category is written
+        List<Category> categories = categoryRepository.findAllByOrderByNameAsc();
+        // Both tables hold one small row per category: two reads, however many events there are
+        Map<Long, CategoryStats> stats = statsRepository.findAll().stream()
+                .collect(Collectors.toMap(CategoryStats::getCategoryId, Function.identity()));
+        return categories.stream()
+                .map(category -> new CategoryDto(category, stats.get(category.getId())))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getCategoriesVersion() {
+        return categoryRepository.findListVersion();
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getCategoryVersion(Long categoryId) {
+        return categoryRepository.findVersionById(categoryId)
+                .orElseThrow(() -> new RuntimeException("Category not found with ID: " + categoryId));
     }
 
     @Transactional(readOnly = true)
     public CategoryDto getCategoryById(Long categoryId) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found with ID: " + categoryId));
-        return new CategoryDto(category);
+        return new CategoryDto(category, statsRepository.findById(categoryId).orElse(null));
     }
 
     @Transactional
@@ -50,7 +78,8 @@ public class CategoryService {
 
         try {
             Category savedCategory = categoryRepository.save(category);
-            return new CategoryDto(savedCategory);
+            categoryStatistics.categoryCreated(savedCategory.getId());
+            return new CategoryDto(savedCategory, new CategoryStats(savedCategory.getId()));
         } catch (Exception e) {
             throw new RuntimeException("Failed to create category: " + e.getMessage(), e);
         }
@@ -79,7 +108,7 @@ public class CategoryService {
 
         try {
             Category updatedCategory = categoryRepository.save(category);
-            return new CategoryDto(updatedCategory);
+            return new CategoryDto(updatedCategory, statsRepository.findById(categoryId).orElse(null));
         } catch (Exception e) {
             throw new RuntimeException("Failed to update category: " + e.getMessage(), e);
         }
@@ -91,11 +120,12 @@ public class CategoryService {
                 .orElseThrow(() -> new RuntimeException("Category not found with ID: " + categoryId));
         
         // Check if category has events
-        if (category.getEvents() != null && !category.getEvents().isEmpty()) {
+        if (eventRepository.existsByCategoryId(categoryId)) {
             throw new RuntimeException("Cannot delete category '" + category.getName() + "' with existing events. Please remove or reassign events first.");
         }
         
         try {
+            categoryStatistics.categoryDeleted(categoryId);
             categoryRepository.delete(category);
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete category: " + e.getMessage(), e);
@@ -103,15 +133,12 @@ public class CategoryService {
     }
 
     @Transactional(readOnly = true)
-    public List<CategoryDto> getCategoriesByNameContaining(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            return getAllCategories();
-        }
-        
-        List<Category> categories = categoryRepository.findAll().stream()
-                .filter(cat -> cat.getName().toLowerCase().contains(name.toLowerCase().trim()))
-                .collect(Collectors.toList());
-        return categories.stream().map(CategoryDto::new).collect(Collectors.toList());
+    public Page<CategoryDto> getCategoriesByNamePrefix(String prefix, Pageable pageable) {
+        String normalized = Category.normalizeName(prefix == null ? "" : prefix);
+        Page<Category> categories = categoryRepository.findByNameNormalizedStartingWithOrderByNameNormalizedAsc(normalized, pageable);
+        Map<Long, CategoryStats> stats = statsRepository.findAllById(categories.map(Category::getId).getContent()).stream()
+                .collect(Collectors.toMap(CategoryStats::getCategoryId, Function.identity()));
+        return categories.map(category -> new CategoryDto(category, stats.get(category.getId())));
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,130 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.model.CategoryStats;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.repository.CategoryStatsRepository;
+import com.example.EventManagement.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code category_stats} in step with event and seat transitions, so category listings
+ * read four counters instead of counting events.
+ * <p>
+ * Event transitions describe what an event contributed to its category before and after a change
+ * and the difference is applied as one relative UPDATE in the caller's transaction, after the
+ * event row is flushed. Seat changes are different: registrations for many events of one category
+ * would all queue on its row, and a batch holding it while locking its next event deadlocks with
+ * one that locked that event first. So seat deltas are summed per event and written once the
+ * registration transaction has committed, each in a short transaction of its own that locks only
+ * the category row. {@link CategoryStatsReconciler} repairs anything these increments miss, such
+ * as events written straight through the repository or a delta lost to a failed write.
+ */
+@Slf4j
+@Component
+public class CategoryStatistics {
+    
+    private final CategoryStatsRepository statsRepository;
+    private final EventRepository eventRepository;
+    private final TransactionTemplate seatsTransaction;
+    
+    public CategoryStatistics(CategoryStatsRepository statsRepository, EventRepository eventRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.eventRepository = eventRepository;
+        this.seatsTransaction = new TransactionTemplate(transactionManager);
+        this.seatsTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    /**
+     * What one event adds to its category's counters at a point in time.
+     */
+    public record Contribution(Long categoryId, boolean published, boolean upcoming, int confirmedSeats) {
+        
+        public static Contribution of(Event event, LocalDateTime now) {
+            boolean published = event.getStatus() == Event.EventStatus.PUBLISHED;
+            return new Contribution(event.getCategory().getId(), published,
+                    published && event.getStartDate().isAfter(now), event.getConfirmedCount());
+        }
+    }
+    
+    public void categoryCreated(Long categoryId) {
+        statsRepository.save(new CategoryStats(categoryId));
+    }
+    
+    public void categoryDeleted(Long categoryId) {
+        statsRepository.deleteByCategoryId(categoryId);
+    }
+    
+    /**
+     * Moves the counters from {@code before} to {@code after}; pass null for a created or deleted event.
+     */
+    public void eventChanged(Contribution before, Contribution after) {
+        eventRepository.flush();
+        LocalDateTime now = LocalDateTime.now();
+        if (before != null && after != null && Objects.equals(before.categoryId(), after.categoryId())) {
+            apply(after.categoryId(), 0, flag(after.published()) - flag(before.published()),
+                    flag(after.upcoming()) - flag(before.upcoming()), after.confirmedSeats() - before.confirmedSeats(), now);
+            return;
+        }
+        if (before != null) {
+            apply(before.categoryId(), -1, -flag(before.published()), -flag(before.upcoming()), -before.confirmedSeats(), now);
+        }
+        if (after != null) {
+            apply(after.categoryId(), 1, flag(after.published()), flag(after.upcoming()), after.confirmedSeats(), now);
+        }
+    }
+    
+    /**
+     * Records seats confirmed ({@code seats > 0}) or given up on an event; called right after
+     * the conditional update on the event's own counter succeeded. Applied once the current
+     * transaction commits, and dropped if it rolls back.
+     */
+    public void seatsConfirmed(Long eventId, int seats) {
+        if (seats == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writeSeats(eventId, seats);
+            return;
+        }
+        AfterCommit.<Map<Long, Integer>>buffer(this, TreeMap::new, this::writeSeats).merge(eventId, seats, Integer::sum);
+    }
+    
+    private void writeSeats(Map<Long, Integer> seats) {
+        seats.forEach((eventId, delta) -> {
+            if (delta != 0) {
+                writeSeats(eventId, delta);
+            }
+        });
+    }
+    
+    private void writeSeats(Long eventId, int seats) {
+        try {
+            seatsTransaction.executeWithoutResult(status ->
+                    statsRepository.addConfirmedSeats(eventId, seats, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to add {} confirmed seat(s) of event {} to its category; left to the recompute",
+                    seats, eventId, e);
+        }
+    }
+    
+    private void apply(Long categoryId, int total, int published, int upcoming, int seats, LocalDateTime now) {
+        if (total != 0 || published != 0 || upcoming != 0 || seats != 0) {
+            statsRepository.applyDelta(categoryId, total, published, upcoming, seats, now);
+        }
+    }
+    
+    private static int flag(boolean value) {
+        return value ? 1 : 0;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.config.MetricsConfig;
+import com.example.EventManagement.dto.EventCatalogVersion;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.repository.EventRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * The unpaginated event catalog feed: an ETag that costs one aggregate query, and a JSON array
+ * written event by event as rows arrive, so neither the list nor its JSON is ever held in memory.
+ */
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EventCatalogService {
+    
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Weak ETag of the current catalog. Weak because the gzipped and plain bodies differ in bytes.
+     * Category and organizer names are copied into each entry but do not take part, so renaming
+     * one shows up in the feed once any event changes.
+     */
+    public String getCatalogETag() {
+        EventCatalogVersion version = eventRepository.findCatalogVersion();
+        LocalDateTime lastUpdated = version.getLastUpdated();
+        // Microseconds, the precision of the datetime(6) column
+        long stamp = lastUpdated == null ? 0
+                : lastUpdated.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastUpdated.getNano() / 1_000;
+        return "W/\"" + version.getEventCount() + "-" + Long.toHexString(stamp) + "\"";
+    }
+    
+    public void writeCatalog(OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.createGenerator(out);
+        try (Stream<EventDto> events = eventRepository.streamAllEventDtos()) {
+            json.writeStartArray();
+            Iterator<EventDto> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                json.writeObject(iterator.next());
+            }
+            json.writeEndArray();
+        }
+        json.flush();
+    }
+}
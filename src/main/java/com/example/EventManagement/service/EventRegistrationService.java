@@ -1,17 +1,38 @@
 package com.example.EventManagement.service;
 
+import com.example.EventManagement.config.MetricsConfig;
+import com.example.EventManagement.dto.BatchItemResult;
+import com.example.EventManagement.dto.BatchResult;
+import com.example.EventManagement.event.RegistrationChangedEvent;
 import com.example.EventManagement.model.Event;
 import com.example.EventManagement.model.EventRegistration;
 import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.EventRegistrationBatchRepository.StatusChange;
 import com.example.EventManagement.repository.EventRegistrationRepository;
 import com.example.EventManagement.repository.EventRepository;
 import com.example.EventManagement.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -20,7 +41,16 @@ public class EventRegistrationService {
     private final EventRegistrationRepository registrationRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final SeatInventory seatInventory;
+    private final Waitlist waitlist;
+    private final SeatHolds seatHolds;
+    private final ApplicationEventPublisher eventPublisher;
     
+    /**
+     * Registers a user with a held seat, or on the waitlist when the event is full. Waitlisted
+     * registrations are promoted in order as seats are given up. A held seat is kept until the
+     * hold expires unless the registration is confirmed first.
+     */
     public EventRegistration registerForEvent(Long eventId, Long userId) {
         // Check if event exists and is published
         Event event = eventRepository.findById(eventId)
@@ -39,19 +69,106 @@ public class EventRegistrationService {
             throw new RuntimeException("User is already registered for this event");
         }
         
-        // Check if event has available capacity
-        if (eventRepository.isEventFull(eventId)) {
-            throw new RuntimeException("Event is full");
-        }
+        // Hold a seat; concurrent requests cannot both take the last one. Once sold out the
+        // permit check answers without a query and the user queues instead of retrying
+        boolean seated = seatInventory.reserveSeats(eventId, 1) == 1;
         
         // Create registration
         EventRegistration registration = new EventRegistration();
         registration.setEvent(event);
         registration.setUser(user);
         registration.setAmountPaid(event.getTicketPrice());
-        registration.setStatus(EventRegistration.RegistrationStatus.PENDING);
+        registration.setStatus(seated ? EventRegistration.RegistrationStatus.PENDING : EventRegistration.RegistrationStatus.WAITLISTED);
+        if (seated) {
+            registration.setHoldExpiresAt(seatHolds.expiresAt(LocalDateTime.now()));
+        }
+        
+        EventRegistration savedRegistration;
+        try {
+            savedRegistration = registrationRepository.save(registration);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent request for the same user; the unique key caught it
+            throw new RuntimeException("User is already registered for this event");
+        }
+        if (seated) {
+            seatHolds.track(savedRegistration.getId(), savedRegistration.getHoldExpiresAt());
+        } else {
+            waitlist.joined(eventId, 1);
+        }
+        eventPublisher.publishEvent(new RegistrationChangedEvent(
+                savedRegistration.getId(), eventId, null, savedRegistration.getStatus(), savedRegistration.getAmountPaid()));
+        return savedRegistration;
+    }
+    
+    /**
+     * Registers many users for one event in a single transaction. The event is validated and
+     * seats are claimed once for the whole batch, and the rows go out as batched inserts. Users
+     * that do not fit are waitlisted in request order; users that cannot be registered are
+     * reported per item instead of failing the batch.
+     */
+    public BatchResult registerForEventBatch(Long eventId, List<Long> userIds) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        
+        if (event.getStatus() != Event.EventStatus.PUBLISHED) {
+            throw new RuntimeException("Event is not published for registration");
+        }
+        
+        Map<Long, User> users = userRepository.findAllById(new HashSet<>(userIds)).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Set<Long> alreadyRegistered = users.isEmpty() ? Set.of()
+                : new HashSet<>(registrationRepository.findRegisteredUserIds(eventId, users.keySet()));
+        
+        List<BatchItemResult> results = new ArrayList<>(userIds.size());
+        List<BatchItemResult> candidates = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (Long userId : userIds) {
+            BatchItemResult result = new BatchItemResult(userId, null, null, null);
+            if (!seen.add(userId)) {
+                result.setError("User appears more than once in the batch");
+            } else if (!users.containsKey(userId)) {
+                result.setError("User not found");
+            } else if (alreadyRegistered.contains(userId)) {
+                result.setError("User is already registered for this event");
+            } else {
+                candidates.add(result);
+            }
+            results.add(result);
+        }
+        
+        // One capacity check for the whole batch; whoever does not fit joins the waitlist
+        int seats = seatInventory.reserveSeats(eventId, candidates.size());
+        LocalDateTime holdExpiresAt = seatHolds.expiresAt(LocalDateTime.now());
+        List<EventRegistration> registrations = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            EventRegistration registration = new EventRegistration();
+            registration.setEvent(event);
+            registration.setUser(users.get(candidates.get(i).getUserId()));
+            registration.setAmountPaid(event.getTicketPrice());
+            registration.setStatus(i < seats ? EventRegistration.RegistrationStatus.PENDING : EventRegistration.RegistrationStatus.WAITLISTED);
+            registration.setHoldExpiresAt(i < seats ? holdExpiresAt : null);
+            registrations.add(registration);
+        }
+        
+        try {
+            registrationRepository.insertAll(registrations);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request registered one of these users first; the batch rolls back as a whole
+            throw new RuntimeException("User is already registered for this event");
+        }
+        waitlist.joined(eventId, registrations.size() - seats);
         
-        return registrationRepository.save(registration);
+        for (int i = 0; i < registrations.size(); i++) {
+            EventRegistration registration = registrations.get(i);
+            candidates.get(i).setRegistrationId(registration.getId());
+            candidates.get(i).setStatus(registration.getStatus());
+            if (registration.getHoldExpiresAt() != null) {
+                seatHolds.track(registration.getId(), holdExpiresAt);
+            }
+            eventPublisher.publishEvent(new RegistrationChangedEvent(
+                    registration.getId(), eventId, null, registration.getStatus(), registration.getAmountPaid()));
+        }
+        return BatchResult.of(results);
     }
     
     public List<EventRegistration> getRegistrationsByEvent(Long eventId) {
@@ -62,21 +179,255 @@ public class EventRegistrationService {
         return registrationRepository.findByUserId(userId);
     }
     
+    /**
+     * Confirms a registration, converting its held seat or claiming a fresh one. Fails if the
+     * registration changed in the meantime, e.g. because its hold expired first; the caller can
+     * retry against the new status.
+     */
     public EventRegistration confirmRegistration(Long registrationId) {
-        EventRegistration registration = getRegistrationById(registrationId);
-        registration.setStatus(EventRegistration.RegistrationStatus.CONFIRMED);
-        return registrationRepository.save(registration);
+        EventRegistration registration = getRegistrationForStatusChange(registrationId);
+        EventRegistration.RegistrationStatus heldStatus = registration.getStatus();
+        if (heldStatus == EventRegistration.RegistrationStatus.CONFIRMED) {
+            return registration;
+        }
+        if (heldStatus == EventRegistration.RegistrationStatus.WAITLISTED) {
+            throw new RuntimeException("Registration is waitlisted");
+        }
+        
+        if (!updateStatus(registration, heldStatus, EventRegistration.RegistrationStatus.CONFIRMED)) {
+            throw new OptimisticLockingFailureException("Registration changed concurrently");
+        }
+        // A full event throws and rolls the status change back with it
+        seatInventory.confirmSeat(registration.getEvent().getId(), heldStatus);
+        statusChanged(registration, EventRegistration.RegistrationStatus.CONFIRMED);
+        return registration;
     }
     
+    /**
+     * Cancels a registration and gives up its seat. Of two concurrent cancellations only one
+     * gives the seat up; the other fails.
+     */
     public EventRegistration cancelRegistration(Long registrationId) {
-        EventRegistration registration = getRegistrationById(registrationId);
-        registration.setStatus(EventRegistration.RegistrationStatus.CANCELLED);
-        return registrationRepository.save(registration);
+        EventRegistration registration = getRegistrationForStatusChange(registrationId);
+        EventRegistration.RegistrationStatus heldStatus = registration.getStatus();
+        if (heldStatus == EventRegistration.RegistrationStatus.CANCELLED) {
+            return registration;
+        }
+        if (!changeStatus(registration, EventRegistration.RegistrationStatus.CANCELLED)) {
+            throw new OptimisticLockingFailureException("Registration changed concurrently");
+        }
+        giveUpSeats(registration.getEvent().getId(), heldStatus, 1);
+        return registration;
+    }
+    
+    /**
+     * Confirms many registrations at once, converting or claiming seats with one counter update
+     * per event. Registrations that find the event full are reported per item.
+     */
+    public BatchResult confirmRegistrations(List<Long> registrationIds) {
+        return updateInBatch(registrationIds, (eventId, registrations, results) -> {
+            // Registrations already holding a seat go first, so they win if capacity runs out
+            List<EventRegistration> candidates = new ArrayList<>();
+            for (EventRegistration registration : registrations) {
+                EventRegistration.RegistrationStatus status = registration.getStatus();
+                if (status == EventRegistration.RegistrationStatus.WAITLISTED) {
+                    results.get(registration.getId()).setError("Registration is waitlisted");
+                } else if (status != EventRegistration.RegistrationStatus.CONFIRMED) {
+                    candidates.add(registration);
+                }
+            }
+            List<EventRegistration> held = new ArrayList<>();
+            List<EventRegistration> fresh = new ArrayList<>();
+            for (EventRegistration registration : updateStatuses(candidates, EventRegistration.RegistrationStatus.CONFIRMED, results)) {
+                (registration.getStatus() == EventRegistration.RegistrationStatus.PENDING ? held : fresh).add(registration);
+            }
+            List<EventRegistration> toConfirm = new ArrayList<>(held);
+            toConfirm.addAll(fresh);
+            int confirmed = seatInventory.confirmSeats(eventId, held.size(), fresh.size());
+            List<StatusChange> reverts = new ArrayList<>();
+            for (int i = 0; i < toConfirm.size(); i++) {
+                EventRegistration registration = toConfirm.get(i);
+                if (i < confirmed) {
+                    statusChanged(registration, EventRegistration.RegistrationStatus.CONFIRMED);
+                } else {
+                    // Still locked by our own update, so putting the status back cannot miss
+                    reverts.add(new StatusChange(registration.getId(), EventRegistration.RegistrationStatus.CONFIRMED, registration.getStatus()));
+                    results.get(registration.getId()).setError("Event is full");
+                }
+            }
+            registrationRepository.updateStatuses(reverts);
+        });
+    }
+    
+    /**
+     * Cancels many registrations at once, handing their seats to the waitlist or releasing them
+     * with one counter update per event and held status.
+     */
+    public BatchResult cancelRegistrations(List<Long> registrationIds) {
+        return updateInBatch(registrationIds, (eventId, registrations, results) -> {
+            // Only registrations this transaction moved give up their seats
+            Map<EventRegistration.RegistrationStatus, Integer> held = new EnumMap<>(EventRegistration.RegistrationStatus.class);
+            List<EventRegistration> candidates = registrations.stream()
+                    .filter(registration -> registration.getStatus() != EventRegistration.RegistrationStatus.CANCELLED)
+                    .toList();
+            for (EventRegistration registration : updateStatuses(candidates, EventRegistration.RegistrationStatus.CANCELLED, results)) {
+                held.merge(registration.getStatus(), 1, Integer::sum);
+                statusChanged(registration, EventRegistration.RegistrationStatus.CANCELLED);
+            }
+            held.forEach((status, count) -> giveUpSeats(eventId, status, count));
+        });
+    }
+    
+    /**
+     * Expires the PENDING registrations among {@code registrationIds} whose seat hold has run
+     * out; the rest (confirmed, cancelled or extended in the meantime) are left alone. The seats
+     * go to the waitlist or back to the event like cancelled ones.
+     *
+     * @return how many registrations expired
+     */
+    public int expireHolds(List<Long> registrationIds) {
+        LocalDateTime now = LocalDateTime.now();
+        AtomicInteger expired = new AtomicInteger();
+        updateInBatch(registrationIds, (eventId, registrations, results) -> {
+            // A registration confirmed or cancelled after it was loaded no longer matches
+            List<EventRegistration> due = registrations.stream()
+                    .filter(registration -> registration.getStatus() == EventRegistration.RegistrationStatus.PENDING)
+                    .filter(registration -> registration.getHoldExpiresAt() != null && !registration.getHoldExpiresAt().isAfter(now))
+                    .toList();
+            List<EventRegistration> moved = updateStatuses(due, EventRegistration.RegistrationStatus.EXPIRED, null);
+            moved.forEach(registration -> statusChanged(registration, EventRegistration.RegistrationStatus.EXPIRED));
+            giveUpSeats(eventId, EventRegistration.RegistrationStatus.PENDING, moved.size());
+            expired.addAndGet(moved.size());
+        });
+        return expired.get();
+    }
+    
+    /**
+     * Loads the registrations with one query, reports unknown and repeated ids, and hands the
+     * rest to {@code update} grouped by event. The registrations are read-only snapshots; status
+     * changes go through {@link #updateStatuses} and {@link #statusChanged}.
+     */
+    private BatchResult updateInBatch(List<Long> registrationIds, EventBatchUpdate update) {
+        Map<Long, EventRegistration> registrations = registrationRepository.findAllForStatusChange(new HashSet<>(registrationIds)).stream()
+                .collect(Collectors.toMap(EventRegistration::getId, Function.identity()));
+        
+        List<BatchItemResult> results = new ArrayList<>(registrationIds.size());
+        Map<Long, BatchItemResult> resultsById = new HashMap<>();
+        // Events are locked in id order, so batches touching the same events cannot deadlock
+        Map<Long, List<EventRegistration>> byEvent = new TreeMap<>();
+        for (Long registrationId : registrationIds) {
+            BatchItemResult result = new BatchItemResult(null, registrationId, null, null);
+            results.add(result);
+            EventRegistration registration = registrations.get(registrationId);
+            if (resultsById.putIfAbsent(registrationId, result) != null) {
+                result.setError("Registration appears more than once in the batch");
+            } else if (registration == null) {
+                result.setError("Registration not found");
+            } else {
+                result.setUserId(registration.getUser().getId());
+                byEvent.computeIfAbsent(registration.getEvent().getId(), id -> new ArrayList<>()).add(registration);
+            }
+        }
+        
+        byEvent.forEach((eventId, eventRegistrations) -> update.apply(eventId, eventRegistrations, resultsById));
+        
+        // Report the status each registration ended up in
+        registrations.values().forEach(registration -> resultsById.get(registration.getId()).setStatus(registration.getStatus()));
+        return BatchResult.of(results);
+    }
+    
+    @FunctionalInterface
+    private interface EventBatchUpdate {
+        void apply(Long eventId, List<EventRegistration> registrations, Map<Long, BatchItemResult> results);
     }
     
     public void deleteRegistration(Long registrationId) {
-        EventRegistration registration = getRegistrationById(registrationId);
-        registrationRepository.delete(registration);
+        EventRegistration registration = getRegistrationForStatusChange(registrationId);
+        // Conditional like a status change: a concurrent delete or cancellation already gave the seat up
+        if (registrationRepository.deleteIfStatus(registrationId, registration.getStatus()) == 0) {
+            throw new OptimisticLockingFailureException("Registration changed concurrently");
+        }
+        if (registration.getStatus() == EventRegistration.RegistrationStatus.PENDING) {
+            seatHolds.release(registrationId);
+        }
+        giveUpSeats(registration.getEvent().getId(), registration.getStatus(), 1);
+        eventPublisher.publishEvent(new RegistrationChangedEvent(
+                registrationId, registration.getEvent().getId(), registration.getStatus(), null, registration.getAmountPaid()));
+    }
+    
+    /**
+     * Gives up the seats of {@code count} registrations that were in {@code heldStatus}. Seats go
+     * to the head of the waitlist first and are only freed when nobody is waiting; waitlisted
+     * registrations leaving just shorten the queue. Must run after the registrations left their
+     * status, so they cannot be promoted themselves.
+     */
+    private void giveUpSeats(Long eventId, EventRegistration.RegistrationStatus heldStatus, int count) {
+        if (heldStatus == EventRegistration.RegistrationStatus.WAITLISTED) {
+            waitlist.left(eventId, count);
+            return;
+        }
+        int handedOver = 0;
+        boolean holdsSeat = heldStatus == EventRegistration.RegistrationStatus.PENDING
+                || heldStatus == EventRegistration.RegistrationStatus.CONFIRMED;
+        if (holdsSeat && count > 0 && waitlist.size(eventId) > 0) {
+            handedOver = seatInventory.handOverSeats(eventId, heldStatus, Math.min(count, waitlist.size(eventId)));
+            int promoted = waitlist.promote(eventId, handedOver);
+            // Fewer were waiting than the cached size said; the spare seats are now plain held seats
+            seatInventory.releaseSeats(eventId, EventRegistration.RegistrationStatus.PENDING, handedOver - promoted);
+        }
+        seatInventory.releaseSeats(eventId, heldStatus, count - handedOver);
+    }
+    
+    /**
+     * Moves a registration from the status it was loaded in to {@code status}. The update is
+     * conditional on that status, so when a concurrent transaction changed the registration first
+     * (a confirmation racing the hold expiry, two cancellations) this returns false and the
+     * caller must leave the seat counters alone.
+     */
+    private boolean changeStatus(EventRegistration registration, EventRegistration.RegistrationStatus status) {
+        if (!updateStatus(registration, registration.getStatus(), status)) {
+            return false;
+        }
+        statusChanged(registration, status);
+        return true;
+    }
+    
+    private boolean updateStatus(EventRegistration registration, EventRegistration.RegistrationStatus expected,
+                                 EventRegistration.RegistrationStatus status) {
+        return registrationRepository.updateStatus(registration.getId(), expected, status, LocalDateTime.now()) > 0;
+    }
+    
+    /**
+     * Moves the registrations to {@code status} with one JDBC batch of conditional updates and
+     * returns the ones whose row still had the status they were loaded with. The others are
+     * reported in {@code results}, when given.
+     */
+    private List<EventRegistration> updateStatuses(List<EventRegistration> registrations, EventRegistration.RegistrationStatus status,
+                                                   Map<Long, BatchItemResult> results) {
+        boolean[] matched = registrationRepository.updateStatuses(registrations.stream()
+                .map(registration -> new StatusChange(registration.getId(), registration.getStatus(), status))
+                .toList());
+        List<EventRegistration> moved = new ArrayList<>();
+        for (int i = 0; i < matched.length; i++) {
+            EventRegistration registration = registrations.get(i);
+            if (matched[i]) {
+                moved.add(registration);
+            } else if (results != null) {
+                results.get(registration.getId()).setError("Registration changed concurrently");
+            }
+        }
+        return moved;
+    }
+    
+    // Follows up a status change that was already written
+    private void statusChanged(EventRegistration registration, EventRegistration.RegistrationStatus status) {
+        EventRegistration.RegistrationStatus previousStatus = registration.getStatus();
+        registration.setStatus(status);
+        if (previousStatus == EventRegistration.RegistrationStatus.PENDING && status != previousStatus) {
+            seatHolds.release(registration.getId());
+        }
+        eventPublisher.publishEvent(new RegistrationChangedEvent(
+                registration.getId(), registration.getEvent().getId(), previousStatus, status, registration.getAmountPaid()));
     }
     
     public EventRegistration getRegistrationById(Long registrationId) {
@@ -84,6 +435,12 @@ public class EventRegistrationService {
                 .orElseThrow(() -> new RuntimeException("Registration not found"));
     }
     
+    private EventRegistration getRegistrationForStatusChange(Long registrationId) {
+        return registrationRepository.findAllForStatusChange(List.of(registrationId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Registration not found"));
+    }
+    
     public Long getConfirmedRegistrationsCount(Long eventId) {
         return registrationRepository.countConfirmedRegistrationsByEventId(eventId);
     }
@@ -1,23 +1,45 @@
 package com.example.EventManagement.service;
 
+import com.example.EventManagement.config.CacheConfig;
+import com.example.EventManagement.config.MetricsConfig;
 import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.dto.CursorPage;
+import com.example.EventManagement.dto.EventCursor;
 import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.dto.ResourceVersion;
+import com.example.EventManagement.dto.SearchCursor;
+import com.example.EventManagement.event.EventChangedEvent;
+import com.example.EventManagement.event.EventChangedEvent.ChangeType;
 import com.example.EventManagement.model.Category;
 import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.EventRegistration;
 import com.example.EventManagement.model.User;
 import com.example.EventManagement.repository.CategoryRepository;
 import com.example.EventManagement.repository.EventRepository;
 import com.example.EventManagement.repository.UserRepository;
+import com.example.EventManagement.search.EventSearchIndex;
+import com.example.EventManagement.service.CategoryStatistics.Contribution;
+import com.example.EventManagement.timeline.UpcomingEventsTimeline;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -26,6 +48,14 @@ public class EventService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
+    private final SeatInventory seatInventory;
+    private final Waitlist waitlist;
+    private final CategoryStatistics categoryStatistics;
+    private final EventSearchIndex searchIndex;
+    private final UpcomingEventsTimeline upcomingTimeline;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
     
     @Transactional
     public EventDto createEvent(CreateEventRequest request, Long organizerId) {
@@ -74,6 +104,8 @@ public class EventService {
             event.setStatus(Event.EventStatus.DRAFT);
             
             Event savedEvent = eventRepository.save(event);
+            categoryStatistics.eventChanged(null, Contribution.of(savedEvent, now));
+            eventPublisher.publishEvent(new EventChangedEvent(savedEvent.getId(), ChangeType.CREATED, category.getId()));
             
             // Return DTO with proper data
             return new EventDto(savedEvent);
@@ -85,18 +117,24 @@ public class EventService {
         }
     }
     
+    @Transactional(readOnly = true)
+    public ResourceVersion getEventVersion(Long eventId) {
+        return eventRepository.findVersionById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found with ID: " + eventId));
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.EVENT_DETAILS, key = "#eventId")
     @Transactional(readOnly = true)
     public EventDto getEventById(Long eventId) {
-        Event event = eventRepository.findById(eventId)
+        return eventRepository.findEventDtoById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found with ID: " + eventId));
-        return new EventDto(event);
     }
     
+    @Cacheable(cacheNames = CacheConfig.PUBLISHED_EVENTS, key = "#pageable")
     @Transactional(readOnly = true)
     public Page<EventDto> getAllEvents(Pageable pageable) {
         try {
-            return eventRepository.findByStatus(Event.EventStatus.PUBLISHED, pageable)
-                    .map(EventDto::new);
+            return eventRepository.findEventDtosByStatus(Event.EventStatus.PUBLISHED, pageable);
         } catch (Exception e) {
             throw new RuntimeException("Failed to retrieve events: " + e.getMessage(), e);
         }
@@ -105,8 +143,7 @@ public class EventService {
     @Transactional(readOnly = true)
     public Page<EventDto> getAllEventsRegardlessOfStatus(Pageable pageable) {
         try {
-            return eventRepository.findAll(pageable)
-                    .map(EventDto::new);
+            return eventRepository.findAllEventDtos(pageable);
         } catch (Exception e) {
             throw new RuntimeException("Failed to retrieve all events: " + e.getMessage(), e);
         }
@@ -119,25 +156,119 @@ public class EventService {
         }
         
         try {
-            return eventRepository.searchEvents(searchTerm.trim(), pageable)
-                    .map(EventDto::new);
+            // Ranked ids come from the full-text index; the page itself is one projection query
+            EventSearchIndex.SearchHits hits = searchIndex.search(searchTerm.trim(), pageable.getOffset(), pageable.getPageSize());
+            Map<Long, EventDto> eventsById = eventRepository.findEventDtosByIdIn(hits.getEventIds()).stream()
+                    .collect(Collectors.toMap(EventDto::getId, Function.identity()));
+            List<EventDto> content = hits.getEventIds().stream()
+                    .map(eventsById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            return new PageImpl<>(content, pageable, hits.getTotalHits());
         } catch (Exception e) {
             throw new RuntimeException("Failed to search events: " + e.getMessage(), e);
         }
     }
     
     @Transactional(readOnly = true)
-    public List<EventDto> getUpcomingEvents() {
-        try {
-            return eventRepository.findUpcomingEvents(LocalDateTime.now())
-                    .stream()
-                    .map(EventDto::new)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to retrieve upcoming events: " + e.getMessage(), e);
+    public CursorPage<EventDto> getPublishedEventsAfter(String cursor, int size) {
+        Pageable limit = keysetLimit(size);
+        EventCursor position = cursor == null ? null : EventCursor.decode(cursor);
+        List<EventDto> rows = position == null
+                ? eventRepository.findEventDtosByStatusFirst(Event.EventStatus.PUBLISHED, limit)
+                : eventRepository.findEventDtosByStatusAfter(
+                        Event.EventStatus.PUBLISHED, position.getStartDate(), position.getId(), limit);
+        return toCursorPage(rows, limit.getPageSize() - 1);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<EventDto> getEventsByCategoryAfter(Long categoryId, String cursor, int size) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new RuntimeException("Category not found with ID: " + categoryId);
+        }
+        Pageable limit = keysetLimit(size);
+        EventCursor position = cursor == null ? null : EventCursor.decode(cursor);
+        List<EventDto> rows = position == null
+                ? eventRepository.findEventDtosByCategoryIdFirst(categoryId, limit)
+                : eventRepository.findEventDtosByCategoryIdAfter(
+                        categoryId, position.getStartDate(), position.getId(), limit);
+        return toCursorPage(rows, limit.getPageSize() - 1);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<EventDto> getEventsByOrganizerAfter(Long organizerId, String cursor, int size) {
+        if (!userRepository.existsById(organizerId)) {
+            throw new RuntimeException("Organizer not found with ID: " + organizerId);
+        }
+        Pageable limit = keysetLimit(size);
+        EventCursor position = cursor == null ? null : EventCursor.decode(cursor);
+        List<EventDto> rows = position == null
+                ? eventRepository.findEventDtosByOrganizerIdFirst(organizerId, limit)
+                : eventRepository.findEventDtosByOrganizerIdAfter(
+                        organizerId, position.getStartDate(), position.getId(), limit);
+        return toCursorPage(rows, limit.getPageSize() - 1);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<EventDto> searchEventsAfter(String searchTerm, String cursor, int size) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            throw new RuntimeException("Search term cannot be empty");
         }
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        SearchCursor after = cursor == null ? null : SearchCursor.decode(cursor);
+        List<EventSearchIndex.ScoredEventId> hits = searchIndex.searchAfter(searchTerm.trim(), after, pageSize + 1);
+        
+        boolean hasNext = hits.size() > pageSize;
+        List<EventSearchIndex.ScoredEventId> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+        Map<Long, EventDto> eventsById = eventRepository.findEventDtosByIdIn(
+                        pageHits.stream().map(EventSearchIndex.ScoredEventId::getEventId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(EventDto::getId, Function.identity()));
+        List<EventDto> content = pageHits.stream()
+                .map(hit -> eventsById.get(hit.getEventId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        
+        String nextCursor = null;
+        if (hasNext) {
+            EventSearchIndex.ScoredEventId last = pageHits.get(pageHits.size() - 1);
+            nextCursor = new SearchCursor(last.getScore(), last.getEventId()).encode();
+        }
+        return new CursorPage<>(content, content.size(), hasNext, nextCursor);
+    }
+    
+    // Fetch one row beyond the requested size to learn whether another slice exists
+    private Pageable keysetLimit(int size) {
+        return PageRequest.of(0, Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE) + 1);
+    }
+    
+    private CursorPage<EventDto> toCursorPage(List<EventDto> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<EventDto> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? EventCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, content.size(), hasNext, nextCursor);
+    }
+    
+    // The upcoming listings are served from the in-memory timeline: no transaction, no query
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EventDto> getUpcomingEvents() {
+        return upcomingTimeline.upcoming(LocalDateTime.now(), Integer.MAX_VALUE);
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EventDto> getUpcomingEvents(int limit) {
+        return upcomingTimeline.upcoming(LocalDateTime.now(), Math.max(limit, 0));
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CursorPage<EventDto> getUpcomingEventsAfter(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        EventCursor position = cursor == null ? null : EventCursor.decode(cursor);
+        List<EventDto> rows = upcomingTimeline.after(position, LocalDateTime.now(), pageSize + 1);
+        return toCursorPage(rows, pageSize);
     }
     
+    @Cacheable(cacheNames = CacheConfig.EVENTS_BY_CATEGORY, key = "T(com.example.EventManagement.cache.EventCacheInvalidator).categoryKey(#categoryId, #pageable)")
     @Transactional(readOnly = true)
     public Page<EventDto> getEventsByCategory(Long categoryId, Pageable pageable) {
         // Validate category exists
@@ -146,8 +277,7 @@ public class EventService {
         }
         
         try {
-            return eventRepository.findByCategoryId(categoryId, pageable)
-                    .map(EventDto::new);
+            return eventRepository.findEventDtosByCategoryId(categoryId, pageable);
         } catch (Exception e) {
             throw new RuntimeException("Failed to retrieve events by category: " + e.getMessage(), e);
         }
@@ -161,8 +291,7 @@ public class EventService {
         }
         
         try {
-            return eventRepository.findByOrganizerId(organizerId, pageable)
-                    .map(EventDto::new);
+            return eventRepository.findEventDtosByOrganizerId(organizerId, pageable);
         } catch (Exception e) {
             throw new RuntimeException("Failed to retrieve events by organizer: " + e.getMessage(), e);
         }
@@ -193,7 +322,25 @@ public class EventService {
                 throw new RuntimeException("End date cannot be before start date. Start: " + request.getStartDate() + ", End: " + request.getEndDate());
             }
             
+            // Validate capacity against the seats confirmed or held when it changes, not when the event was read
+            if (!request.getMaxCapacity().equals(event.getMaxCapacity())
+                    && eventRepository.updateCapacity(eventId, request.getMaxCapacity(), now) == 0) {
+                int seatsTaken = event.getMaxCapacity() - eventRepository.findRemainingSeats(eventId);
+                throw new RuntimeException("Maximum capacity cannot be less than current registrations: " + seatsTaken);
+            }
+            
+            // Seats a larger capacity adds go down the waitlist before any newcomer can take them
+            int addedSeats = request.getMaxCapacity() - event.getMaxCapacity();
+            if (addedSeats > 0 && waitlist.size(eventId) > 0) {
+                int held = seatInventory.holdAddedSeats(eventId, Math.min(addedSeats, waitlist.size(eventId)));
+                int promoted = waitlist.promote(eventId, held);
+                // Fewer were waiting than the cached size said
+                seatInventory.releaseSeats(eventId, EventRegistration.RegistrationStatus.PENDING, held - promoted);
+            }
+            
             // Update event
+            Long previousCategoryId = event.getCategory().getId();
+            Contribution before = Contribution.of(event, now);
             event.setTitle(request.getTitle().trim());
             event.setDescription(request.getDescription().trim());
             event.setStartDate(request.getStartDate());
@@ -206,7 +353,10 @@ public class EventService {
             event.setTags(request.getTags() != null ? request.getTags().trim() : null);
             
             Event savedEvent = eventRepository.save(event);
-            return new EventDto(savedEvent);
+            categoryStatistics.eventChanged(before, Contribution.of(savedEvent, now));
+            seatInventory.invalidate(eventId);
+            eventPublisher.publishEvent(new EventChangedEvent(eventId, ChangeType.UPDATED, category.getId(), previousCategoryId));
+            return reloadDto(eventId);
             
         } catch (RuntimeException e) {
             throw e; // Re-throw validation errors
@@ -226,9 +376,13 @@ public class EventService {
                 throw new RuntimeException("Only the organizer can publish this event. Organizer ID: " + event.getOrganizer().getId() + ", Requested ID: " + organizerId);
             }
             
+            LocalDateTime now = LocalDateTime.now();
+            Contribution before = Contribution.of(event, now);
             event.setStatus(Event.EventStatus.PUBLISHED);
             Event savedEvent = eventRepository.save(event);
-            return new EventDto(savedEvent);
+            categoryStatistics.eventChanged(before, Contribution.of(savedEvent, now));
+            eventPublisher.publishEvent(new EventChangedEvent(eventId, ChangeType.PUBLISHED, event.getCategory().getId()));
+            return reloadDto(eventId);
             
         } catch (RuntimeException e) {
             throw e; // Re-throw validation errors
@@ -248,9 +402,13 @@ public class EventService {
                 throw new RuntimeException("Only the organizer can cancel this event. Organizer ID: " + event.getOrganizer().getId() + ", Requested ID: " + organizerId);
             }
             
+            LocalDateTime now = LocalDateTime.now();
+            Contribution before = Contribution.of(event, now);
             event.setStatus(Event.EventStatus.CANCELLED);
             Event savedEvent = eventRepository.save(event);
-            return new EventDto(savedEvent);
+            categoryStatistics.eventChanged(before, Contribution.of(savedEvent, now));
+            eventPublisher.publishEvent(new EventChangedEvent(eventId, ChangeType.CANCELLED, event.getCategory().getId()));
+            return reloadDto(eventId);
             
         } catch (RuntimeException e) {
             throw e; // Re-throw validation errors
@@ -259,6 +417,13 @@ public class EventService {
         }
     }
     
+    // The seat counters are only written by conditional bulk updates (capacity changes, waitlist
+    // promotion, registrations), so the entity loaded up front can be stale; the projection is not
+    private EventDto reloadDto(Long eventId) {
+        return eventRepository.findEventDtoById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found with ID: " + eventId));
+    }
+    
     @Transactional
     public void deleteEvent(Long eventId, Long organizerId) {
         try {
@@ -270,7 +435,11 @@ public class EventService {
                 throw new RuntimeException("Only the organizer can delete this event. Organizer ID: " + event.getOrganizer().getId() + ", Requested ID: " + organizerId);
             }
             
+            Contribution before = Contribution.of(event, LocalDateTime.now());
             eventRepository.delete(event);
+            categoryStatistics.eventChanged(before, null);
+            seatInventory.invalidate(eventId);
+            eventPublisher.publishEvent(new EventChangedEvent(eventId, ChangeType.DELETED, event.getCategory().getId()));
             
         } catch (RuntimeException e) {
             throw e; // Re-throw validation errors
@@ -282,10 +451,7 @@ public class EventService {
     @Transactional(readOnly = true)
     public List<EventDto> getEventsWithAvailableCapacity() {
         try {
-            return eventRepository.findEventsWithAvailableCapacity()
-                    .stream()
-                    .map(EventDto::new)
-                    .collect(Collectors.toList());
+            return eventRepository.findAvailableEventDtos();
         } catch (Exception e) {
             throw new RuntimeException("Failed to retrieve events with available capacity: " + e.getMessage(), e);
         }
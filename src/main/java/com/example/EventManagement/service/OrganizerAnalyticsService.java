@@ -0,0 +1,55 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.dto.DailyRegistrationsDto;
+import com.example.EventManagement.dto.EventAnalyticsDto;
+import com.example.EventManagement.repository.EventDailyStatsRepository;
+import com.example.EventManagement.repository.EventStatsRepository;
+import com.example.EventManagement.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Organizer dashboard figures, read from the registration rollups maintained by
+ * {@code RegistrationRollups}: the cost depends on the number of events and days shown,
+ * not on how many attendees registered.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrganizerAnalyticsService {
+    
+    private static final int MAX_DAYS = 366;
+    
+    private final EventStatsRepository statsRepository;
+    private final EventDailyStatsRepository dailyStatsRepository;
+    private final UserRepository userRepository;
+    
+    public Page<EventAnalyticsDto> getEventAnalytics(Long organizerId, Pageable pageable) {
+        requireOrganizer(organizerId);
+        return statsRepository.findEventAnalytics(organizerId, pageable);
+    }
+    
+    public List<DailyRegistrationsDto> getDailyRegistrations(Long organizerId, LocalDate from, LocalDate to) {
+        requireOrganizer(organizerId);
+        if (to.isBefore(from)) {
+            throw new RuntimeException("End date cannot be before start date. From: " + from + ", To: " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_DAYS + " days");
+        }
+        return dailyStatsRepository.findDailyTotals(organizerId, from, to);
+    }
+    
+    private void requireOrganizer(Long organizerId) {
+        if (!userRepository.existsById(organizerId)) {
+            throw new RuntimeException("Organizer not found with ID: " + organizerId);
+        }
+    }
+}
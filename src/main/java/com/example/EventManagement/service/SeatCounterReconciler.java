@@ -0,0 +1,39 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically recomputes the denormalized seat counters on {@code Event} from the
+ * registrations table, repairing any drift left by failed or out-of-band writes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatCounterReconciler {
+    
+    private final EventRepository eventRepository;
+    private final SeatInventory seatInventory;
+    private final Waitlist waitlist;
+    
+    @Scheduled(fixedDelayString = "${app.capacity.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.capacity.reconcile-interval-ms:300000}")
+    @Transactional
+    public int reconcile() {
+        int repaired = eventRepository.reconcileSeatCounters(LocalDateTime.now());
+        if (repaired > 0) {
+            log.warn("Repaired seat counters on {} event(s)", repaired);
+        }
+        // Also picks up seats released by other application instances; both caches drop once the
+        // repaired counters commit, so they never reseed from the counters being repaired
+        seatInventory.invalidateAll();
+        waitlist.invalidateAll();
+        return repaired;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.dto.SeatHold;
+import com.example.EventManagement.repository.EventRegistrationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Expires seat holds as they come due: one thread waits on {@link SeatHolds} and releases due
+ * holds in batches, handing their seats to the waitlist or back to the event. An infrequent
+ * sweep over the (status, hold_expires_at) index catches holds this instance does not track,
+ * e.g. created by another instance or left behind by a failed batch.
+ */
+@Slf4j
+@Component
+public class SeatHoldExpirer {
+
+    private final SeatHolds seatHolds;
+    private final EventRegistrationService registrationService;
+    private final EventRegistrationRepository registrationRepository;
+    private final int batchSize;
+    private volatile Thread worker;
+
+    public SeatHoldExpirer(SeatHolds seatHolds,
+                           EventRegistrationService registrationService,
+                           EventRegistrationRepository registrationRepository,
+                           @Value("${app.registration.hold-expiry-batch-size:200}") int batchSize) {
+        this.seatHolds = seatHolds;
+        this.registrationService = registrationService;
+        this.registrationRepository = registrationRepository;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<SeatHold> holds = registrationRepository.findActiveHolds();
+        seatHolds.load(holds);
+        log.info("Tracking {} seat hold(s)", holds.size());
+        worker = Thread.ofPlatform().name("seat-hold-expiry").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.registration.hold-sweep-interval-ms:300000}",
+               initialDelayString = "${app.registration.hold-sweep-interval-ms:300000}")
+    public void sweep() {
+        List<Long> overdue;
+        int expired;
+        do {
+            overdue = registrationRepository.findExpiredHoldIds(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            expired = overdue.isEmpty() ? 0 : expire(overdue);
+        } while (overdue.size() == batchSize && expired > 0);
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Long> due = seatHolds.takeDue(batchSize);
+                if (!due.isEmpty()) {
+                    expire(due);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // The holds stay PENDING in the database; the sweep retries them
+                log.error("Failed to expire seat holds", e);
+            }
+        }
+    }
+
+    private int expire(List<Long> registrationIds) {
+        int expired = registrationService.expireHolds(registrationIds);
+        seatHolds.recordExpired(expired);
+        if (expired > 0) {
+            log.debug("Expired {} seat hold(s)", expired);
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.config.MetricsConfig;
+import com.example.EventManagement.dto.SeatHold;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expiry times of the seats held by PENDING registrations.
+ * <p>
+ * Holds wait in a {@link DelayQueue}, so {@link SeatHoldExpirer} sleeps until the next one is due
+ * instead of polling the table. Confirming, cancelling or deleting a registration only drops it
+ * from the active map; its queue entry is skipped when it comes due. Like the seat counters,
+ * changes made inside a transaction apply once it commits.
+ */
+@Component
+public class SeatHolds {
+
+    private final Duration ttl;
+    private final DelayQueue<Entry> due = new DelayQueue<>();
+    private final Map<Long, Entry> active = new ConcurrentHashMap<>();
+    private final Counter expired;
+
+    public SeatHolds(@Value("${app.registration.hold-ttl:15m}") Duration ttl, MeterRegistry registry) {
+        this.ttl = ttl;
+        Gauge.builder(MetricsConfig.SEAT_HOLDS + ".active", active, Map::size)
+                .description("Seats held by PENDING registrations that have not expired yet")
+                .register(registry);
+        this.expired = Counter.builder(MetricsConfig.SEAT_HOLDS + ".expired")
+                .description("Seat holds released because they were not confirmed in time")
+                .register(registry);
+    }
+
+    public LocalDateTime expiresAt(LocalDateTime heldFrom) {
+        return heldFrom.plus(ttl);
+    }
+
+    public void track(Long registrationId, LocalDateTime expiresAt) {
+        AfterCommit.run(() -> add(new SeatHold(registrationId, expiresAt)));
+    }
+
+    /**
+     * Stops tracking a hold whose registration left PENDING.
+     */
+    public void release(Long registrationId) {
+        AfterCommit.run(() -> active.remove(registrationId));
+    }
+
+    void load(List<SeatHold> holds) {
+        holds.forEach(this::add);
+    }
+
+    /**
+     * Blocks until at least one hold is due, then returns up to {@code max} due holds.
+     */
+    List<Long> takeDue(int max) throws InterruptedException {
+        List<Entry> entries = new ArrayList<>();
+        entries.add(due.take());
+        due.drainTo(entries, max - 1);
+        List<Long> registrationIds = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            // Released or re-tracked since it was queued
+            if (active.remove(entry.registrationId(), entry)) {
+                registrationIds.add(entry.registrationId());
+            }
+        }
+        return registrationIds;
+    }
+
+    void recordExpired(int count) {
+        expired.increment(count);
+    }
+
+    private void add(SeatHold hold) {
+        // Rounded up so a hold never comes due before its expiry time in the database
+        long dueAtMillis = hold.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + 1;
+        Entry entry = new Entry(hold.getRegistrationId(), dueAtMillis);
+        active.put(entry.registrationId(), entry);
+        due.add(entry);
+    }
+
+    private record Entry(Long registrationId, long dueAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((Entry) other).dueAtMillis);
+        }
+    }
+}
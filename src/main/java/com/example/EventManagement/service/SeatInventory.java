@@ -0,0 +1,216 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import com.example.EventManagement.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Seat accounting for events under contention.
+ * <p>
+ * Every event gets an in-memory permit counter seeded from the database the first time it is
+ * touched. Registrations take a permit with a lock-free CAS before going anywhere near the
+ * database, so once an event is sold out further claims come back empty without a query. The
+ * durable source of truth stays the conditional UPDATE on {@code Event}; the permit counter
+ * is only a front gate and is corrected whenever the database disagrees with it.
+ * Every change to an event's confirmed seats is also reported to {@link CategoryStatistics}.
+ * <p>
+ * All methods must run inside a transaction: permits taken by a transaction that rolls back
+ * are handed back, and seats released by a transaction become visible only once it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatInventory {
+
+    private final EventRepository eventRepository;
+    private final CategoryStatistics categoryStatistics;
+
+    private final Map<Long, AtomicInteger> permits = new ConcurrentHashMap<>();
+
+    /**
+     * Holds up to {@code requested} seats for new pending registrations.
+     *
+     * @return how many seats were held, fewer than requested once the event fills up
+     */
+    public int reserveSeats(Long eventId, int requested) {
+        return claimSeats(eventId, requested, eventRepository::reserveSeats);
+    }
+
+    /**
+     * Confirms a registration, converting its held seat or claiming a fresh one if it held none.
+     *
+     * @throws RuntimeException "Event is full" when a fresh seat is needed and none is left
+     */
+    public void confirmSeat(Long eventId, RegistrationStatus currentStatus) {
+        int held = currentStatus == RegistrationStatus.PENDING ? 1 : 0;
+        if (confirmSeats(eventId, held, 1 - held) == 0) {
+            throw new RuntimeException("Event is full");
+        }
+    }
+
+    /**
+     * Confirms {@code held} registrations that already hold a seat and {@code fresh} ones that need
+     * a new seat. Held seats are converted first; if the counter no longer shows them as held they
+     * are claimed like fresh ones.
+     *
+     * @return how many registrations got a confirmed seat, held ones first
+     */
+    public int confirmSeats(Long eventId, int held, int fresh) {
+        int confirmed = 0;
+        if (held > 0 && eventRepository.confirmReservedSeats(eventId, held, LocalDateTime.now()) > 0) {
+            confirmed = held;
+        } else {
+            fresh += held;
+        }
+        confirmed += claimSeats(eventId, fresh,
+                (id, count) -> eventRepository.claimConfirmedSeats(id, count, LocalDateTime.now()));
+        categoryStatistics.seatsConfirmed(eventId, confirmed);
+        return confirmed;
+    }
+
+    /**
+     * Gives back the seat a registration was holding in the given status, if any.
+     */
+    public void releaseSeat(Long eventId, RegistrationStatus heldStatus) {
+        releaseSeats(eventId, heldStatus, 1);
+    }
+
+    public void releaseSeats(Long eventId, RegistrationStatus heldStatus, int count) {
+        if (count <= 0) {
+            return;
+        }
+        int released = 0;
+        if (heldStatus == RegistrationStatus.CONFIRMED) {
+            released = eventRepository.releaseConfirmedSeats(eventId, count, LocalDateTime.now());
+            if (released > 0) {
+                categoryStatistics.seatsConfirmed(eventId, -count);
+            }
+        } else if (heldStatus == RegistrationStatus.PENDING) {
+            released = eventRepository.releaseReservedSeats(eventId, count);
+        }
+        if (released > 0) {
+            AfterCommit.run(() -> {
+                AtomicInteger available = permits.get(eventId);
+                if (available != null) {
+                    available.addAndGet(count);
+                }
+            });
+        }
+    }
+
+    /**
+     * Holds up to {@code count} of the seats a capacity increase just added, for promoted
+     * waitlisters. Goes straight to the counter: until {@link #invalidate} reseeds them after
+     * commit, the permits still reflect the old capacity.
+     *
+     * @return how many seats were held
+     */
+    public int holdAddedSeats(Long eventId, int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        if (eventRepository.reserveSeats(eventId, count) > 0) {
+            return count;
+        }
+        Integer remaining = eventRepository.findRemainingSeats(eventId);
+        int fits = remaining != null ? Math.max(0, Math.min(count, remaining)) : 0;
+        return fits > 0 && eventRepository.reserveSeats(eventId, fits) > 0 ? fits : 0;
+    }
+    
+    /**
+     * Keeps up to {@code count} seats given up by registrations in {@code heldStatus} held as
+     * reserved seats for promoted waitlisters instead of freeing them, so no newcomer can take
+     * them in between. Permits are untouched: the seats never become available.
+     *
+     * @return how many seats were handed over; the caller releases the rest as usual
+     */
+    public int handOverSeats(Long eventId, RegistrationStatus heldStatus, int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        if (heldStatus == RegistrationStatus.PENDING) {
+            return count;
+        }
+        if (heldStatus == RegistrationStatus.CONFIRMED) {
+            if (eventRepository.handOverConfirmedSeats(eventId, count, LocalDateTime.now()) == 0) {
+                return 0;
+            }
+            categoryStatistics.seatsConfirmed(eventId, -count);
+            return count;
+        }
+        return 0;
+    }
+
+    /**
+     * Drops the cached permits for an event so they are reseeded from the database,
+     * e.g. after its capacity changed.
+     */
+    public void invalidate(Long eventId) {
+        AfterCommit.run(() -> permits.remove(eventId));
+    }
+
+    public void invalidateAll() {
+        AfterCommit.run(permits::clear);
+    }
+
+    /**
+     * Takes up to {@code requested} permits, then applies the conditional counter update for
+     * that many seats. If the database has fewer seats than the permits promised, the permit
+     * counter is dropped for reseeding and the claim shrinks to what still fits.
+     */
+    private int claimSeats(Long eventId, int requested, ToIntBiFunction<Long, Integer> counterUpdate) {
+        if (requested <= 0) {
+            return 0;
+        }
+        // An unknown event has no permits; the database path then claims nothing
+        AtomicInteger available = permits.computeIfAbsent(eventId, this::loadPermits);
+        int granted = available != null ? takePermits(available, requested) : requested;
+        while (granted > 0 && counterUpdate.applyAsInt(eventId, granted) == 0) {
+            // The database is authoritative: another instance or an out-of-band write took the seats
+            if (available != null) {
+                permits.remove(eventId, available);
+            }
+            Integer remaining = eventRepository.findRemainingSeats(eventId);
+            granted = remaining != null ? Math.max(0, Math.min(granted, remaining)) : 0;
+        }
+        returnPermitsOnRollback(available, granted);
+        return granted;
+    }
+
+    private int takePermits(AtomicInteger available, int requested) {
+        while (true) {
+            int current = available.get();
+            int taken = Math.min(Math.max(current, 0), requested);
+            if (taken == 0 || available.compareAndSet(current, current - taken)) {
+                return taken;
+            }
+        }
+    }
+
+    private AtomicInteger loadPermits(Long eventId) {
+        Integer remaining = eventRepository.findRemainingSeats(eventId);
+        return remaining != null ? new AtomicInteger(Math.max(remaining, 0)) : null;
+    }
+
+    private void returnPermitsOnRollback(AtomicInteger available, int count) {
+        if (available == null || count == 0) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    available.addAndGet(count);
+                }
+            }
+        });
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.EventManagement.service;
 
+import com.example.EventManagement.dto.CursorPage;
+import com.example.EventManagement.dto.ResourceVersion;
+import com.example.EventManagement.dto.UserCursor;
 import com.example.EventManagement.dto.UserDto;
 import com.example.EventManagement.model.User;
 import com.example.EventManagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -16,18 +21,46 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
+    // The unpaginated listing stops here; the cursor feed pages through the rest
+    public static final int MAX_USER_LIST_SIZE = 1000;
 
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream().map(UserDto::new).collect(Collectors.toList());
+        return userRepository.findUserDtosFirst(PageRequest.of(0, MAX_USER_LIST_SIZE));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserDto> getUsers(Pageable pageable) {
+        return userRepository.findUserDtos(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getUsersAfter(String cursor, int size) {
+        // One extra row tells whether another slice follows, without a COUNT query
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<UserDto> rows = cursor == null
+                ? userRepository.findUserDtosFirst(limit)
+                : userRepository.findUserDtosAfter(UserCursor.decode(cursor).getId(), limit);
+        boolean hasNext = rows.size() > pageSize;
+        List<UserDto> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? UserCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getUserVersion(Long userId) {
+        return userRepository.findVersionById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
     }
 
     @Transactional(readOnly = true)
     public UserDto getUserById(Long userId) {
-        User user = userRepository.findById(userId)
+        return userRepository.findUserDtoById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
-        return new UserDto(user);
     }
 
     @Transactional
@@ -153,12 +186,9 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
-    public List<UserDto> getUsersByRole(User.UserRole role) {
+    public Page<UserDto> getUsersByRole(User.UserRole role, Pageable pageable) {
         try {
-            List<User> users = userRepository.findAll().stream()
-                    .filter(user -> user.getRole() == role)
-                    .collect(Collectors.toList());
-            return users.stream().map(UserDto::new).collect(Collectors.toList());
+            return userRepository.findUserDtosByRole(role, pageable);
         } catch (Exception e) {
             throw new RuntimeException("Failed to get users by role: " + e.getMessage(), e);
         }
@@ -0,0 +1,107 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.event.RegistrationChangedEvent;
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import com.example.EventManagement.repository.EventRegistrationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-event FIFO of WAITLISTED registrations.
+ * <p>
+ * The queue itself is the registrations table, ordered by id. In memory we only keep how many
+ * registrations each event has waiting, seeded from the database the first time an event is
+ * touched, so giving up a seat on an event nobody is waiting for costs no query. Sizes change
+ * when the transaction that changed the queue commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class Waitlist {
+
+    private final EventRegistrationRepository registrationRepository;
+    private final SeatHolds seatHolds;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, AtomicInteger> sizes = new ConcurrentHashMap<>();
+
+    public int size(Long eventId) {
+        return sizes.computeIfAbsent(eventId, id -> new AtomicInteger(
+                (int) registrationRepository.countByEventIdAndStatus(id, RegistrationStatus.WAITLISTED))).get();
+    }
+
+    /**
+     * Records registrations that joined the waitlist in the current transaction.
+     */
+    public void joined(Long eventId, int count) {
+        adjustAfterCommit(eventId, count);
+    }
+
+    /**
+     * Records waitlisted registrations that were cancelled or deleted in the current transaction.
+     */
+    public void left(Long eventId, int count) {
+        adjustAfterCommit(eventId, -count);
+    }
+
+    /**
+     * Moves up to {@code seats} registrations from the head of the waitlist to PENDING, each with
+     * a fresh seat hold. The caller must already hold that many seats for them
+     * (see {@link SeatInventory#handOverSeats}).
+     *
+     * @return how many were promoted, fewer than {@code seats} once the waitlist runs out
+     */
+    public int promote(Long eventId, int seats) {
+        if (seats <= 0 || size(eventId) == 0) {
+            return 0;
+        }
+        int promoted = 0;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime holdExpiresAt = seatHolds.expiresAt(now);
+        while (promoted < seats) {
+            List<Long> head = registrationRepository.findWaitlistedIds(eventId, PageRequest.of(0, seats - promoted));
+            if (head.isEmpty()) {
+                break;
+            }
+            for (Long registrationId : head) {
+                // Lost to a concurrent promotion or cancellation: the next lookup skips it
+                if (registrationRepository.promoteFromWaitlist(registrationId, holdExpiresAt, now) > 0) {
+                    promoted++;
+                    seatHolds.track(registrationId, holdExpiresAt);
+                    eventPublisher.publishEvent(new RegistrationChangedEvent(
+                            registrationId, eventId, RegistrationStatus.WAITLISTED, RegistrationStatus.PENDING));
+                }
+            }
+        }
+        adjustAfterCommit(eventId, -promoted);
+        return promoted;
+    }
+
+    /**
+     * Drops the cached sizes so they are reseeded from the database, e.g. to pick up changes
+     * made by other application instances. Takes effect when the current transaction commits, so
+     * nothing reseeds from data it has not committed yet.
+     */
+    public void invalidateAll() {
+        AfterCommit.run(sizes::clear);
+    }
+
+    private void adjustAfterCommit(Long eventId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            AtomicInteger size = sizes.get(eventId);
+            if (size != null) {
+                size.updateAndGet(current -> Math.max(current + delta, 0));
+            }
+        });
+    }
+}
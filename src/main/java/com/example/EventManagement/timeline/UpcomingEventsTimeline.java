@@ -0,0 +1,125 @@
+package com.example.EventManagement.timeline;
+
+import com.example.EventManagement.dto.EventCursor;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.model.Event;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of published events that have not started yet, ordered by
+ * {@code (startDate, id)} like the keyset listings.
+ * <p>
+ * Reads are lock-free range scans of a skip list and never touch the database. Writers for the
+ * same event are serialized through the id map, so an event is never listed under two start
+ * dates once an update has finished. Events that have started are skipped by every read and
+ * physically dropped by {@link #trim}.
+ */
+@Component
+public class UpcomingEventsTimeline {
+
+    private static final Comparator<EventCursor> ORDER =
+            Comparator.comparing(EventCursor::getStartDate).thenComparing(EventCursor::getId);
+
+    private final ConcurrentSkipListMap<EventCursor, EventDto> timeline = new ConcurrentSkipListMap<>(ORDER);
+    private final Map<Long, EventCursor> positions = new ConcurrentHashMap<>();
+
+    /**
+     * Adds or repositions an event; drops it instead if it is not published or has already started.
+     */
+    public void put(EventDto event, LocalDateTime now) {
+        if (event.getStatus() != Event.EventStatus.PUBLISHED || !event.getStartDate().isAfter(now)) {
+            remove(event.getId());
+            return;
+        }
+        EventCursor position = EventCursor.of(event);
+        positions.compute(event.getId(), (id, previous) -> {
+            timeline.put(position, event);
+            if (previous != null && !previous.equals(position)) {
+                timeline.remove(previous);
+            }
+            return position;
+        });
+    }
+
+    public void remove(Long eventId) {
+        positions.computeIfPresent(eventId, (id, position) -> {
+            timeline.remove(position);
+            return null;
+        });
+    }
+
+    public boolean contains(Long eventId) {
+        return positions.containsKey(eventId);
+    }
+
+    /**
+     * Replaces the whole timeline; used for the startup load.
+     */
+    public void replaceAll(Collection<EventDto> events, LocalDateTime now) {
+        clear();
+        events.forEach(event -> put(event, now));
+    }
+
+    public void clear() {
+        positions.keySet().forEach(this::remove);
+    }
+
+    /**
+     * Drops events starting at or before {@code now}; returns how many were removed.
+     */
+    public int trim(LocalDateTime now) {
+        List<Long> started = new ArrayList<>();
+        startedBy(now).keySet().forEach(position -> started.add(position.getId()));
+        started.forEach(this::remove);
+        return started.size();
+    }
+
+    /**
+     * Up to {@code limit} events starting after {@code now}, earliest first.
+     */
+    public List<EventDto> upcoming(LocalDateTime now, int limit) {
+        return after(null, now, limit);
+    }
+
+    /**
+     * Up to {@code limit} events following {@code cursor} (or from the start when null)
+     * that start after {@code now}, earliest first.
+     */
+    public List<EventDto> after(EventCursor cursor, LocalDateTime now, int limit) {
+        EventCursor from = endOf(now);
+        if (cursor != null && ORDER.compare(cursor, from) > 0) {
+            from = cursor;
+        }
+        List<EventDto> events = new ArrayList<>(Math.min(limit, 256));
+        for (EventDto event : timeline.tailMap(from, false).values()) {
+            if (events.size() >= limit) {
+                break;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    private NavigableMap<EventCursor, EventDto> startedBy(LocalDateTime now) {
+        return timeline.headMap(endOf(now), true);
+    }
+
+    // Sorts after every event starting exactly at now, so a strict tail is "startDate > now"
+    private static EventCursor endOf(LocalDateTime now) {
+        return new EventCursor(now, Long.MAX_VALUE);
+    }
+}
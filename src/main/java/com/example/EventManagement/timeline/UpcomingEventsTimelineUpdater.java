@@ -0,0 +1,72 @@
+package com.example.EventManagement.timeline;
+
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.event.EventChangedEvent;
+import com.example.EventManagement.event.RegistrationChangedEvent;
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import com.example.EventManagement.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps {@link UpcomingEventsTimeline} in step with the database: a full load at startup, an
+ * incremental update after every committed event change, and a periodic trim of started events.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UpcomingEventsTimelineUpdater {
+
+    private final UpcomingEventsTimeline timeline;
+    private final EventRepository eventRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EventDto> upcoming = eventRepository.findUpcomingEventDtos(now);
+        timeline.replaceAll(upcoming, now);
+        log.info("Upcoming events timeline loaded with {} event(s)", upcoming.size());
+    }
+
+    @TransactionalEventListener
+    public void onEventChanged(EventChangedEvent change) {
+        refresh(change.getEventId());
+    }
+
+    // Only confirmed seats are shown (currentRegistrations), and only listed events need refreshing
+    @TransactionalEventListener
+    public void onRegistrationChanged(RegistrationChangedEvent change) {
+        boolean confirmedCountChanged = change.getPreviousStatus() == RegistrationStatus.CONFIRMED
+                || change.getStatus() == RegistrationStatus.CONFIRMED;
+        if (confirmedCountChanged && timeline.contains(change.getEventId())) {
+            refresh(change.getEventId());
+        }
+    }
+
+    // Reads already skip started events; this only gives their memory back
+    @Scheduled(fixedDelayString = "${app.timeline.trim-interval-ms:60000}")
+    public void trim() {
+        int trimmed = timeline.trim(LocalDateTime.now());
+        if (trimmed > 0) {
+            log.debug("Trimmed {} started event(s) from the upcoming timeline", trimmed);
+        }
+    }
+
+    private void refresh(Long eventId) {
+        Optional<EventDto> event = eventRepository.findEventDtoById(eventId);
+        if (event.isPresent()) {
+            timeline.put(event.get(), LocalDateTime.now());
+        } else {
+            timeline.remove(eventId);
+        }
+    }
+}
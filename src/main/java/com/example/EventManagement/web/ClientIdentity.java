@@ -0,0 +1,43 @@
+package com.example.EventManagement.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Who a request comes from: the authenticated user, else the remote address. The
+ * {@code app.ratelimit.client-header} value takes the address's place only on requests from one
+ * of the {@code trusted-proxies}, which set it for the clients behind them; anyone else could pick
+ * a fresh value per request to pass for a different client.
+ */
+@Component
+public class ClientIdentity {
+    
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    
+    public ClientIdentity(@Value("${app.ratelimit.client-header:X-Client-Id}") String clientHeader,
+                          @Value("${app.ratelimit.trusted-proxies:}") String[] trustedProxies) {
+        this.clientHeader = clientHeader;
+        this.trustedProxies = Arrays.stream(trustedProxies).map(String::strip).filter(proxy -> !proxy.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+    
+    public String of(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        String address = request.getRemoteAddr();
+        String header = trustedProxies.contains(address) ? request.getHeader(clientHeader) : null;
+        if (header != null && !header.isBlank()) {
+            return "client:" + header.strip();
+        }
+        return "ip:" + address;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.dto.ResourceVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for single resources: compares the request's {@code If-None-Match} or
+ * {@code If-Modified-Since} with a {@link ResourceVersion} and answers 304 without building the
+ * body, otherwise returns the body with its ETag, Last-Modified and the resource's Cache-Control.
+ * <p>
+ * A max-age of zero means {@code no-cache}: clients keep the body but revalidate before every use.
+ * User bodies are personal, so shared caches are told not to store them. Tomcat does not gzip
+ * responses with a strong ETag, which costs little on bodies this small.
+ */
+@Component
+public class ConditionalGet {
+    
+    private final CacheControl events;
+    private final CacheControl categories;
+    private final CacheControl users;
+    
+    public ConditionalGet(@Value("${app.http-cache.events.max-age:0s}") Duration eventMaxAge,
+                          @Value("${app.http-cache.categories.max-age:5m}") Duration categoryMaxAge,
+                          @Value("${app.http-cache.users.max-age:0s}") Duration userMaxAge) {
+        this.events = policy(eventMaxAge);
+        this.categories = policy(categoryMaxAge);
+        this.users = policy(userMaxAge).cachePrivate();
+    }
+    
+    public <T> ResponseEntity<T> event(WebRequest request, ResourceVersion version, Supplier<T> body) {
+        return respond(request, version, events, body);
+    }
+    
+    public <T> ResponseEntity<T> category(WebRequest request, ResourceVersion version, Supplier<T> body) {
+        return respond(request, version, categories, body);
+    }
+    
+    public <T> ResponseEntity<T> user(WebRequest request, ResourceVersion version, Supplier<T> body) {
+        return respond(request, version, users, body);
+    }
+    
+    private static <T> ResponseEntity<T> respond(WebRequest request, ResourceVersion version, CacheControl cacheControl,
+                                                 Supplier<T> body) {
+        String etag = version.eTag();
+        long lastModified = version.lastModifiedMillis();
+        boolean notModified = request.checkNotModified(etag, lastModified);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(cacheControl);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return notModified ? response.build() : response.body(body.get());
+    }
+    
+    private static CacheControl policy(Duration maxAge) {
+        return maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge).mustRevalidate();
+    }
+}
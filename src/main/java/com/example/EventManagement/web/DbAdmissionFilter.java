@@ -0,0 +1,82 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.config.MetricsConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits at most as many API requests as the Hikari pool has connections; the rest park on a fair
+ * semaphore. On virtual threads a parked request costs a few hundred bytes instead of a platform
+ * thread, and no request sits inside a transaction waiting for a connection. Requests that wait
+ * longer than {@code app.db.admission.max-wait} get a 503 instead of a Hikari timeout. Async
+ * requests hold their permit until the response is complete.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.db.admission.enabled", havingValue = "true")
+public class DbAdmissionFilter extends OncePerRequestFilter {
+    
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    
+    public DbAdmissionFilter(@Value("${app.db.admission.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                             @Value("${app.db.admission.max-wait:30s}") Duration maxWait,
+                             MeterRegistry registry) {
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        Gauge.builder(MetricsConfig.DB_ADMISSION + ".waiting", this.permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a database permit")
+                .register(registry);
+        Gauge.builder(MetricsConfig.DB_ADMISSION + ".available", this.permits, Semaphore::availablePermits)
+                .description("Database permits not currently held")
+                .register(registry);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            log.warn("Rejected {} {}: no database permit within the admission wait", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Server is busy, please retry\",\"status\":\"503\"}");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Streaming bodies keep using their connection after the chain returns
+            RequestCompletion.whenComplete(request, permits::release);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.web.IdempotencyStore.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Honours the {@code Idempotency-Key} header on the POSTs clients retry after a timeout: creating
+ * registrations and creating events. The first request with a key runs as usual and its response
+ * is kept in {@link IdempotencyStore}; repeats get that response back, marked with
+ * {@code Idempotent-Replayed: true}, without reaching the controller. Reusing a key for a different
+ * request is a 422, and a repeat that arrives while the first is still running is a 409. Keys are
+ * scoped to the client ({@link ClientIdentity}) and the endpoint, so two clients that happen to
+ * pick the same key never see each other's responses.
+ * <p>
+ * Only successes and client errors that a retry would repeat are stored; a request that failed
+ * with a 5xx (including the 503 for deadlocks and timeouts), a 408, 409 or 429 can be retried with
+ * the same key. Ordered ahead of {@link DbAdmissionFilter}, so replays never wait for a database permit.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnProperty(name = "app.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter {
+    
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> PATHS = Set.of("/api/registrations", "/api/registrations/batch", "/api/events");
+    
+    private final IdempotencyStore store;
+    private final ClientIdentity clientIdentity;
+    
+    public IdempotencyFilter(IdempotencyStore store, ClientIdentity clientIdentity) {
+        this.store = store;
+        this.clientIdentity = clientIdentity;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !PATHS.contains(request.getRequestURI())
+                || request.getHeader(KEY_HEADER) == null;
+    }
+    
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        String clientKey = request.getHeader(KEY_HEADER).strip();
+        if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String key = scopedKey(request, clientKey);
+        
+        HttpServletRequest cached = isForm(request) ? request : new CachedBodyRequest(request);
+        String fingerprint = fingerprint(cached);
+        if (replay(key, fingerprint, response)) {
+            return;
+        }
+        if (!store.begin(key)) {
+            response.setHeader("Retry-After", "1");
+            writeError(response, HttpStatus.CONFLICT, "A request with this " + KEY_HEADER + " is still in progress");
+            return;
+        }
+        
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        try {
+            // The first request may have finished between the lookup above and claiming the key
+            if (replay(key, fingerprint, response)) {
+                return;
+            }
+            chain.doFilter(cached, captured);
+            if (isFinal(captured.getStatus())) {
+                store.complete(key, new StoredResponse(fingerprint, captured.getStatus(), captured.getContentType(),
+                        captured.getHeader(HttpHeaders.LOCATION), captured.getContentAsByteArray()));
+            }
+        } finally {
+            store.end(key);
+            captured.copyBodyToResponse();
+        }
+    }
+    
+    // Hashed, so the scoped key still fits the stored key column
+    private String scopedKey(HttpServletRequest request, String clientKey) {
+        String scope = clientIdentity.of(request) + '\n' + request.getMethod() + ' ' + request.getRequestURI() + '\n' + clientKey;
+        return HexFormat.of().formatHex(sha256().digest(scope.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    private static boolean isFinal(int status) {
+        HttpStatus.Series series = HttpStatus.Series.resolve(status);
+        return series == HttpStatus.Series.SUCCESSFUL
+                || series == HttpStatus.Series.CLIENT_ERROR && status != HttpStatus.REQUEST_TIMEOUT.value()
+                        && status != HttpStatus.CONFLICT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+    
+    private boolean replay(String key, String fingerprint, HttpServletResponse response) throws IOException {
+        Optional<StoredResponse> stored = store.find(key);
+        if (stored.isEmpty()) {
+            return false;
+        }
+        if (!stored.get().fingerprint().equals(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, KEY_HEADER + " was already used for a different request");
+            return true;
+        }
+        log.debug("Replaying the stored response for idempotency key {}", key);
+        StoredResponse replayed = stored.get();
+        response.setStatus(replayed.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (replayed.contentType() != null) {
+            response.setContentType(replayed.contentType());
+        }
+        if (replayed.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, replayed.location());
+        }
+        response.setContentLength(replayed.body().length);
+        response.getOutputStream().write(replayed.body());
+        return true;
+    }
+    
+    // Form bodies are covered by the parameters; reading them as a body would hide them from the controller
+    private static String fingerprint(HttpServletRequest request) {
+        MessageDigest digest = sha256();
+        digest.update((request.getMethod() + ' ' + request.getRequestURI() + '\n').getBytes(StandardCharsets.UTF_8));
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) ->
+                digest.update((name + '=' + String.join(",", values) + '\n').getBytes(StandardCharsets.UTF_8)));
+        if (request instanceof CachedBodyRequest cached) {
+            digest.update(cached.body);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private static boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+    
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\",\"status\":\"" + status.value() + "\"}");
+    }
+    
+    /**
+     * Reads the body up front so it can be fingerprinted and still be read by the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] body;
+        
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                // The whole body is already in memory, so it is available and then finished at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+                
+                @Override
+                public int read() {
+                    return input.read();
+                }
+                
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
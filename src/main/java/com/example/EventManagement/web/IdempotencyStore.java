@@ -0,0 +1,114 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.model.IdempotencyRecord;
+import com.example.EventManagement.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Responses to requests sent with an {@code Idempotency-Key}, kept for {@code app.idempotency.ttl}
+ * in a size-bounded Caffeine cache. With {@code app.idempotency.persist=true} they are also written
+ * to the {@code idempotency_keys} table, so a retry that lands on another instance or after a
+ * restart is still answered from the store.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyStore {
+    
+    private final Duration ttl;
+    private final boolean persist;
+    private final IdempotencyRecordRepository repository;
+    private final Cache<String, StoredResponse> responses;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    
+    public IdempotencyStore(@Value("${app.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${app.idempotency.max-entries:100000}") long maxEntries,
+                            @Value("${app.idempotency.persist:false}") boolean persist,
+                            IdempotencyRecordRepository repository) {
+        this.ttl = ttl;
+        this.persist = persist;
+        this.repository = repository;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+    
+    public Optional<StoredResponse> find(String key) {
+        StoredResponse response = responses.getIfPresent(key);
+        if (response != null || !persist) {
+            return Optional.ofNullable(response);
+        }
+        Optional<StoredResponse> stored = repository.findByIdempotencyKeyAndExpiresAtAfter(key, LocalDateTime.now())
+                .map(StoredResponse::of);
+        stored.ifPresent(found -> responses.put(key, found));
+        return stored;
+    }
+    
+    /**
+     * Claims the key for a request about to run; false if another request with it is still running.
+     */
+    public boolean begin(String key) {
+        return inFlight.add(key);
+    }
+    
+    public void complete(String key, StoredResponse response) {
+        responses.put(key, response);
+        if (persist) {
+            try {
+                repository.save(response.toRecord(key, LocalDateTime.now().plus(ttl)));
+            } catch (RuntimeException e) {
+                // The in-memory copy still answers retries that reach this instance
+                log.warn("Could not persist the response for idempotency key {}", key, e);
+            }
+        }
+    }
+    
+    public void end(String key) {
+        inFlight.remove(key);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        if (!persist) {
+            return;
+        }
+        int purged = repository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+    
+    /**
+     * What is replayed for a key: the response of the first request, plus a fingerprint of that
+     * request so a different request reusing the key can be told apart.
+     */
+    public record StoredResponse(String fingerprint, int status, String contentType, String location, byte[] body) {
+        
+        static StoredResponse of(IdempotencyRecord record) {
+            byte[] body = record.getBody() == null ? new byte[0] : record.getBody().getBytes(StandardCharsets.UTF_8);
+            return new StoredResponse(record.getFingerprint(), record.getStatus(), record.getContentType(),
+                    record.getLocation(), body);
+        }
+        
+        IdempotencyRecord toRecord(String key, LocalDateTime expiresAt) {
+            return new IdempotencyRecord(key, fingerprint, status, contentType, location,
+                    new String(body, StandardCharsets.UTF_8), null, expiresAt);
+        }
+    }
+}
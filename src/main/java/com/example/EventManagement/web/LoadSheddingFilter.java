@@ -0,0 +1,143 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.config.MetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Turns new API requests away with a 503 while the service is already saturated, so the requests
+ * it has accepted finish instead of all of them timing out. Saturated means more than
+ * {@code max-in-flight} requests running, or the Hikari pool backing up: more than
+ * {@code max-pending-connections} threads waiting for a connection, or connections taking longer
+ * than {@code max-acquire-time} to hand out on average since the previous sample. The pool is
+ * sampled from its Micrometer meters every {@code sample-interval-ms}, so shedding stops by itself
+ * once the pool drains.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+@ConditionalOnProperty(name = "app.shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+    
+    private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+    private static final String PENDING_GAUGE = "hikaricp.connections.pending";
+    
+    private final int maxInFlight;
+    private final int maxPendingConnections;
+    private final long maxAcquireNanos;
+    private final MeterRegistry registry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter inFlightRejections;
+    private final Counter poolRejections;
+    
+    private volatile boolean poolSaturated;
+    private volatile double acquireNanos;
+    private long sampledCount;
+    private double sampledTotalNanos;
+    
+    public LoadSheddingFilter(@Value("${app.shedding.max-in-flight:400}") int maxInFlight,
+                              @Value("${app.shedding.max-pending-connections:50}") int maxPendingConnections,
+                              @Value("${app.shedding.max-acquire-time:500ms}") Duration maxAcquireTime,
+                              MeterRegistry registry) {
+        this.maxInFlight = maxInFlight;
+        this.maxPendingConnections = maxPendingConnections;
+        this.maxAcquireNanos = maxAcquireTime.toNanos();
+        this.registry = registry;
+        Gauge.builder(MetricsConfig.LOAD_SHEDDING + ".in_flight", inFlight, AtomicInteger::get)
+                .description("API requests currently running")
+                .register(registry);
+        Gauge.builder(MetricsConfig.LOAD_SHEDDING + ".acquire_time", this, filter -> filter.acquireNanos / 1e6)
+                .description("Mean connection acquire time over the last sample, in milliseconds")
+                .baseUnit("milliseconds")
+                .register(registry);
+        this.inFlightRejections = rejections("in_flight", registry);
+        this.poolRejections = rejections("pool", registry);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.startsWith("/api/health");
+    }
+    
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        if (poolSaturated) {
+            poolRejections.increment();
+            reject(request, response, "connection pool is backed up");
+            return;
+        }
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            inFlightRejections.increment();
+            reject(request, response, "too many requests in flight");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // A streaming body is still running until its async cycle ends
+            RequestCompletion.whenComplete(request, inFlight::decrementAndGet);
+        }
+    }
+    
+    @Scheduled(fixedRateString = "${app.shedding.sample-interval-ms:1000}")
+    public synchronized void sample() {
+        Timer acquire = registry.find(ACQUIRE_TIMER).timer();
+        if (acquire != null) {
+            long count = acquire.count();
+            double totalNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+            acquireNanos = count > sampledCount ? (totalNanos - sampledTotalNanos) / (count - sampledCount) : 0;
+            sampledCount = count;
+            sampledTotalNanos = totalNanos;
+        }
+        Gauge pending = registry.find(PENDING_GAUGE).gauge();
+        double waiting = pending == null ? 0 : pending.value();
+        boolean saturated = waiting > maxPendingConnections || acquireNanos > maxAcquireNanos;
+        if (saturated != poolSaturated) {
+            log.warn(saturated ? "Shedding load: {} threads waiting for a connection, {} ms mean acquire time"
+                               : "Stopped shedding load: {} threads waiting for a connection, {} ms mean acquire time",
+                    (long) waiting, Math.round(acquireNanos / 1e6));
+        }
+        poolSaturated = saturated;
+    }
+    
+    private static void reject(HttpServletRequest request, HttpServletResponse response, String reason) throws IOException {
+        log.debug("Shed {} {}: {}", request.getMethod(), request.getRequestURI(), reason);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Server is busy, please retry\",\"status\":\"503\"}");
+    }
+    
+    private static Counter rejections(String reason, MeterRegistry registry) {
+        return Counter.builder(MetricsConfig.REJECTED_REQUESTS)
+                .description("API requests turned away before reaching a controller")
+                .tag("reason", "shed_" + reason)
+                .tag("endpoint", "any")
+                .register(registry);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.config.MetricsConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-client token buckets in front of the API, a client as told apart by {@link ClientIdentity}
+ * (the authenticated user, else the remote address or a trusted proxy's client header, so nobody
+ * gets a fresh bucket by picking a fresh header value). Each bucket holds up to
+ * {@code capacity} tokens and refills at {@code refill-per-second}; a request takes as many tokens
+ * as its endpoint costs, so one client cannot hammer the search or the full catalog feed while
+ * cheap lookups stay available. A request that finds too few tokens gets a 429 with the seconds
+ * until enough have refilled in {@code Retry-After}.
+ * <p>
+ * Buckets of clients that stay quiet are evicted after {@code idle-timeout}, by which time they
+ * would have been full again anyway.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 3)
+@ConditionalOnProperty(name = "app.ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private final double capacity;
+    private final double refillPerNano;
+    private final ClientIdentity clientIdentity;
+    private final int searchCost;
+    private final int catalogCost;
+    private final int exportCost;
+    private final int writeCost;
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry registry;
+    private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+    
+    public RateLimitFilter(@Value("${app.ratelimit.capacity:200}") int capacity,
+                           @Value("${app.ratelimit.refill-per-second:50}") double refillPerSecond,
+                           ClientIdentity clientIdentity,
+                           @Value("${app.ratelimit.cost.search:10}") int searchCost,
+                           @Value("${app.ratelimit.cost.catalog:20}") int catalogCost,
+                           @Value("${app.ratelimit.cost.export:20}") int exportCost,
+                           @Value("${app.ratelimit.cost.write:2}") int writeCost,
+                           @Value("${app.ratelimit.max-clients:100000}") long maxClients,
+                           @Value("${app.ratelimit.idle-timeout:10m}") Duration idleTimeout,
+                           MeterRegistry registry) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1e9;
+        this.clientIdentity = clientIdentity;
+        this.searchCost = searchCost;
+        this.catalogCost = catalogCost;
+        this.exportCost = exportCost;
+        this.writeCost = writeCost;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.registry = registry;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.startsWith("/api/health");
+    }
+    
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        String endpoint = endpoint(request);
+        int cost = cost(endpoint);
+        String client = clientIdentity.of(request);
+        TokenBucket bucket = buckets.get(client, key -> new TokenBucket(capacity, System.nanoTime()));
+        long waitNanos = bucket.tryTake(cost, capacity, refillPerNano, System.nanoTime());
+        if (waitNanos > 0) {
+            log.debug("Rate limited {} on {} {}", client, request.getMethod(), request.getRequestURI());
+            rejectedCounter(endpoint).increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", Long.toString(Duration.ofNanos(waitNanos).toSeconds() + 1));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many requests, please slow down\",\"status\":\"429\"}");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+    
+    // A handful of fixed names, so they can tag the rejection counter
+    private static String endpoint(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/events/search")) {
+            return "search";
+        }
+        if (path.equals("/api/events/all")) {
+            return "catalog";
+        }
+        if (path.startsWith("/api/registrations/event/") && path.endsWith("/export")) {
+            return "export";
+        }
+        return HttpMethod.GET.matches(request.getMethod()) ? "read" : "write";
+    }
+    
+    private int cost(String endpoint) {
+        return switch (endpoint) {
+            case "search" -> searchCost;
+            case "catalog" -> catalogCost;
+            case "export" -> exportCost;
+            case "write" -> writeCost;
+            default -> 1;
+        };
+    }
+    
+    private Counter rejectedCounter(String endpoint) {
+        return rejected.computeIfAbsent(endpoint, name -> Counter.builder(MetricsConfig.REJECTED_REQUESTS)
+                .description("API requests turned away before reaching a controller")
+                .tag("reason", "rate_limited")
+                .tag("endpoint", name)
+                .register(registry));
+    }
+    
+    /**
+     * Tokens are refilled lazily from the time elapsed since the last request.
+     */
+    static final class TokenBucket {
+        
+        private double tokens;
+        private long refilledAt;
+        
+        TokenBucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+        
+        /**
+         * Takes {@code cost} tokens and returns 0, or leaves the bucket alone and returns how many
+         * nanoseconds until it will hold enough. A cost above the capacity is capped at it, so an
+         * expensive request is slow to repeat rather than impossible.
+         */
+        synchronized long tryTake(int cost, double capacity, double refillPerNano, long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+            refilledAt = now;
+            double needed = Math.min(cost, capacity);
+            if (tokens >= needed) {
+                tokens -= needed;
+                return 0;
+            }
+            return (long) Math.ceil((needed - tokens) / refillPerNano);
+        }
+    }
+}
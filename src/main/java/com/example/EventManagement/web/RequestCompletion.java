@@ -0,0 +1,58 @@
+package com.example.EventManagement.web;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a filter's clean-up once the response is finished. For a request that went async (a
+ * {@code StreamingResponseBody} writing on another thread) the filter chain returns long before
+ * that, so the clean-up waits for the async cycle to complete, fail or time out.
+ */
+final class RequestCompletion {
+
+    private RequestCompletion() {
+    }
+
+    /**
+     * Call after the filter chain returned; runs {@code callback} now, or exactly once when the
+     * request's async cycle ends.
+     */
+    static void whenComplete(HttpServletRequest request, Runnable callback) {
+        if (!request.isAsyncStarted()) {
+            callback.run();
+            return;
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                finish();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                finish();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                finish();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // Listeners are dropped when async restarts on a later dispatch
+                event.getAsyncContext().addListener(this);
+            }
+
+            private void finish() {
+                if (done.compareAndSet(false, true)) {
+                    callback.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+-- Registration rollups for the organizer dashboard, upserted once per event (and day) by every
+-- transaction that changes registrations, so analytics never scan event_registrations.
+-- event_stats holds current counts per status and the revenue of confirmed registrations.
+create table event_stats (
+    event_id bigint not null,
+    registrations integer default 0 not null,
+    waitlisted integer default 0 not null,
+    cancelled integer default 0 not null,
+    expired integer default 0 not null,
+    revenue float(53) default 0 not null,
+    updated_at datetime(6),
+    primary key (event_id),
+    constraint fk_event_stats_event foreign key (event_id) references events (id) on delete cascade
+) engine=InnoDB;
+
+-- Activity per event and day: new registrations, confirmations, cancellations and the net
+-- change in confirmed revenue
+create table event_daily_stats (
+    event_id bigint not null,
+    activity_date date not null,
+    registrations integer default 0 not null,
+    confirmations integer default 0 not null,
+    cancellations integer default 0 not null,
+    revenue float(53) default 0 not null,
+    primary key (event_id, activity_date),
+    constraint fk_event_daily_stats_event foreign key (event_id) references events (id) on delete cascade
+) engine=InnoDB;
+
+insert into event_stats (event_id, registrations, waitlisted, cancelled, expired, revenue, updated_at)
+select r.event_id,
+       count(*),
+       sum(case when r.status = 'WAITLISTED' then 1 else 0 end),
+       sum(case when r.status in ('CANCELLED', 'REFUNDED') then 1 else 0 end),
+       sum(case when r.status = 'EXPIRED' then 1 else 0 end),
+       coalesce(sum(case when r.status = 'CONFIRMED' then r.amount_paid else 0 end), 0),
+       current_timestamp(6)
+from event_registrations r
+group by r.event_id;
+
+-- History before this migration is approximated: registrations by the day they were made,
+-- confirmations and cancellations by the day the registration was last updated
+insert into event_daily_stats (event_id, activity_date, registrations, confirmations, cancellations, revenue)
+select d.event_id, d.activity_date, sum(d.registrations), sum(d.confirmations), sum(d.cancellations), sum(d.revenue)
+from (
+    select r.event_id, cast(r.registered_at as date) as activity_date,
+           1 as registrations, 0 as confirmations, 0 as cancellations, 0 as revenue
+    from event_registrations r
+    where r.registered_at is not null
+    union all
+    select r.event_id, cast(r.updated_at as date), 0,
+           case when r.status = 'CONFIRMED' then 1 else 0 end,
+           case when r.status in ('CANCELLED', 'REFUNDED') then 1 else 0 end,
+           case when r.status = 'CONFIRMED' then r.amount_paid else 0 end
+    from event_registrations r
+    where r.updated_at is not null and r.status in ('CONFIRMED', 'CANCELLED', 'REFUNDED')
+) d
+group by d.event_id, d.activity_date;
@@ -0,0 +1,35 @@
+-- Schema changes made before Flyway took over, which databases baselined at V1 never had:
+-- the seat counters on events, one registration per user and event, the listing indexes and
+-- named unique keys.
+
+alter table events add column confirmed_count integer default 0 not null;
+alter table events add column reserved_count integer default 0 not null;
+
+-- Concurrent registrations could store the same user twice for an event; keep the earliest.
+-- The DISTINCT keeps MySQL from merging the derived table into the DELETE
+delete from event_registrations
+where id in (
+    select id from (
+        select distinct r.id
+        from event_registrations r
+        join event_registrations k on k.event_id = r.event_id and k.user_id = r.user_id and k.id < r.id
+    ) duplicates
+);
+
+update events e
+set confirmed_count = (select count(*) from event_registrations r where r.event_id = e.id and r.status = 'CONFIRMED'),
+    reserved_count = (select count(*) from event_registrations r where r.event_id = e.id and r.status = 'PENDING');
+
+alter table event_registrations add constraint uk_event_registrations_event_user unique (event_id, user_id);
+
+create index idx_events_status_start_date on events (status, start_date, id);
+create index idx_events_category_start_date on events (category_id, start_date, id);
+create index idx_events_organizer_start_date on events (organizer_id, start_date, id);
+
+-- Same keys under the names the entities declare (DROP CONSTRAINT needs MySQL 8.0.19 or later)
+alter table categories drop constraint UKt8o6pivur7nn124jehx7cygw5;
+alter table categories add constraint uk_categories_name unique (name);
+alter table users drop constraint UK6dotkott2kjsp8vw4d0m25fb7;
+alter table users add constraint uk_users_email unique (email);
+alter table users drop constraint UKr43af9ap4edm43mmtq01oddj6;
+alter table users add constraint uk_users_username unique (username);
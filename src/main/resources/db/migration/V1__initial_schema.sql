@@ -0,0 +1,70 @@
+-- Baseline: exactly the schema ddl-auto=update produced from the original entities, with
+-- Hibernate's generated constraint names. Databases created that way are baselined at this
+-- version instead of running it; everything added since starts at V1_1.
+
+create table categories (
+    color varchar(7),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    icon varchar(10),
+    name varchar(50) not null,
+    description varchar(200),
+    primary key (id)
+) engine=InnoDB;
+
+create table event_registrations (
+    amount_paid float(53) not null,
+    event_id bigint not null,
+    id bigint not null auto_increment,
+    registered_at datetime(6),
+    updated_at datetime(6),
+    user_id bigint not null,
+    payment_id varchar(255),
+    special_requirements varchar(255),
+    status enum ('CANCELLED','CONFIRMED','PENDING','REFUNDED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table events (
+    max_capacity integer not null,
+    ticket_price float(53) not null,
+    category_id bigint not null,
+    created_at datetime(6),
+    end_date datetime(6) not null,
+    id bigint not null auto_increment,
+    organizer_id bigint not null,
+    start_date datetime(6) not null,
+    updated_at datetime(6),
+    title varchar(100) not null,
+    description TEXT not null,
+    image_url varchar(255),
+    location varchar(255) not null,
+    tags varchar(255),
+    status enum ('CANCELLED','COMPLETED','DRAFT','PUBLISHED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    is_active bit not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    email varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    phone_number varchar(255),
+    profile_image_url varchar(255),
+    username varchar(255) not null,
+    role enum ('ADMIN','ORGANIZER','USER'),
+    primary key (id)
+) engine=InnoDB;
+
+alter table categories add constraint UKt8o6pivur7nn124jehx7cygw5 unique (name);
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+alter table event_registrations add constraint FK6eykq6wu4n23qhn5vwb8kyut5 foreign key (event_id) references events (id);
+alter table event_registrations add constraint FKnk7jh3bmmv11csoxkjnb6av4h foreign key (user_id) references users (id);
+alter table events add constraint FKo6mla8j1p5bokt4dxrlmgwc28 foreign key (category_id) references categories (id);
+alter table events add constraint FKdocju8m76a3f8o6ljh2jrn2ra foreign key (organizer_id) references users (id);
@@ -0,0 +1,4 @@
+-- Registration lookups filter by (event_id, status) and (user_id, status);
+-- (event_id, user_id) is already served by uk_event_registrations_event_user.
+create index idx_event_registrations_event_status on event_registrations (event_id, status);
+create index idx_event_registrations_user_status on event_registrations (user_id, status);
@@ -0,0 +1,2 @@
+-- Serves MAX(updated_at) for the catalog feed ETag from the end of an index instead of a scan
+create index idx_events_updated_at on events (updated_at);
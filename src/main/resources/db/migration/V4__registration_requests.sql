@@ -0,0 +1,19 @@
+-- Durable queue behind asynchronous registration (app.registration.async.enabled).
+-- Plain ids instead of foreign keys: accepting a request must not read events or users;
+-- the worker validates them when it drains the queue.
+create table registration_requests (
+    id bigint not null auto_increment,
+    event_id bigint not null,
+    user_id bigint not null,
+    status enum ('COMPLETED','FAILED','QUEUED') not null,
+    registration_id bigint,
+    error varchar(255),
+    created_at datetime(6),
+    processed_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+-- Oldest queued request (lag) and queue depth
+create index idx_registration_requests_status_id on registration_requests (status, id);
+-- Events with queued requests, and each event's queued requests in arrival order
+create index idx_registration_requests_status_event on registration_requests (status, event_id, id);
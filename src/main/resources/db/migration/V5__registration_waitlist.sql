@@ -0,0 +1,5 @@
+-- Registrations that arrive when an event is full are kept as WAITLISTED and promoted in id
+-- order; the head lookup is served by idx_event_registrations_event_status (event_id, status),
+-- whose entries InnoDB already orders by the primary key.
+alter table event_registrations
+    modify status enum ('CANCELLED','CONFIRMED','PENDING','REFUNDED','WAITLISTED');
@@ -0,0 +1,8 @@
+-- PENDING registrations hold their seat until hold_expires_at; expired holds become EXPIRED.
+-- Registrations that were already PENDING keep a null expiry and never expire.
+alter table event_registrations
+    modify status enum ('CANCELLED','CONFIRMED','EXPIRED','PENDING','REFUNDED','WAITLISTED');
+alter table event_registrations add column hold_expires_at datetime(6);
+
+-- Loads active holds at startup and finds overdue ones in the catch-up sweep
+create index idx_event_registrations_status_hold on event_registrations (status, hold_expires_at);
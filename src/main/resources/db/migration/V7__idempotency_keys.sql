@@ -0,0 +1,15 @@
+-- Stored responses for Idempotency-Key requests, when app.idempotency.persist=true
+create table idempotency_keys (
+    idempotency_key varchar(255) not null,
+    fingerprint varchar(64) not null,
+    status integer not null,
+    content_type varchar(255),
+    location varchar(255),
+    body text,
+    created_at datetime(6),
+    expires_at datetime(6) not null,
+    primary key (idempotency_key)
+) engine=InnoDB;
+
+-- Purge of expired responses
+create index idx_idempotency_keys_expires_at on idempotency_keys (expires_at);
@@ -0,0 +1,9 @@
+-- Users are listed by role a page at a time, in id order
+create index idx_users_role on users (role, id);
+
+-- Case-insensitive category name lookups compare a lower-cased copy of the name, so a prefix
+-- search is a range scan on this index instead of LOWER(name) evaluated over every row
+alter table categories add column name_normalized varchar(50);
+update categories set name_normalized = lower(trim(name));
+alter table categories modify name_normalized varchar(50) not null;
+create index idx_categories_name_normalized on categories (name_normalized);
@@ -0,0 +1,22 @@
+-- Per-category event counts and confirmed seats, kept up to date by the event and seat
+-- transitions so category listings never count events. A periodic recompute repairs drift
+-- and retires events that have started from upcoming_events.
+create table category_stats (
+    category_id bigint not null,
+    total_events integer default 0 not null,
+    published_events integer default 0 not null,
+    upcoming_events integer default 0 not null,
+    confirmed_seats bigint default 0 not null,
+    updated_at datetime(6),
+    primary key (category_id),
+    constraint fk_category_stats_category foreign key (category_id) references categories (id)
+) engine=InnoDB;
+
+insert into category_stats (category_id, total_events, published_events, upcoming_events, confirmed_seats, updated_at)
+select c.id,
+       (select count(*) from events e where e.category_id = c.id),
+       (select count(*) from events e where e.category_id = c.id and e.status = 'PUBLISHED'),
+       (select count(*) from events e where e.category_id = c.id and e.status = 'PUBLISHED' and e.start_date > current_timestamp(6)),
+       (select coalesce(sum(e.confirmed_count), 0) from events e where e.category_id = c.id),
+       current_timestamp(6)
+from categories c;
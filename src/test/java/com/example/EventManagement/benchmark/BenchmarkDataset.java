@@ -0,0 +1,122 @@
+package com.example.EventManagement.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Bulk seeding for benchmarks. Rows go straight through JDBC batches so that seeding a large
+ * catalog takes seconds; search indexes and caches must be rebuilt by the caller afterwards.
+ */
+public final class BenchmarkDataset {
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ren", "sto", "vel", "dra", "pix", "qua", "zen", "tor", "bel", "fin", "gor", "hul",
+            "jas", "kem", "lun", "mor", "nix", "pol", "rus", "sar", "tem", "ula", "vor", "wes", "yan", "zor", "cal"
+    };
+
+    // ~27k distinct pseudo-words, so a term matches a realistic fraction of the catalog
+    public static final String[] WORDS = buildVocabulary();
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private BenchmarkDataset() {
+    }
+
+    /**
+     * Inserts {@code count} published events starting within the next year, each with room for
+     * {@code capacity} registrations.
+     */
+    public static void seedEvents(JdbcTemplate jdbcTemplate, int count, int capacity, Long categoryId, Long organizerId) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = "INSERT INTO events (title, description, start_date, end_date, location, max_capacity, " +
+                "confirmed_count, reserved_count, ticket_price, status, category_id, organizer_id, tags, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 0, 0, 25.0, 'PUBLISHED', ?, ?, ?, ?, ?)";
+        for (int start = 0; start < count; start += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = start; i < Math.min(start + BATCH_SIZE, count); i++) {
+                LocalDateTime startDate = LocalDateTime.now().plusDays(1 + random.nextInt(365));
+                batch.add(new Object[]{
+                        words(random, 3) + " " + i,
+                        "An event about " + words(random, 12),
+                        Timestamp.valueOf(startDate),
+                        Timestamp.valueOf(startDate.plusHours(3)),
+                        "Venue " + words(random, 1),
+                        capacity,
+                        categoryId,
+                        organizerId,
+                        words(random, 2).replace(' ', ','),
+                        now,
+                        now});
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    /**
+     * Inserts {@code count} active users named {@code <prefix>-<n>} and returns their ids.
+     */
+    public static List<Long> seedUsers(JdbcTemplate jdbcTemplate, String prefix, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = "INSERT INTO users (username, email, password, first_name, last_name, role, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, 'password', 'Bench', ?, 'USER', true, ?, ?)";
+        for (int start = 0; start < count; start += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = start; i < Math.min(start + BATCH_SIZE, count); i++) {
+                String username = prefix + "-" + i;
+                batch.add(new Object[]{username, username + "@example.com", "User" + i, now, now});
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE ? ORDER BY id", Long.class, prefix + "-%");
+    }
+
+    /**
+     * Inserts {@code count} categories with distinct pseudo-word names and returns their ids.
+     */
+    public static List<Long> seedCategories(JdbcTemplate jdbcTemplate, int count) {
+        Random random = new Random(11);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = "INSERT INTO categories (name, name_normalized, description, created_at, updated_at) " +
+                "VALUES (?, ?, 'Benchmark category', ?, ?)";
+        List<Object[]> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = capitalize(words(random, 1)) + " " + i;
+            batch.add(new Object[]{name, name.toLowerCase(), now, now});
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+        return jdbcTemplate.queryForList("SELECT id FROM categories WHERE description = 'Benchmark category' ORDER BY id", Long.class);
+    }
+
+    public static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static String[] buildVocabulary() {
+        List<String> words = new ArrayList<>();
+        for (String first : SYLLABLES) {
+            for (String second : SYLLABLES) {
+                for (String third : SYLLABLES) {
+                    words.add(first + second + third);
+                }
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+}
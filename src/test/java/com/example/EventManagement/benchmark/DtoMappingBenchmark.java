@@ -0,0 +1,114 @@
+package com.example.EventManagement.benchmark;
+
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.dto.UserDto;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping and JSON rendering of a listing page, without Spring or a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param("20")
+    public int pageSize;
+
+    private Event event;
+    private User user;
+    private Page<EventDto> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Technology");
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("organizer");
+        user.setEmail("organizer@example.com");
+        user.setPassword("password");
+        user.setFirstName("Olivia");
+        user.setLastName("Organizer");
+        user.setRole(User.UserRole.ORGANIZER);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+
+        event = newEvent(1L, category, random);
+
+        List<EventDto> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new EventDto(newEvent(i + 1L, category, random)));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+
+        // Same defaults Spring Boot applies to the MVC message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    private Event newEvent(Long id, Category category, Random random) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle(BenchmarkDataset.words(random, 3));
+        event.setDescription("An event about " + BenchmarkDataset.words(random, 12));
+        event.setStartDate(LocalDateTime.now().plusDays(7));
+        event.setEndDate(LocalDateTime.now().plusDays(7).plusHours(3));
+        event.setLocation("Venue " + BenchmarkDataset.words(random, 1));
+        event.setMaxCapacity(100);
+        event.setTicketPrice(25.0);
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        event.setTags(BenchmarkDataset.words(random, 2).replace(' ', ','));
+        event.setCategory(category);
+        event.setOrganizer(user);
+        event.setCreatedAt(LocalDateTime.now());
+        event.setUpdatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    @Benchmark
+    public EventDto eventDtoFromEntity() {
+        return new EventDto(event);
+    }
+
+    @Benchmark
+    public UserDto userDtoFromEntity() {
+        return new UserDto(user);
+    }
+
+    @Benchmark
+    public byte[] serializeEventPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
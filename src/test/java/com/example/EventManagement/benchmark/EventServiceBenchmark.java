@@ -0,0 +1,119 @@
+package com.example.EventManagement.benchmark;
+
+import com.example.EventManagement.EventManagementApplication;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.UserRepository;
+import com.example.EventManagement.search.EventSearchIndexer;
+import com.example.EventManagement.service.EventRegistrationService;
+import com.example.EventManagement.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service hot paths against an embedded H2 seeded with {@code events} published events.
+ * Override the dataset size with {@code -p events=100000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventServiceBenchmark {
+
+    @Param("10000")
+    public int events;
+
+    // Every (event, user) pair registers once, so events * users bounds the registrations per trial
+    @Param("200")
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private EventRegistrationService registrationService;
+
+    private long[] eventIds;
+    private long[] userIds;
+    private String[] searchTerms;
+    private final AtomicInteger nextRegistration = new AtomicInteger();
+    private final AtomicInteger nextSearch = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EventManagementApplication.class)
+                .profiles("test")
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.EventManagement=WARN");
+        eventService = context.getBean(EventService.class);
+        registrationService = context.getBean(EventRegistrationService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long categoryId = context.getBean(CategoryRepository.class).findAll().get(0).getId();
+        Long organizerId = context.getBean(UserRepository.class).findAll().get(0).getId();
+        // Pooled connections do not auto-commit, so the seed needs an explicit transaction
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            BenchmarkDataset.seedEvents(jdbcTemplate, events, users, categoryId, organizerId);
+            userIds = BenchmarkDataset.seedUsers(jdbcTemplate, "benchmark-user", users).stream().mapToLong(Long::longValue).toArray();
+        });
+        eventIds = jdbcTemplate.queryForList("SELECT id FROM events WHERE status = 'PUBLISHED' ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        context.getBean(EventSearchIndexer.class).rebuild();
+
+        Random random = new Random(7);
+        searchTerms = new String[1024];
+        for (int i = 0; i < searchTerms.length; i++) {
+            searchTerms[i] = BenchmarkDataset.words(random, 1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<EventDto> searchEvents() {
+        String term = searchTerms[Math.floorMod(nextSearch.getAndIncrement(), searchTerms.length)];
+        return eventService.searchEvents(term, PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public List<EventDto> getUpcomingEvents() {
+        return eventService.getUpcomingEvents();
+    }
+
+    @Benchmark
+    public EventRegistration registerForEvent() {
+        int registration = nextRegistration.getAndIncrement();
+        long eventId = eventIds[registration % eventIds.length];
+        long userId = userIds[(registration / eventIds.length) % userIds.length];
+        return registrationService.registerForEvent(eventId, userId);
+    }
+}
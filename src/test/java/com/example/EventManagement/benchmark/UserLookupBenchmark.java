@@ -0,0 +1,116 @@
+package com.example.EventManagement.benchmark;
+
+import com.example.EventManagement.EventManagementApplication;
+import com.example.EventManagement.dto.CategoryDto;
+import com.example.EventManagement.dto.UserDto;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.service.CategoryService;
+import com.example.EventManagement.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Role and category-name lookups against an embedded H2 seeded with {@code users} users, one in
+ * {@code organizerEvery} of them an organizer. Both used to load the whole table and filter in
+ * Java; run with {@code -prof gc} to see that the allocation per call no longer grows with the table.
+ * Override the dataset size with {@code -p users=1000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    @Param("500000")
+    public int users;
+
+    @Param("100")
+    public int organizerEvery;
+
+    @Param("2000")
+    public int categories;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private CategoryService categoryService;
+
+    private int organizerPages;
+    private String[] prefixes;
+    private final AtomicInteger nextPage = new AtomicInteger();
+    private final AtomicInteger nextPrefix = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EventManagementApplication.class)
+                .profiles("test")
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:user-lookup;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.EventManagement=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        userService = context.getBean(UserService.class);
+        categoryService = context.getBean(CategoryService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // Pooled connections do not auto-commit, so the seed needs an explicit transaction
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            BenchmarkDataset.seedUsers(jdbcTemplate, "lookup", users);
+            jdbcTemplate.update("UPDATE users SET role = 'ORGANIZER' WHERE MOD(id, ?) = 0", organizerEvery);
+            BenchmarkDataset.seedCategories(jdbcTemplate, categories);
+        });
+        organizerPages = Math.max(1, users / organizerEvery / 20);
+
+        Random random = new Random(3);
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = BenchmarkDataset.words(random, 1).substring(0, 2 + random.nextInt(3));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<UserDto> usersByRoleFirstPage() {
+        return userService.getUsersByRole(User.UserRole.ORGANIZER, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<UserDto> usersByRoleAnyPage() {
+        int page = Math.floorMod(nextPage.getAndIncrement(), organizerPages);
+        return userService.getUsersByRole(User.UserRole.ORGANIZER, PageRequest.of(page, 20));
+    }
+
+    @Benchmark
+    public Page<CategoryDto> categoriesByNamePrefix() {
+        String prefix = prefixes[Math.floorMod(nextPrefix.getAndIncrement(), prefixes.length)];
+        return categoryService.getCategoriesByNamePrefix(prefix, PageRequest.of(0, 20));
+    }
+}
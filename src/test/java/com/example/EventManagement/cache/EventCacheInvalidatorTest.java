@@ -0,0 +1,88 @@
+package com.example.EventManagement.cache;
+
+import com.example.EventManagement.config.CacheConfig;
+import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.UserRepository;
+import com.example.EventManagement.service.EventRegistrationService;
+import com.example.EventManagement.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventCacheInvalidatorTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void onlyConfirmedSeatChangesEvictTheEvent() {
+        User organizer = createUser(User.UserRole.ORGANIZER);
+        User attendee = createUser(User.UserRole.USER);
+        EventDto event = eventService.publishEvent(eventService.createEvent(request(), organizer.getId()).getId(), organizer.getId());
+        Cache details = cacheManager.getCache(CacheConfig.EVENT_DETAILS);
+
+        eventService.getEventById(event.getId());
+        EventRegistration registration = registrationService.registerForEvent(event.getId(), attendee.getId());
+        // A seat hold does not change the confirmed count the cached entry shows
+        assertNotNull(details.get(event.getId()));
+
+        registrationService.confirmRegistration(registration.getId());
+        assertNull(details.get(event.getId()));
+        assertEquals(1, eventService.getEventById(event.getId()).getCurrentRegistrations());
+
+        registrationService.cancelRegistration(registration.getId());
+        assertNull(details.get(event.getId()));
+        assertEquals(0, eventService.getEventById(event.getId()).getCurrentRegistrations());
+    }
+
+    private User createUser(User.UserRole role) {
+        User user = new User();
+        user.setUsername("invalidator-" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("password");
+        user.setFirstName("Cache");
+        user.setLastName("User");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private CreateEventRequest request() {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle("Cached event");
+        request.setDescription("Evicted when its seat count changes");
+        request.setStartDate(LocalDateTime.now().plusDays(12));
+        request.setEndDate(LocalDateTime.now().plusDays(13));
+        request.setLocation("Hall D");
+        request.setMaxCapacity(10);
+        request.setTicketPrice(5.0);
+        request.setCategoryId(categoryRepository.findAll().get(0).getId());
+        return request;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.EventManagement.metrics;
+
+import com.example.EventManagement.config.MetricsConfig;
+import com.example.EventManagement.service.EventRegistrationService;
+import com.example.EventManagement.service.EventService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.eventmanagement.service=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsInstrumentationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void servicesAndRepositoriesAreTimedAndCounted() throws Exception {
+        eventService.getUpcomingEvents();
+        eventService.getEventsWithAvailableCapacity();
+        assertThrows(RuntimeException.class, () -> registrationService.registerForEvent(-1L, -1L));
+
+        Timer upcoming = registry.find(MetricsConfig.SERVICE_TIMER)
+                .tags("class", EventService.class.getName(), "method", "getUpcomingEvents", "exception", "none")
+                .timer();
+        assertNotNull(upcoming);
+        assertTrue(upcoming.count() >= 1);
+
+        Timer failedRegistration = registry.find(MetricsConfig.SERVICE_TIMER)
+                .tags("method", "registerForEvent", "exception", "RuntimeException")
+                .timer();
+        assertNotNull(failedRegistration);
+
+        DistributionSummary rows = registry.find(MetricsConfig.REPOSITORY_ROWS)
+                .tags("repository", "EventRepository", "method", "findAvailableEventDtos")
+                .summary();
+        assertNotNull(rows);
+        assertTrue(rows.count() >= 1);
+
+        assertNotNull(registry.find("spring.data.repository.invocations").tag("repository", "EventRepository").timer());
+        assertNotNull(registry.find("hikaricp.connections.active").gauge());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("eventmanagement_service_seconds_bucket")))
+                .andExpect(content().string(containsString("eventmanagement_repository_rows")));
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.EventManagement.queue;
+
+import com.example.EventManagement.config.MetricsConfig;
+import com.example.EventManagement.dto.RegistrationTicket;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.model.RegistrationRequest;
+import com.example.EventManagement.model.RegistrationRequest.Status;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRegistrationRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.RegistrationRequestRepository;
+import com.example.EventManagement.repository.UserRepository;
+import com.example.EventManagement.service.EventRegistrationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.registration.async.enabled=true",
+        "app.registration.async.poll-interval-ms=20"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RegistrationQueueTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RegistrationQueue registrationQueue;
+
+    @Autowired
+    private RegistrationRequestRepository requestRepository;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @MockitoSpyBean
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void acceptsWithATicketAndRegistersInTheBackground() throws Exception {
+        Event event = createPublishedEvent(5);
+        User user = createUsers(1).get(0);
+
+        MvcResult accepted = mockMvc.perform(post("/api/registrations")
+                        .param("eventId", event.getId().toString())
+                        .param("userId", user.getId().toString()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.eventId").value(event.getId()))
+                .andReturn();
+        RegistrationTicket ticket = objectMapper.readValue(accepted.getResponse().getContentAsString(), RegistrationTicket.class);
+        assertEquals("http://localhost/api/registrations/requests/" + ticket.getTicketId(),
+                accepted.getResponse().getHeader("Location"));
+
+        RegistrationTicket processed = awaitProcessed(ticket.getTicketId());
+        assertEquals(Status.COMPLETED, processed.getStatus());
+        EventRegistration registration = registrationRepository.findByEventIdAndUserId(event.getId(), user.getId()).orElseThrow();
+        assertEquals(registration.getId(), processed.getRegistrationId());
+        assertNull(processed.getError());
+
+        mockMvc.perform(get("/api/registrations/requests/{ticketId}", ticket.getTicketId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.registrationId").value(registration.getId()));
+        mockMvc.perform(get("/api/registrations/requests/{ticketId}", -1L))
+                .andExpect(status().isBadRequest());
+
+        assertNotNull(meterRegistry.find(MetricsConfig.REGISTRATION_QUEUE + ".depth").gauge());
+        assertNotNull(meterRegistry.find(MetricsConfig.REGISTRATION_QUEUE + ".lag").timeGauge());
+        assertTrue(meterRegistry.get(MetricsConfig.REGISTRATION_QUEUE + ".wait").timer().count() > 0);
+    }
+
+    @Test
+    void appliesQueuedRequestsInArrivalOrderAndWaitlistsPastCapacity() throws Exception {
+        Event event = createPublishedEvent(2);
+        List<User> users = createUsers(3);
+        // One commit, so the worker sees all three in the same batch
+        List<RegistrationRequest> queued = requestRepository.saveAll(users.stream().map(user -> {
+            RegistrationRequest request = new RegistrationRequest();
+            request.setEventId(event.getId());
+            request.setUserId(user.getId());
+            return request;
+        }).toList());
+
+        List<EventRegistration.RegistrationStatus> statuses = new ArrayList<>();
+        for (RegistrationRequest request : queued) {
+            RegistrationTicket ticket = awaitProcessed(request.getId());
+            assertEquals(Status.COMPLETED, ticket.getStatus());
+            statuses.add(registrationRepository.findById(ticket.getRegistrationId()).orElseThrow().getStatus());
+        }
+        assertEquals(List.of(EventRegistration.RegistrationStatus.PENDING, EventRegistration.RegistrationStatus.PENDING,
+                EventRegistration.RegistrationStatus.WAITLISTED), statuses);
+        assertEquals(2, eventRepository.findById(event.getId()).orElseThrow().getReservedCount());
+    }
+
+    @Test
+    void otherInstancesDrainingTheSameTableApplyEachRequestOnce() throws Exception {
+        Event event = createPublishedEvent(200);
+        List<User> users = createUsers(100);
+        List<RegistrationQueueWorker> otherInstances = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            otherInstances.add(new RegistrationQueueWorker(requestRepository, registrationService,
+                    transactionManager, new SimpleMeterRegistry(), 1, 5));
+        }
+        try {
+            List<RegistrationRequest> queued = requestRepository.saveAll(users.stream().map(user -> {
+                RegistrationRequest request = new RegistrationRequest();
+                request.setEventId(event.getId());
+                request.setUserId(user.getId());
+                return request;
+            }).toList());
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (requestRepository.countByStatus(Status.QUEUED) > 0 && System.currentTimeMillis() < deadline) {
+                otherInstances.forEach(RegistrationQueueWorker::poll);
+                Thread.sleep(5);
+            }
+
+            Set<Long> registrationIds = new HashSet<>();
+            for (RegistrationRequest request : queued) {
+                RegistrationTicket ticket = awaitProcessed(request.getId());
+                assertEquals(Status.COMPLETED, ticket.getStatus(), ticket.getError());
+                registrationIds.add(ticket.getRegistrationId());
+            }
+            assertEquals(users.size(), registrationIds.size());
+            assertEquals(users.size(), eventRepository.findById(event.getId()).orElseThrow().getReservedCount());
+        } finally {
+            for (RegistrationQueueWorker instance : otherInstances) {
+                instance.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void failsRequestsThatCannotBeApplied() throws Exception {
+        Event event = createPublishedEvent(5);
+        User user = createUsers(1).get(0);
+
+        RegistrationTicket unknownEvent = awaitProcessed(registrationQueue.enqueue(-1L, user.getId()).getTicketId());
+        assertEquals(Status.FAILED, unknownEvent.getStatus());
+        assertEquals("Event not found", unknownEvent.getError());
+
+        assertEquals(Status.COMPLETED, awaitProcessed(registrationQueue.enqueue(event.getId(), user.getId()).getTicketId()).getStatus());
+        RegistrationTicket again = awaitProcessed(registrationQueue.enqueue(event.getId(), user.getId()).getTicketId());
+        assertEquals(Status.FAILED, again.getStatus());
+        assertEquals("User is already registered for this event", again.getError());
+    }
+
+    @Test
+    void leavesRequestsQueuedAfterATransientFailure() throws Exception {
+        Event event = createPublishedEvent(5);
+        User user = createUsers(1).get(0);
+        doThrow(new CannotAcquireLockException("Lock wait timeout exceeded"))
+                .doCallRealMethod()
+                .when(registrationService).registerForEventBatch(eq(event.getId()), anyList());
+
+        RegistrationTicket ticket = awaitProcessed(registrationQueue.enqueue(event.getId(), user.getId()).getTicketId());
+        assertEquals(Status.COMPLETED, ticket.getStatus(), ticket.getError());
+        verify(registrationService, times(2)).registerForEventBatch(eq(event.getId()), anyList());
+    }
+
+    private RegistrationTicket awaitProcessed(Long ticketId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        RegistrationTicket ticket = registrationQueue.getTicket(ticketId);
+        while (ticket.getStatus() == Status.QUEUED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            ticket = registrationQueue.getTicket(ticketId);
+        }
+        assertTrue(ticket.getProcessedAt() != null, "request " + ticketId + " was not processed in time");
+        return ticket;
+    }
+
+    private List<User> createUsers(int count) {
+        String prefix = "queued-" + System.nanoTime() + "-";
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + "@example.com");
+            user.setPassword("password");
+            user.setFirstName("Queued");
+            user.setLastName("Attendee");
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private Event createPublishedEvent(int capacity) {
+        Category category = categoryRepository.findAll().get(0);
+        Event event = new Event();
+        event.setTitle("Festival on-sale");
+        event.setDescription("Registrations are queued");
+        event.setStartDate(LocalDateTime.now().plusDays(20));
+        event.setEndDate(LocalDateTime.now().plusDays(21));
+        event.setLocation("Open air stage");
+        event.setMaxCapacity(capacity);
+        event.setTicketPrice(25.0);
+        event.setCategory(category);
+        event.setOrganizer(userRepository.findAll().get(0));
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        return eventRepository.save(event);
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.EventManagement.repository;
+
+import com.example.EventManagement.model.Event.EventStatus;
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import com.example.EventManagement.model.RegistrationRequest;
+import com.example.EventManagement.model.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs every query declared on the repositories, captures the SQL Hibernate generates for it
+ * and fails if H2's {@code EXPLAIN} shows a full table scan, i.e. a query without a matching index.
+ * <p>
+ * Queries that read a whole table by design are listed in {@link #FULL_SCAN_BY_DESIGN}; a new
+ * repository method must either get an index or be added there explicitly.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.example.EventManagement.repository.RepositoryQueryPlanTest$CapturingStatementInspector")
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    private static final Map<Class<?>, Set<String>> FULL_SCAN_BY_DESIGN = Map.of(
+            EventRepository.class, Set.of(
+                    // Unfiltered listing and the full catalog feed
+                    "findAllEventDtos", "streamAllEventDtos",
+                    // Leading-wildcard LIKE cannot use a B-tree index; search is served by EventSearchIndex
+                    "searchEventDtos", "searchEvents", "findByLocationContainingIgnoreCase",
+                    // Periodic maintenance sweep over every event
+                    "reconcileSeatCounters"),
+            CategoryRepository.class, Set.of(
+                    // Returns or aggregates the whole (small) category table
+                    "findAllByOrderByNameAsc", "findListVersion"),
+            EventRegistrationRepository.class, Set.of(),
+            UserRepository.class, Set.of(
+                    // OR across two unique keys: MySQL answers it with an index_merge union, H2 cannot
+                    "findByUsernameOrEmail",
+                    // Unfiltered directory listings in primary key order
+                    "findUserDtos", "findUserDtosFirst"),
+            RegistrationRequestRepository.class, Set.of(),
+            IdempotencyRecordRepository.class, Set.of(),
+            CategoryStatsRepository.class, Set.of(
+                    // Periodic recompute over every category
+                    "insertMissing", "recompute"),
+            EventStatsRepository.class, Set.of(
+                    // Periodic recompute over every event with registrations
+                    "insertMissing", "recompute"),
+            EventDailyStatsRepository.class, Set.of());
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RegistrationRequestRepository requestRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRepository;
+
+    @Autowired
+    private CategoryStatsRepository statsRepository;
+
+    @Autowired
+    private EventStatsRepository eventStatsRepository;
+
+    @Autowired
+    private EventDailyStatsRepository dailyStatsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Map<String, Runnable> indexedQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 10);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        queries.put("EventRepository.findEventDtoById", () -> eventRepository.findEventDtoById(1L));
+        queries.put("EventRepository.findVersionById", () -> eventRepository.findVersionById(1L));
+        queries.put("EventRepository.existsByCategoryId", () -> eventRepository.existsByCategoryId(1L));
+        queries.put("EventRepository.findEventDtosByIdIn", () -> eventRepository.findEventDtosByIdIn(List.of(1L, 2L)));
+        queries.put("EventRepository.findEventDtosByStatus", () -> eventRepository.findEventDtosByStatus(EventStatus.PUBLISHED, page));
+        queries.put("EventRepository.findEventDtosByCategoryId", () -> eventRepository.findEventDtosByCategoryId(1L, page));
+        queries.put("EventRepository.findEventDtosByOrganizerId", () -> eventRepository.findEventDtosByOrganizerId(1L, page));
+        queries.put("EventRepository.findEventDtosByStatusFirst", () -> eventRepository.findEventDtosByStatusFirst(EventStatus.PUBLISHED, page));
+        queries.put("EventRepository.findEventDtosByStatusAfter", () -> eventRepository.findEventDtosByStatusAfter(EventStatus.PUBLISHED, now, 1L, page));
+        queries.put("EventRepository.findEventDtosByCategoryIdFirst", () -> eventRepository.findEventDtosByCategoryIdFirst(1L, page));
+        queries.put("EventRepository.findEventDtosByCategoryIdAfter", () -> eventRepository.findEventDtosByCategoryIdAfter(1L, now, 1L, page));
+        queries.put("EventRepository.findEventDtosByOrganizerIdFirst", () -> eventRepository.findEventDtosByOrganizerIdFirst(1L, page));
+        queries.put("EventRepository.findEventDtosByOrganizerIdAfter", () -> eventRepository.findEventDtosByOrganizerIdAfter(1L, now, 1L, page));
+        queries.put("EventRepository.findCatalogVersion", () -> eventRepository.findCatalogVersion());
+        queries.put("EventRepository.findUpcomingEventDtos", () -> eventRepository.findUpcomingEventDtos(now));
+        queries.put("EventRepository.findAvailableEventDtos", () -> eventRepository.findAvailableEventDtos());
+        queries.put("EventRepository.findByStatus", () -> {
+            eventRepository.findByStatus(EventStatus.PUBLISHED);
+            eventRepository.findByStatus(EventStatus.PUBLISHED, page);
+        });
+        queries.put("EventRepository.findByCategoryId", () -> eventRepository.findByCategoryId(1L, page));
+        queries.put("EventRepository.findByOrganizerId", () -> eventRepository.findByOrganizerId(1L, page));
+        queries.put("EventRepository.findUpcomingEvents", () -> eventRepository.findUpcomingEvents(now));
+        queries.put("EventRepository.findEventsInDateRange", () -> eventRepository.findEventsInDateRange(now, now.plusDays(30)));
+        queries.put("EventRepository.findEventsWithAvailableCapacity", () -> eventRepository.findEventsWithAvailableCapacity());
+        queries.put("EventRepository.isEventFull", () -> eventRepository.isEventFull(1L));
+        queries.put("EventRepository.findRemainingSeats", () -> eventRepository.findRemainingSeats(1L));
+        queries.put("EventRepository.updateCapacity", () -> eventRepository.updateCapacity(1L, 20, now));
+        queries.put("EventRepository.reserveSeats", () -> eventRepository.reserveSeats(1L, 2));
+        queries.put("EventRepository.confirmReservedSeats", () -> eventRepository.confirmReservedSeats(1L, 2, now));
+        queries.put("EventRepository.claimConfirmedSeats", () -> eventRepository.claimConfirmedSeats(1L, 2, now));
+        queries.put("EventRepository.releaseConfirmedSeats", () -> eventRepository.releaseConfirmedSeats(1L, 2, now));
+        queries.put("EventRepository.releaseReservedSeats", () -> eventRepository.releaseReservedSeats(1L, 2));
+        queries.put("EventRepository.handOverConfirmedSeats", () -> eventRepository.handOverConfirmedSeats(1L, 2, now));
+
+        queries.put("EventRegistrationRepository.findByEventId", () -> registrationRepository.findByEventId(1L));
+        queries.put("EventRegistrationRepository.findByUserId", () -> registrationRepository.findByUserId(1L));
+        queries.put("EventRegistrationRepository.findByEventIdAndStatus", () -> registrationRepository.findByEventIdAndStatus(1L, RegistrationStatus.CONFIRMED));
+        queries.put("EventRegistrationRepository.findByEventIdAndUserId", () -> registrationRepository.findByEventIdAndUserId(1L, 1L));
+        queries.put("EventRegistrationRepository.existsByEventIdAndUserId", () -> registrationRepository.existsByEventIdAndUserId(1L, 1L));
+        queries.put("EventRegistrationRepository.streamExportRowsByEventId", () -> {
+            try (Stream<?> rows = registrationRepository.streamExportRowsByEventId(1L)) {
+                rows.count();
+            }
+        });
+        queries.put("EventRegistrationRepository.findRegisteredUserIds", () -> registrationRepository.findRegisteredUserIds(1L, List.of(1L, 2L)));
+        queries.put("EventRegistrationRepository.countByEventIdAndStatus", () -> registrationRepository.countByEventIdAndStatus(1L, RegistrationStatus.WAITLISTED));
+        queries.put("EventRegistrationRepository.findWaitlistedIds", () -> registrationRepository.findWaitlistedIds(1L, page));
+        queries.put("EventRegistrationRepository.promoteFromWaitlist", () -> registrationRepository.promoteFromWaitlist(1L, now, now));
+        queries.put("EventRegistrationRepository.findAllForStatusChange", () -> registrationRepository.findAllForStatusChange(List.of(1L, 2L)));
+        queries.put("EventRegistrationRepository.updateStatus", () -> registrationRepository.updateStatus(1L,
+                RegistrationStatus.PENDING, RegistrationStatus.CONFIRMED, now));
+        queries.put("EventRegistrationRepository.deleteIfStatus", () -> registrationRepository.deleteIfStatus(1L, RegistrationStatus.CANCELLED));
+        queries.put("EventRegistrationRepository.findActiveHolds", () -> registrationRepository.findActiveHolds());
+        queries.put("EventRegistrationRepository.findExpiredHoldIds", () -> registrationRepository.findExpiredHoldIds(now, page));
+        queries.put("EventRegistrationRepository.countConfirmedRegistrationsByEventId", () -> registrationRepository.countConfirmedRegistrationsByEventId(1L));
+        queries.put("EventRegistrationRepository.findConfirmedRegistrationsByEventId", () -> registrationRepository.findConfirmedRegistrationsByEventId(1L));
+        queries.put("EventRegistrationRepository.findConfirmedRegistrationsByUserId", () -> registrationRepository.findConfirmedRegistrationsByUserId(1L));
+
+        queries.put("UserRepository.findByUsername", () -> userRepository.findByUsername("admin"));
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("admin@example.com"));
+        queries.put("UserRepository.existsByUsername", () -> userRepository.existsByUsername("admin"));
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("admin@example.com"));
+        queries.put("UserRepository.findUserDtosByRole", () -> userRepository.findUserDtosByRole(User.UserRole.ORGANIZER, page));
+        queries.put("UserRepository.findUserDtoById", () -> userRepository.findUserDtoById(1L));
+        queries.put("UserRepository.findUserDtosAfter", () -> userRepository.findUserDtosAfter(1L, page));
+        queries.put("UserRepository.findVersionById", () -> userRepository.findVersionById(1L));
+
+        queries.put("CategoryRepository.findByName", () -> categoryRepository.findByName("Music"));
+        queries.put("CategoryRepository.existsByName", () -> categoryRepository.existsByName("Music"));
+        queries.put("CategoryRepository.findByNameNormalizedStartingWithOrderByNameNormalizedAsc",
+                () -> categoryRepository.findByNameNormalizedStartingWithOrderByNameNormalizedAsc("mus", page));
+        queries.put("CategoryRepository.findVersionById", () -> categoryRepository.findVersionById(1L));
+
+        RegistrationRequest.Status queued = RegistrationRequest.Status.QUEUED;
+        queries.put("RegistrationRequestRepository.findEventIdsByStatus", () -> requestRepository.findEventIdsByStatus(queued, page));
+        queries.put("RegistrationRequestRepository.claimByStatusAndEventId", () -> requestRepository.claimByStatusAndEventId(queued, 1L, page));
+        queries.put("RegistrationRequestRepository.claimByStatusAndId", () -> requestRepository.claimByStatusAndId(queued, 1L));
+        queries.put("RegistrationRequestRepository.findFirstByStatusOrderByIdAsc", () -> requestRepository.findFirstByStatusOrderByIdAsc(queued));
+        queries.put("RegistrationRequestRepository.countByStatus", () -> requestRepository.countByStatus(queued));
+
+        queries.put("IdempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter", () -> idempotencyRepository.findByIdempotencyKeyAndExpiresAtAfter("key", now));
+        queries.put("IdempotencyRecordRepository.deleteExpired", () -> idempotencyRepository.deleteExpired(now));
+
+        queries.put("CategoryStatsRepository.applyDelta", () -> statsRepository.applyDelta(1L, 1, 1, 1, 1, now));
+        queries.put("CategoryStatsRepository.addConfirmedSeats", () -> statsRepository.addConfirmedSeats(1L, 1, now));
+        queries.put("CategoryStatsRepository.deleteByCategoryId", () -> statsRepository.deleteByCategoryId(1L));
+
+        queries.put("EventStatsRepository.upsert", () -> eventStatsRepository.upsert(insertEvent(), 1, 0, 0, 0, 10.0, now));
+        queries.put("EventStatsRepository.findEventAnalytics", () -> eventStatsRepository.findEventAnalytics(1L, page));
+        queries.put("EventDailyStatsRepository.upsert", () -> dailyStatsRepository.upsert(insertEvent(), now.toLocalDate(), 1, 0, 0, 10.0));
+        queries.put("EventDailyStatsRepository.findDailyTotals", () -> dailyStatsRepository.findDailyTotals(1L, now.toLocalDate().minusDays(30), now.toLocalDate()));
+        return queries;
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseAnIndex() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return indexedQueries().entrySet().stream().map(query -> DynamicTest.dynamicTest(query.getKey(), () -> {
+            CapturingStatementInspector.STATEMENTS.clear();
+            transaction.executeWithoutResult(status -> {
+                query.getValue().run();
+                status.setRollbackOnly();
+            });
+            List<String> statements = new ArrayList<>(CapturingStatementInspector.STATEMENTS);
+            assertFalse(statements.isEmpty(), "No SQL captured for " + query.getKey());
+            for (String sql : statements) {
+                String plan = explain(sql);
+                if (plan.contains(".tableScan")) {
+                    fail(query.getKey() + " scans a whole table:\n" + plan);
+                }
+            }
+        }));
+    }
+
+    @Test
+    void everyRepositoryQueryIsCheckedOrExcluded() {
+        Set<String> checked = indexedQueries().keySet();
+        FULL_SCAN_BY_DESIGN.forEach((repository, excluded) -> {
+            Set<String> declared = Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isSynthetic())
+                    .map(Method::getName)
+                    .collect(Collectors.toCollection(HashSet::new));
+            Set<String> unchecked = declared.stream()
+                    .filter(name -> !excluded.contains(name))
+                    .filter(name -> !checked.contains(repository.getSimpleName() + "." + name))
+                    .collect(Collectors.toSet());
+            assertEquals(Set.of(), unchecked, "Repository queries without a plan check in " + repository.getSimpleName());
+        });
+    }
+
+    // Rollup rows reference an event; this one disappears with the rolled-back transaction
+    private Long insertEvent() {
+        jdbcTemplate.update("INSERT INTO events (title, description, start_date, end_date, location, max_capacity, " +
+                "ticket_price, status, category_id, organizer_id) SELECT 'Plan', 'Plan', ?, ?, 'Plan', 10, 0, 'DRAFT', " +
+                "(SELECT MIN(id) FROM categories), (SELECT MIN(id) FROM users)", LocalDateTime.now(), LocalDateTime.now());
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM events", Long.class);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1)).append('\n');
+                }
+                return text.toString();
+            }
+        });
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.EventManagement.search;
+
+import com.example.EventManagement.benchmark.BenchmarkDataset;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.UserRepository;
+import com.example.EventManagement.service.EventService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares p50/p99 latency of the full-text index against the LIKE scan it replaced.
+ * Run with {@code mvn test -Pbenchmark -Dbenchmark.events=1000000}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class EventSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSearchBenchmarkTest.class);
+
+    @Value("${benchmark.events:100000}")
+    private int eventCount;
+
+    @Value("${benchmark.iterations:200}")
+    private int iterations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventSearchIndexer searchIndexer;
+
+    @Test
+    void compareIndexAgainstLikeScan() {
+        seedEvents();
+        searchIndexer.rebuild();
+
+        Random random = new Random(7);
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            terms.add(BenchmarkDataset.WORDS[random.nextInt(BenchmarkDataset.WORDS.length)]);
+        }
+
+        long[] like = measure(terms, term -> eventRepository.searchEventDtos(term, PageRequest.of(0, 10)));
+        long[] index = measure(terms, term -> eventService.searchEvents(term, PageRequest.of(0, 10)));
+
+        log.info("search benchmark over {} events, {} queries", eventCount, iterations);
+        log.info("  LIKE scan   p50={} ms  p99={} ms", String.format("%8.2f", percentile(like, 50)), String.format("%8.2f", percentile(like, 99)));
+        log.info("  Lucene      p50={} ms  p99={} ms", String.format("%8.2f", percentile(index, 50)), String.format("%8.2f", percentile(index, 99)));
+    }
+
+    private long[] measure(List<String> terms, java.util.function.Consumer<String> search) {
+        // Warm up caches and JIT before recording
+        terms.stream().limit(Math.min(20, terms.size())).forEach(search);
+        long[] samples = new long[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            long start = System.nanoTime();
+            search.accept(terms.get(i));
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private double percentile(long[] sortedSamples, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedSamples.length) - 1;
+        return sortedSamples[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private void seedEvents() {
+        Long categoryId = categoryRepository.findAll().get(0).getId();
+        Long organizerId = userRepository.findAll().get(0).getId();
+        BenchmarkDataset.seedEvents(jdbcTemplate, eventCount, 100, categoryId, organizerId);
+    }
+}
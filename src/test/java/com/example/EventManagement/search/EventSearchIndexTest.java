@@ -0,0 +1,59 @@
+package com.example.EventManagement.search;
+
+import com.example.EventManagement.dto.EventDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventSearchIndexTest {
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void createIndex() throws IOException {
+        index = new EventSearchIndex();
+        List<EventDto> events = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            EventDto event = new EventDto();
+            event.setId(id);
+            event.setTitle("Concert " + id);
+            event.setDescription("Evening concert");
+            event.setLocation("Hall");
+            events.add(event);
+        }
+        index.indexAll(events);
+    }
+
+    @AfterEach
+    void closeIndex() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void pagesThroughHits() {
+        EventSearchIndex.SearchHits first = index.search("concert", 0, 2);
+        EventSearchIndex.SearchHits last = index.search("concert", 4, 2);
+        assertEquals(2, first.getEventIds().size());
+        assertEquals(1, last.getEventIds().size());
+        assertEquals(5, last.getTotalHits());
+    }
+
+    @Test
+    void offsetsPastTheHitsReturnAnEmptyPage() {
+        EventSearchIndex.SearchHits hits = index.search("concert", 5, 10);
+        assertTrue(hits.getEventIds().isEmpty());
+        assertEquals(5, hits.getTotalHits());
+
+        // Offsets beyond int range neither overflow nor size the collector from the request
+        EventSearchIndex.SearchHits far = index.search("concert", (long) Integer.MAX_VALUE * 100, Integer.MAX_VALUE);
+        assertTrue(far.getEventIds().isEmpty());
+        assertEquals(5, far.getTotalHits());
+    }
+}
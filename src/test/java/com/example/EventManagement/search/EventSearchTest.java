@@ -0,0 +1,118 @@
+package com.example.EventManagement.search;
+
+import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.UserRepository;
+import com.example.EventManagement.service.EventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Search behaviour end to end: events go in through {@link EventService} and are found through it.
+ * Every test searches for a word made up for that test, so events left by other tests never match.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventSearchTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Long organizerId;
+    private String word;
+
+    @BeforeEach
+    void setUp() {
+        organizerId = userRepository.findAll().stream()
+                .filter(user -> user.getRole() == User.UserRole.ORGANIZER)
+                .findFirst().orElseGet(() -> userRepository.findAll().get(0))
+                .getId();
+        word = "zq" + Long.toString(System.nanoTime(), 36);
+    }
+
+    @Test
+    void titleAndTagMatchesOutrankDescriptionMatches() {
+        EventDto inDescription = publish("Evening social", "Bring friends to the " + word + " night", null);
+        EventDto inTitle = publish("The " + word, "Evening social", null);
+        EventDto inTags = publish("Evening social", "Bring friends", word);
+
+        assertEquals(List.of(inTitle.getId(), inTags.getId(), inDescription.getId()), search(word));
+    }
+
+    @Test
+    void prefixesMatchAndExactTermsRankFirst() {
+        EventDto exact = publish(word + "phone workshop", "Hands on session", null);
+        EventDto longer = publish(word + "phones workshop", "Hands on session", null);
+        publish(word + "graph workshop", "Hands on session", null);
+
+        assertEquals(List.of(exact.getId(), longer.getId()), search(word + "phone"));
+        assertEquals(3, search(word).size());
+        // Every term has to match
+        assertEquals(List.of(longer.getId()), search(word + "phones hands workshop " + word + "pho"));
+        assertEquals(List.of(), search(word + "phone concert"));
+    }
+
+    @Test
+    void indexFollowsPublishUpdateCancelAndDelete() {
+        EventDto draft = eventService.createEvent(request(word + " launch", "Not listed yet", null), organizerId);
+        assertEquals(List.of(), search(word));
+
+        eventService.publishEvent(draft.getId(), organizerId);
+        assertEquals(List.of(draft.getId()), search(word));
+
+        String renamed = word + "renamed";
+        eventService.updateEvent(draft.getId(), request(renamed + " launch", "Listed for everyone", null), organizerId);
+        assertEquals(List.of(draft.getId()), search(renamed));
+        assertEquals(List.of(), search(word + "launch"));
+
+        eventService.cancelEvent(draft.getId(), organizerId);
+        assertEquals(List.of(), search(renamed));
+
+        EventDto deleted = publish(word + " farewell", "Gone again soon", null);
+        assertEquals(List.of(deleted.getId()), search(word));
+        eventService.deleteEvent(deleted.getId(), organizerId);
+        assertEquals(List.of(), search(word));
+    }
+
+    private List<Long> search(String text) {
+        return eventService.searchEvents(text, PageRequest.of(0, 10)).getContent().stream()
+                .map(EventDto::getId)
+                .toList();
+    }
+
+    private EventDto publish(String title, String description, String tags) {
+        EventDto event = eventService.createEvent(request(title, description, tags), organizerId);
+        return eventService.publishEvent(event.getId(), organizerId);
+    }
+
+    private CreateEventRequest request(String title, String description, String tags) {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle(title);
+        request.setDescription(description);
+        request.setTags(tags);
+        request.setStartDate(LocalDateTime.now().plusDays(30));
+        request.setEndDate(LocalDateTime.now().plusDays(31));
+        request.setLocation("Main hall");
+        request.setMaxCapacity(50);
+        request.setTicketPrice(15.0);
+        request.setCategoryId(categoryRepository.findAll().get(0).getId());
+        return request;
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.dto.BatchItemResult;
+import com.example.EventManagement.dto.BatchResult;
+import com.example.EventManagement.dto.CategoryDto;
+import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CategoryStatsTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private CategoryStatsReconciler reconciler;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void countersFollowEventAndSeatTransitions() {
+        User organizer = userRepository.findAll().get(0);
+        CategoryDto music = createCategory("Stats music");
+        CategoryDto talks = createCategory("Stats talks");
+        assertCounters(music, 0, 0, 0, 0);
+
+        EventDto gig = eventService.createEvent(request(music.getId()), organizer.getId());
+        EventDto other = eventService.createEvent(request(music.getId()), organizer.getId());
+        assertCounters(music, 2, 0, 0, 0);
+
+        eventService.publishEvent(gig.getId(), organizer.getId());
+        assertCounters(music, 2, 1, 1, 0);
+
+        EventRegistration registration = registrationService.registerForEvent(gig.getId(), organizer.getId());
+        assertCounters(music, 2, 1, 1, 0);
+        registrationService.confirmRegistration(registration.getId());
+        assertCounters(music, 2, 1, 1, 1);
+
+        // Moving the event carries its seats and flags to the new category
+        eventService.updateEvent(gig.getId(), request(talks.getId()), organizer.getId());
+        assertCounters(music, 1, 0, 0, 0);
+        assertCounters(talks, 1, 1, 1, 1);
+
+        registrationService.cancelRegistration(registration.getId());
+        assertCounters(talks, 1, 1, 1, 0);
+
+        eventService.cancelEvent(gig.getId(), organizer.getId());
+        assertCounters(talks, 1, 0, 0, 0);
+
+        eventService.deleteEvent(other.getId(), organizer.getId());
+        assertCounters(music, 0, 0, 0, 0);
+        // The recompute agrees with what the transitions maintained
+        reconciler.recompute();
+        assertCounters(music, 0, 0, 0, 0);
+        assertCounters(talks, 1, 0, 0, 0);
+
+        categoryService.deleteCategory(music.getId());
+        assertThrows(RuntimeException.class, () -> categoryService.deleteCategory(talks.getId()));
+    }
+
+    @Test
+    void recomputeRepairsDriftAndRetiresStartedEvents() {
+        User organizer = userRepository.findAll().get(0);
+        CategoryDto category = createCategory("Stats drift");
+        EventDto listed = eventService.createEvent(request(category.getId()), organizer.getId());
+        eventService.publishEvent(listed.getId(), organizer.getId());
+
+        // Written around the service: not counted until the recompute
+        Event direct = new Event();
+        direct.setTitle("Written directly");
+        direct.setDescription("Bypasses EventService");
+        direct.setStartDate(LocalDateTime.now().plusDays(5));
+        direct.setEndDate(LocalDateTime.now().plusDays(6));
+        direct.setLocation("Back room");
+        direct.setMaxCapacity(10);
+        direct.setTicketPrice(0.0);
+        direct.setConfirmedCount(3);
+        direct.setStatus(Event.EventStatus.PUBLISHED);
+        direct.setCategory(categoryRepository.findById(category.getId()).orElseThrow());
+        direct.setOrganizer(organizer);
+        eventRepository.save(direct);
+        assertCounters(category, 1, 1, 1, 0);
+
+        reconciler.recompute();
+        assertCounters(category, 2, 2, 2, 3);
+
+        // Starting is not a transition; only the recompute notices it
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE events SET start_date = ? WHERE id = ?", LocalDateTime.now().minusHours(1), listed.getId()));
+        reconciler.recompute();
+        assertCounters(category, 2, 2, 1, 3);
+    }
+
+    @Test
+    void batchesOverTheSameEventsInOppositeOrderBothComplete() throws Exception {
+        List<User> users = new ArrayList<>();
+        String prefix = "stats-batch-" + System.nanoTime() + "-";
+        for (int i = 0; i < 10; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + "@example.com");
+            user.setPassword("password");
+            user.setFirstName("Batch");
+            user.setLastName("Attendee");
+            users.add(user);
+        }
+        List<Long> userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+        User organizer = userRepository.findAll().get(0);
+        CategoryDto category = createCategory("Stats batches");
+        List<List<Long>> registrations = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            EventDto event = eventService.createEvent(request(category.getId()), organizer.getId());
+            eventService.publishEvent(event.getId(), organizer.getId());
+            registrations.add(registrationService.registerForEventBatch(event.getId(), userIds).getItems().stream()
+                    .map(BatchItemResult::getRegistrationId).toList());
+        }
+        List<Long> first = registrations.get(0);
+        List<Long> second = registrations.get(1);
+
+        // Each round confirms one registration of each event, listed in opposite orders
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < userIds.size(); i += 2) {
+                int round = i;
+                Future<BatchResult> forward = executor.submit(() ->
+                        registrationService.confirmRegistrations(List.of(first.get(round), second.get(round))));
+                Future<BatchResult> backward = executor.submit(() ->
+                        registrationService.confirmRegistrations(List.of(second.get(round + 1), first.get(round + 1))));
+                assertEquals(0, forward.get().getFailed());
+                assertEquals(0, backward.get().getFailed());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertCounters(category, 2, 2, 2, 2L * userIds.size());
+    }
+
+    @Test
+    void listingCarriesCountersForEveryCategory() {
+        List<CategoryDto> categories = categoryService.getAllCategories();
+        assertEquals(categoryRepository.count(), categories.size());
+        categories.forEach(category -> assertFalse(category.getEventCount() == null, category.getName()));
+    }
+
+    private void assertCounters(CategoryDto category, int total, int published, int upcoming, long seats) {
+        CategoryDto current = categoryService.getCategoryById(category.getId());
+        assertEquals(List.of(total, published, upcoming), List.of(current.getEventCount(),
+                current.getPublishedEventCount(), current.getUpcomingEventCount()), category.getName());
+        assertEquals(seats, current.getConfirmedSeats(), category.getName());
+    }
+
+    private CategoryDto createCategory(String name) {
+        CategoryDto category = new CategoryDto();
+        category.setName(name + " " + Long.toString(System.nanoTime(), 36));
+        return categoryService.createCategory(category);
+    }
+
+    private CreateEventRequest request(Long categoryId) {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle("Stats event");
+        request.setDescription("Counted per category");
+        request.setStartDate(LocalDateTime.now().plusDays(3));
+        request.setEndDate(LocalDateTime.now().plusDays(4));
+        request.setLocation("Hall B");
+        request.setMaxCapacity(10);
+        request.setTicketPrice(5.0);
+        request.setCategoryId(categoryId);
+        return request;
+    }
+}
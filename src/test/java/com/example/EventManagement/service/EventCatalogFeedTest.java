@@ -0,0 +1,127 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventCatalogFeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamsTheWholeCatalogAndRevalidatesWithTheETag() throws Exception {
+        Event event = createPublishedEvent();
+        Event removed = createPublishedEvent();
+
+        MvcResult full = fetch(null);
+        String etag = full.getResponse().getHeader("ETag");
+        JsonNode catalog = objectMapper.readTree(full.getResponse().getContentAsString());
+        assertEquals(eventRepository.count(), catalog.size());
+        assertTrue(catalog.findValues("id").stream().anyMatch(id -> id.asLong() == event.getId()));
+
+        mockMvc.perform(get("/api/events/all").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        // A confirmed seat changes currentRegistrations in the feed, so it must change the ETag
+        User attendee = userRepository.findAll().get(0);
+        EventRegistration registration = registrationService.registerForEvent(event.getId(), attendee.getId());
+        assertEquals(etag, fetch(etag).getResponse().getHeader("ETag"));
+        registrationService.confirmRegistration(registration.getId());
+        MvcResult afterConfirm = fetch(etag);
+        String confirmedEtag = afterConfirm.getResponse().getHeader("ETag");
+        assertNotEquals(etag, confirmedEtag);
+        JsonNode entry = findEntry(objectMapper.readTree(afterConfirm.getResponse().getContentAsString()), event.getId());
+        assertEquals(1, entry.get("currentRegistrations").asInt());
+
+        eventRepository.deleteById(removed.getId());
+        assertNotEquals(confirmedEtag, fetch(confirmedEtag).getResponse().getHeader("ETag"));
+    }
+
+    // Full 200 response when the ETag no longer matches, otherwise the 304
+    private MvcResult fetch(String ifNoneMatch) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/api/events/all");
+        if (ifNoneMatch != null) {
+            builder.header("If-None-Match", ifNoneMatch);
+        }
+        MvcResult result = mockMvc.perform(builder).andReturn();
+        if (result.getResponse().getStatus() == 304) {
+            return result;
+        }
+        assertTrue(result.getRequest().isAsyncStarted());
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn();
+    }
+
+    private JsonNode findEntry(JsonNode catalog, Long eventId) {
+        for (JsonNode entry : catalog) {
+            if (entry.get("id").asLong() == eventId) {
+                return entry;
+            }
+        }
+        throw new AssertionError("event " + eventId + " missing from the catalog");
+    }
+
+    private Event createPublishedEvent() {
+        Category category = categoryRepository.findAll().get(0);
+        Event event = new Event();
+        event.setTitle("Catalog entry");
+        event.setDescription("Listed in the full catalog feed");
+        event.setStartDate(LocalDateTime.now().plusDays(10));
+        event.setEndDate(LocalDateTime.now().plusDays(11));
+        event.setLocation("Main hall");
+        event.setMaxCapacity(50);
+        event.setTicketPrice(15.0);
+        event.setCategory(category);
+        event.setOrganizer(userRepository.findAll().get(0));
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        return eventRepository.save(event);
+    }
+}
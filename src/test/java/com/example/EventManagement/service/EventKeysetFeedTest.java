@@ -0,0 +1,227 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.dto.CategoryDto;
+import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.dto.CursorPage;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks the cursor-paginated feeds to their last slice, through the service and the controller.
+ * Five of the seeded events share a start date, so the slices have to break ties by id.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventKeysetFeedTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long organizerId;
+    private Long categoryId;
+    private String word;
+    // All seeded events in (startDate, id) order, and the published ones among them
+    private List<Long> seeded;
+    private List<Long> published;
+    private Long draftId;
+
+    @BeforeEach
+    void seedEvents() {
+        User organizer = new User();
+        organizer.setUsername("feed-organizer-" + System.nanoTime());
+        organizer.setEmail(organizer.getUsername() + "@example.com");
+        organizer.setPassword("password");
+        organizer.setFirstName("Feed");
+        organizer.setLastName("Organizer");
+        organizer.setRole(User.UserRole.ORGANIZER);
+        organizerId = userRepository.save(organizer).getId();
+
+        CategoryDto category = new CategoryDto();
+        category.setName("Feed " + System.nanoTime());
+        category.setDescription("Keyset pagination");
+        categoryId = categoryService.createCategory(category).getId();
+
+        word = "feed" + Long.toString(System.nanoTime(), 36);
+        LocalDateTime tied = LocalDateTime.now().plusDays(40).truncatedTo(ChronoUnit.SECONDS);
+        List<EventDto> events = new ArrayList<>();
+        // Created later but starting earlier, so id order alone would be wrong
+        for (int i = 0; i < 5; i++) {
+            events.add(eventService.publishEvent(create(tied).getId(), organizerId));
+        }
+        events.add(eventService.publishEvent(create(tied.minusDays(1)).getId(), organizerId));
+        EventDto draft = create(tied.minusDays(2));
+        draftId = draft.getId();
+        events.add(draft);
+
+        events.sort(Comparator.comparing(EventDto::getStartDate).thenComparing(EventDto::getId));
+        seeded = events.stream().map(EventDto::getId).toList();
+        published = seeded.stream().filter(id -> !id.equals(draftId)).toList();
+    }
+
+    @Test
+    void organizerFeedBreaksStartDateTiesById() {
+        List<CursorPage<EventDto>> pages = walk(cursor -> eventService.getEventsByOrganizerAfter(organizerId, cursor, PAGE_SIZE));
+
+        assertEquals(List.of(3, 3, 1), pages.stream().map(CursorPage::getSize).toList());
+        assertEquals(seeded, ids(pages));
+        assertTrue(pages.get(0).isHasNext());
+        assertFalse(pages.get(2).isHasNext());
+        assertNull(pages.get(2).getNextCursor());
+    }
+
+    @Test
+    void lastSliceEndingOnThePageSizeHasNoNext() {
+        CursorPage<EventDto> page = eventService.getEventsByCategoryAfter(categoryId, null, seeded.size());
+        assertEquals(seeded, page.getContent().stream().map(EventDto::getId).toList());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+
+        List<CursorPage<EventDto>> pages = walk(cursor -> eventService.getEventsByCategoryAfter(categoryId, cursor, 1));
+        assertEquals(seeded.size(), pages.size());
+        assertEquals(seeded, ids(pages));
+    }
+
+    @Test
+    void publishedFeedSkipsDraftsAndStaysOrdered() {
+        List<CursorPage<EventDto>> pages = walk(cursor -> eventService.getPublishedEventsAfter(cursor, 100));
+        List<EventDto> events = pages.stream().flatMap(page -> page.getContent().stream()).toList();
+
+        List<Long> ids = events.stream().map(EventDto::getId).toList();
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertEquals(published, ids.stream().filter(seeded::contains).toList());
+        for (int i = 1; i < events.size(); i++) {
+            EventDto previous = events.get(i - 1);
+            EventDto current = events.get(i);
+            int byDate = previous.getStartDate().compareTo(current.getStartDate());
+            assertTrue(byDate < 0 || byDate == 0 && previous.getId() < current.getId());
+        }
+    }
+
+    @Test
+    void searchFeedReturnsEveryPublishedHitOnce() {
+        List<CursorPage<EventDto>> pages = walk(cursor -> eventService.searchEventsAfter(word, cursor, 2));
+
+        assertEquals(List.of(2, 2, 2), pages.stream().map(CursorPage::getSize).toList());
+        List<Long> ids = ids(pages);
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertEquals(Set.copyOf(published), Set.copyOf(ids));
+    }
+
+    @Test
+    void controllerFeedsFollowTheirCursors() throws Exception {
+        assertEquals(seeded, walkEndpoint("/api/events/organizer/" + organizerId + "/feed", null));
+        assertEquals(seeded, walkEndpoint("/api/events/category/" + categoryId + "/feed", null));
+        assertEquals(Set.copyOf(published), Set.copyOf(walkEndpoint("/api/events/search/feed", word)));
+        assertEquals(published, walkEndpoint("/api/events/feed", null).stream().filter(seeded::contains).toList());
+    }
+
+    @Test
+    void rejectsMalformedCursors() throws Exception {
+        String cursor = "not-a-cursor";
+        assertThrows(RuntimeException.class, () -> eventService.getPublishedEventsAfter(cursor, PAGE_SIZE));
+        assertThrows(RuntimeException.class, () -> eventService.getEventsByCategoryAfter(categoryId, cursor, PAGE_SIZE));
+        assertThrows(RuntimeException.class, () -> eventService.getEventsByOrganizerAfter(organizerId, cursor, PAGE_SIZE));
+        RuntimeException search = assertThrows(RuntimeException.class,
+                () -> eventService.searchEventsAfter(word, cursor, PAGE_SIZE));
+        assertEquals("Invalid cursor: " + cursor, search.getMessage());
+
+        mockMvc.perform(get("/api/events/feed").param("cursor", cursor))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor: " + cursor));
+        mockMvc.perform(get("/api/events/organizer/{organizerId}/feed", organizerId).param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private EventDto create(LocalDateTime startDate) {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle("Feed event " + word);
+        request.setDescription("Paged through with a cursor");
+        request.setStartDate(startDate);
+        request.setEndDate(startDate.plusHours(3));
+        request.setLocation("Hall C");
+        request.setMaxCapacity(20);
+        request.setTicketPrice(10.0);
+        request.setCategoryId(categoryId);
+        return eventService.createEvent(request, organizerId);
+    }
+
+    private List<CursorPage<EventDto>> walk(Function<String, CursorPage<EventDto>> feed) {
+        List<CursorPage<EventDto>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<EventDto> page = feed.apply(cursor);
+            pages.add(page);
+            cursor = page.getNextCursor();
+            assertEquals(page.isHasNext(), cursor != null);
+        } while (cursor != null);
+        return pages;
+    }
+
+    private List<Long> ids(List<CursorPage<EventDto>> pages) {
+        return pages.stream().flatMap(page -> page.getContent().stream()).map(EventDto::getId).toList();
+    }
+
+    private List<Long> walkEndpoint(String path, String searchTerm) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get(path).param("size", String.valueOf(PAGE_SIZE));
+            if (searchTerm != null) {
+                request.param("searchTerm", searchTerm);
+            }
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            page.get("content").forEach(event -> ids.add(event.get("id").asLong()));
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        return ids;
+    }
+}
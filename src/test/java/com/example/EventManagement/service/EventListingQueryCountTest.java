@@ -0,0 +1,141 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Guards against N+1 regressions: the number of statements a listing issues must not
+ * depend on how many events end up on the page.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventListingQueryCountTest {
+
+    private static final int EVENTS = 40;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+    private String searchTerm;
+    private Long categoryId;
+    private Long organizerId;
+
+    @BeforeEach
+    void seedEvents() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        // Measure the queries themselves, not cache hits
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        List<User> organizers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User organizer = new User();
+            organizer.setUsername("listing-organizer-" + System.nanoTime() + "-" + i);
+            organizer.setEmail(organizer.getUsername() + "@example.com");
+            organizer.setPassword("password");
+            organizer.setFirstName("Listing");
+            organizer.setLastName("Organizer" + i);
+            organizer.setRole(User.UserRole.ORGANIZER);
+            organizers.add(userRepository.save(organizer));
+        }
+        List<Category> categories = categoryRepository.findAll();
+
+        // Through the service, so the events are indexed for search as well
+        searchTerm = "listing" + Long.toString(System.nanoTime(), 36);
+        for (int i = 0; i < EVENTS; i++) {
+            CreateEventRequest request = new CreateEventRequest();
+            request.setTitle("Listing event " + i + " " + searchTerm);
+            request.setDescription("Searchable listing description " + i);
+            request.setStartDate(LocalDateTime.now().plusDays(1 + i));
+            request.setEndDate(LocalDateTime.now().plusDays(2 + i));
+            request.setLocation("Hall " + i);
+            request.setMaxCapacity(100);
+            request.setTicketPrice(10.0);
+            request.setCategoryId(categories.get(0).getId());
+            Long eventOrganizerId = organizers.get(i % organizers.size()).getId();
+            EventDto event = eventService.createEvent(request, eventOrganizerId);
+            eventService.publishEvent(event.getId(), eventOrganizerId);
+        }
+        categoryId = categories.get(0).getId();
+        organizerId = organizers.get(0).getId();
+    }
+
+    @Test
+    void publishedListingIsConstant() {
+        assertConstantStatements(size -> eventService.getAllEvents(PageRequest.of(0, size)));
+    }
+
+    @Test
+    void allEventsListingIsConstant() {
+        assertConstantStatements(size -> eventService.getAllEventsRegardlessOfStatus(PageRequest.of(0, size)));
+    }
+
+    @Test
+    void searchIsConstant() {
+        assertEquals(EVENTS, eventService.searchEvents(searchTerm, PageRequest.of(0, 2)).getTotalElements());
+        assertConstantStatements(size -> assertEquals(size,
+                eventService.searchEvents(searchTerm, PageRequest.of(0, size)).getNumberOfElements()));
+    }
+
+    @Test
+    void categoryListingIsConstant() {
+        assertConstantStatements(size -> eventService.getEventsByCategory(categoryId, PageRequest.of(0, size)));
+    }
+
+    @Test
+    void organizerListingIsConstant() {
+        assertConstantStatements(size -> eventService.getEventsByOrganizer(organizerId, PageRequest.of(0, size)));
+    }
+
+    @Test
+    void upcomingListingIsServedFromMemory() {
+        assertEquals(0, countStatements(() -> eventService.getUpcomingEvents()));
+        assertEquals(0, countStatements(() -> eventService.getUpcomingEventsAfter(null, 5)));
+    }
+
+    private void assertConstantStatements(IntConsumer listing) {
+        long small = countStatements(() -> listing.accept(2));
+        long large = countStatements(() -> listing.accept(12));
+        assertEquals(small, large, "statement count grew with page size");
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.dto.BatchItemResult;
+import com.example.EventManagement.dto.BatchResult;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventRegistrationBatchTest {
+
+    private static final int CAPACITY = 20;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void batchRegistrationReportsEachUserAndWaitlistsPastCapacity() {
+        List<User> users = createUsers(25);
+        Event event = createPublishedEvent(users.get(0));
+        registrationService.registerForEvent(event.getId(), users.get(0).getId());
+
+        List<Long> userIds = new ArrayList<>(users.stream().map(User::getId).toList());
+        userIds.add(users.get(1).getId());
+        userIds.add(-1L);
+
+        BatchResult result = registrationService.registerForEventBatch(event.getId(), userIds);
+
+        assertEquals(27, result.getItems().size());
+        assertEquals(24, result.getSucceeded());
+        Map<String, Long> errors = result.getItems().stream()
+                .filter(item -> !item.isSuccess())
+                .collect(Collectors.groupingBy(BatchItemResult::getError, Collectors.counting()));
+        assertEquals(Map.of(
+                "User is already registered for this event", 1L,
+                "User appears more than once in the batch", 1L,
+                "User not found", 1L), errors);
+        // Seats go in request order; the last five users do not fit and are waitlisted
+        List<BatchItemResult> registered = result.getItems().stream().filter(BatchItemResult::isSuccess).toList();
+        registered.subList(0, 19).forEach(item -> assertEquals(RegistrationStatus.PENDING, item.getStatus()));
+        registered.subList(19, 24).forEach(item -> assertEquals(RegistrationStatus.WAITLISTED, item.getStatus()));
+        Set<Long> registrationIds = registered.stream()
+                .map(BatchItemResult::getRegistrationId)
+                .collect(Collectors.toSet());
+        assertEquals(24, registrationIds.size());
+        Set<Long> stored = registrationService.getRegistrationsByEvent(event.getId()).stream()
+                .map(EventRegistration::getId)
+                .collect(Collectors.toSet());
+        assertTrue(stored.containsAll(registrationIds));
+        assertEquals(CAPACITY + 5, stored.size());
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(CAPACITY, reloaded.getReservedCount());
+        assertEquals(0, reloaded.getConfirmedCount());
+    }
+
+    @Test
+    void batchConfirmAndCancelMoveSeatsOncePerEvent() {
+        List<User> users = createUsers(CAPACITY);
+        Event event = createPublishedEvent(users.get(0));
+        BatchResult registered = registrationService.registerForEventBatch(event.getId(),
+                users.stream().map(User::getId).toList());
+        List<Long> registrationIds = registered.getItems().stream().map(BatchItemResult::getRegistrationId).toList();
+
+        List<Long> toConfirm = new ArrayList<>(registrationIds);
+        toConfirm.add(-1L);
+        BatchResult confirmed = registrationService.confirmRegistrations(toConfirm);
+        assertEquals(CAPACITY, confirmed.getSucceeded());
+        assertEquals("Registration not found", confirmed.getItems().get(CAPACITY).getError());
+        confirmed.getItems().subList(0, CAPACITY).forEach(item -> assertEquals(RegistrationStatus.CONFIRMED, item.getStatus()));
+        assertSeats(event, CAPACITY, 0);
+
+        BatchResult cancelled = registrationService.cancelRegistrations(registrationIds.subList(0, 5));
+        assertEquals(5, cancelled.getSucceeded());
+        assertSeats(event, CAPACITY - 5, 0);
+
+        // Cancelled registrations need fresh seats again; the five released ones are available
+        BatchResult reconfirmed = registrationService.confirmRegistrations(registrationIds.subList(0, 5));
+        assertEquals(5, reconfirmed.getSucceeded());
+        assertSeats(event, CAPACITY, 0);
+
+        Map<Long, EventRegistration> byId = registrationService.getRegistrationsByEvent(event.getId()).stream()
+                .collect(Collectors.toMap(EventRegistration::getId, Function.identity()));
+        registrationIds.forEach(id -> assertEquals(RegistrationStatus.CONFIRMED, byId.get(id).getStatus()));
+    }
+
+    @Test
+    void batchConfirmReportsRegistrationsThatFindTheEventFull() {
+        List<User> users = createUsers(CAPACITY + 1);
+        Event event = createPublishedEvent(users.get(0));
+        List<Long> registrationIds = registrationService.registerForEventBatch(event.getId(),
+                        users.subList(0, CAPACITY).stream().map(User::getId).toList())
+                .getItems().stream().map(BatchItemResult::getRegistrationId).toList();
+        registrationService.cancelRegistrations(registrationIds.subList(0, 1));
+        registrationService.registerForEvent(event.getId(), users.get(CAPACITY).getId());
+
+        BatchResult confirmed = registrationService.confirmRegistrations(registrationIds);
+
+        assertEquals(CAPACITY - 1, confirmed.getSucceeded());
+        BatchItemResult cancelledOne = confirmed.getItems().get(0);
+        assertEquals("Event is full", cancelledOne.getError());
+        assertEquals(RegistrationStatus.CANCELLED, cancelledOne.getStatus());
+        assertNull(confirmed.getItems().get(1).getError());
+        assertSeats(event, CAPACITY - 1, 1);
+    }
+
+    private void assertSeats(Event event, int confirmed, int reserved) {
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(confirmed, reloaded.getConfirmedCount());
+        assertEquals(reserved, reloaded.getReservedCount());
+    }
+
+    private List<User> createUsers(int count) {
+        String prefix = "batch-" + System.nanoTime() + "-";
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + "@example.com");
+            user.setPassword("password");
+            user.setFirstName("Batch");
+            user.setLastName("Attendee");
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private Event createPublishedEvent(User organizer) {
+        Category category = categoryRepository.findAll().get(0);
+        Event event = new Event();
+        event.setTitle("Corporate offsite");
+        event.setDescription("Registered in bulk");
+        event.setStartDate(LocalDateTime.now().plusDays(7));
+        event.setEndDate(LocalDateTime.now().plusDays(8));
+        event.setLocation("Conference centre");
+        event.setMaxCapacity(CAPACITY);
+        event.setTicketPrice(50.0);
+        event.setCategory(category);
+        event.setOrganizer(organizer);
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        return eventRepository.save(event);
+    }
+}
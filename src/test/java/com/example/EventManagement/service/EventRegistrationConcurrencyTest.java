@@ -0,0 +1,206 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRegistrationRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventRegistrationConcurrencyTest {
+
+    private static final int CAPACITY = 100;
+    private static final int REQUESTS = 10_000;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void concurrentRegistrationsNeverOversell() throws Exception {
+        List<User> users = createUsers("stress", REQUESTS);
+        Event event = createPublishedEvent(users.get(0), CAPACITY);
+
+        // Everyone who does not get a seat is waitlisted instead of failing
+        Map<String, AtomicInteger> outcomes = runConcurrently(users, user ->
+                registrationService.registerForEvent(event.getId(), user.getId()).getStatus().name());
+
+        assertEquals(CAPACITY, outcomes.get("PENDING").get());
+        assertEquals(REQUESTS - CAPACITY, outcomes.get("WAITLISTED").get());
+        assertEquals(2, outcomes.size(), "unexpected failures: " + outcomes);
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(CAPACITY, reloaded.getReservedCount());
+        assertEquals(0, reloaded.getConfirmedCount());
+        assertEquals(CAPACITY, registrationRepository.findByEventIdAndStatus(event.getId(), EventRegistration.RegistrationStatus.PENDING).size());
+        assertEquals(REQUESTS, registrationRepository.findByEventId(event.getId()).size());
+    }
+
+    @Test
+    void concurrentDuplicateRegistrationsCreateOneRow() throws Exception {
+        List<User> users = createUsers("duplicate", 1);
+        Event event = createPublishedEvent(users.get(0), CAPACITY);
+        List<User> sameUser = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            sameUser.add(users.get(0));
+        }
+
+        Map<String, AtomicInteger> outcomes = runConcurrently(sameUser, user ->
+                registrationService.registerForEvent(event.getId(), user.getId()).getStatus().name());
+
+        assertEquals(1, outcomes.get("PENDING").get());
+        assertEquals(199, outcomes.get("User is already registered for this event").get());
+
+        List<EventRegistration> registrations = registrationRepository.findByEventId(event.getId());
+        assertEquals(1, registrations.size());
+        assertEquals(1, eventRepository.findById(event.getId()).orElseThrow().getReservedCount());
+    }
+
+    @Test
+    void concurrentCancellationsGiveUpTheSeatOnce() throws Exception {
+        List<User> users = createUsers("cancel", 2);
+        Event event = createPublishedEvent(users.get(0), CAPACITY);
+        List<Long> registrationIds = users.stream()
+                .map(user -> registrationService.registerForEvent(event.getId(), user.getId()).getId())
+                .toList();
+        registrationService.confirmRegistrations(registrationIds);
+        List<User> sameUser = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            sameUser.add(users.get(0));
+        }
+
+        // Losers either see the registration already cancelled or fail; none releases a seat
+        Map<String, AtomicInteger> outcomes = runConcurrently(sameUser, user ->
+                registrationService.cancelRegistration(registrationIds.get(0)).getStatus().name());
+        outcomes.keySet().forEach(outcome -> assertTrue(
+                outcome.equals("CANCELLED") || outcome.equals("Registration changed concurrently"), outcome));
+        assertEquals(1, eventRepository.findById(event.getId()).orElseThrow().getConfirmedCount());
+
+        outcomes = runConcurrently(sameUser, user -> {
+            registrationService.deleteRegistration(registrationIds.get(1));
+            return "DELETED";
+        });
+        assertEquals(1, outcomes.get("DELETED").get());
+        assertEquals(0, eventRepository.findById(event.getId()).orElseThrow().getConfirmedCount());
+    }
+
+    @Test
+    void capacityCannotDropBelowConcurrentRegistrations() throws Exception {
+        List<User> users = createUsers("shrink", 20);
+        Event event = createPublishedEvent(users.get(0), 20);
+        CreateEventRequest smaller = new CreateEventRequest();
+        smaller.setTitle(event.getTitle());
+        smaller.setDescription(event.getDescription());
+        smaller.setStartDate(event.getStartDate());
+        smaller.setEndDate(event.getEndDate());
+        smaller.setLocation(event.getLocation());
+        smaller.setMaxCapacity(10);
+        smaller.setTicketPrice(event.getTicketPrice());
+        smaller.setCategoryId(event.getCategory().getId());
+
+        List<User> callers = new ArrayList<>(users);
+        callers.add(null);
+        runConcurrently(callers, user -> {
+            if (user == null) {
+                eventService.updateEvent(event.getId(), smaller, users.get(0).getId());
+                return "UPDATED";
+            }
+            return registrationService.registerForEvent(event.getId(), user.getId()).getStatus().name();
+        });
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertTrue(reloaded.getReservedCount() <= reloaded.getMaxCapacity(),
+                reloaded.getReservedCount() + " seats held with capacity " + reloaded.getMaxCapacity());
+    }
+
+    // Tallies the value each call returns, or the message of the exception it threw
+    private Map<String, AtomicInteger> runConcurrently(List<User> users, java.util.function.Function<User, String> action)
+            throws InterruptedException {
+        Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        for (User user : users) {
+            executor.submit(() -> {
+                String outcome;
+                try {
+                    start.await();
+                    outcome = action.apply(user);
+                } catch (Exception e) {
+                    outcome = String.valueOf(e.getMessage());
+                }
+                outcomes.computeIfAbsent(outcome, k -> new AtomicInteger()).incrementAndGet();
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        return outcomes;
+    }
+
+    private List<User> createUsers(String prefix, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + "@example.com");
+            user.setPassword("password");
+            user.setFirstName("Load");
+            user.setLastName("Test");
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private Event createPublishedEvent(User organizer, int capacity) {
+        Category category = categoryRepository.findAll().get(0);
+        Event event = new Event();
+        event.setTitle("Ticket drop");
+        event.setDescription("A very popular event");
+        event.setStartDate(LocalDateTime.now().plusDays(7));
+        event.setEndDate(LocalDateTime.now().plusDays(8));
+        event.setLocation("Arena");
+        event.setMaxCapacity(capacity);
+        event.setTicketPrice(50.0);
+        event.setCategory(category);
+        event.setOrganizer(organizer);
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        return eventRepository.save(event);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.dto.CategoryDto;
+import com.example.EventManagement.dto.UserDto;
+import com.example.EventManagement.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IndexedLookupTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void usersByRoleArePagedInIdOrder() {
+        String prefix = "role-" + System.nanoTime();
+        List<Long> organizers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            organizers.add(register(prefix + "-org-" + i, User.UserRole.ORGANIZER).getId());
+            register(prefix + "-user-" + i, User.UserRole.USER);
+        }
+
+        long total = userService.getUsersByRole(User.UserRole.ORGANIZER, PageRequest.of(0, 1)).getTotalElements();
+        List<Long> seen = new ArrayList<>();
+        for (int page = 0; page * 3 < total; page++) {
+            Page<UserDto> users = userService.getUsersByRole(User.UserRole.ORGANIZER, PageRequest.of(page, 3));
+            users.forEach(user -> assertEquals(User.UserRole.ORGANIZER, user.getRole()));
+            users.forEach(user -> seen.add(user.getId()));
+        }
+        assertEquals(total, seen.size());
+        assertEquals(seen.stream().sorted().toList(), seen);
+        assertTrue(seen.containsAll(organizers));
+    }
+
+    @Test
+    void categoryPrefixSearchIgnoresCaseAndFollowsRenames() {
+        String stamp = Long.toString(System.nanoTime(), 36);
+        CategoryDto jazz = createCategory("Jz" + stamp + " Jazz");
+        createCategory("JZ" + stamp + " Blues");
+        createCategory("Other " + stamp);
+
+        Page<CategoryDto> found = categoryService.getCategoriesByNamePrefix("  jz" + stamp, PageRequest.of(0, 10));
+        assertEquals(List.of("JZ" + stamp + " Blues", "Jz" + stamp + " Jazz"),
+                found.getContent().stream().map(CategoryDto::getName).toList());
+
+        // Wildcards in the prefix are matched literally
+        assertEquals(0, categoryService.getCategoriesByNamePrefix("jz%", PageRequest.of(0, 10)).getTotalElements());
+
+        jazz.setName("Renamed " + stamp);
+        categoryService.updateCategory(jazz.getId(), jazz);
+        assertEquals(1, categoryService.getCategoriesByNamePrefix("jz" + stamp, PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(jazz.getId(), categoryService.getCategoriesByNamePrefix("RENAMED " + stamp, PageRequest.of(0, 10))
+                .getContent().get(0).getId());
+    }
+
+    private UserDto register(String username, User.UserRole role) {
+        UserDto user = new UserDto();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password123");
+        user.setFirstName("Indexed");
+        user.setLastName("Lookup");
+        user.setRole(role);
+        return userService.registerUser(user);
+    }
+
+    private CategoryDto createCategory(String name) {
+        CategoryDto category = new CategoryDto();
+        category.setName(name);
+        category.setDescription("Found by prefix");
+        return categoryService.createCategory(category);
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.analytics.EventStatsReconciler;
+import com.example.EventManagement.analytics.RegistrationRollups;
+import com.example.EventManagement.dto.BatchItemResult;
+import com.example.EventManagement.dto.DailyRegistrationsDto;
+import com.example.EventManagement.dto.EventAnalyticsDto;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrganizerAnalyticsTest {
+
+    private static final int CAPACITY = 10;
+    private static final double PRICE = 20.0;
+
+    @Autowired
+    private OrganizerAnalyticsService analyticsService;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private RegistrationRollups rollups;
+
+    @Autowired
+    private EventStatsReconciler statsReconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void rollupsFollowRegistrationChanges() throws Exception {
+        List<User> users = createUsers(CAPACITY + 2);
+        User organizer = users.get(0);
+        Event event = createPublishedEvent(organizer);
+        Event quiet = createPublishedEvent(organizer);
+
+        // Ten seats for twelve attendees: two are waitlisted
+        List<Long> registrationIds = registrationService.registerForEventBatch(event.getId(),
+                        users.stream().map(User::getId).toList())
+                .getItems().stream().map(BatchItemResult::getRegistrationId).toList();
+        registrationService.confirmRegistrations(registrationIds.subList(0, 4));
+        registrationService.cancelRegistrations(registrationIds.subList(0, 1));
+        registrationService.cancelRegistrations(registrationIds.subList(4, 5));
+        rollups.flush();
+
+        Page<EventAnalyticsDto> page = analyticsService.getEventAnalytics(organizer.getId(), PageRequest.of(0, 10));
+        assertEquals(2, page.getTotalElements());
+        EventAnalyticsDto analytics = page.getContent().stream()
+                .filter(row -> row.getEventId().equals(event.getId())).findFirst().orElseThrow();
+        assertEquals(CAPACITY + 2, analytics.getRegistrations());
+        assertEquals(3, analytics.getConfirmedSeats());
+        assertEquals(0.3, analytics.getFillRate(), 1e-9);
+        assertEquals(2, analytics.getCancelled());
+        assertEquals(2.0 / (CAPACITY + 2), analytics.getCancellationRate(), 1e-9);
+        assertEquals(3 * PRICE, analytics.getRevenue(), 1e-9);
+
+        // Each cancellation freed a seat for one of the two waitlisted attendees
+        assertEquals(0, analytics.getWaitlisted());
+
+        // An event without registrations has no rollup row and still reports zeros
+        EventAnalyticsDto empty = page.getContent().stream()
+                .filter(row -> row.getEventId().equals(quiet.getId())).findFirst().orElseThrow();
+        assertEquals(0, empty.getRegistrations());
+        assertEquals(0.0, empty.getRevenue());
+
+        LocalDate today = LocalDate.now();
+        List<DailyRegistrationsDto> daily = analyticsService.getDailyRegistrations(organizer.getId(), today.minusDays(7), today);
+        assertEquals(1, daily.size());
+        assertEquals(today, daily.get(0).getDate());
+        assertEquals(CAPACITY + 2, daily.get(0).getRegistrations());
+        assertEquals(4, daily.get(0).getConfirmations());
+        assertEquals(2, daily.get(0).getCancellations());
+        assertEquals(3 * PRICE, daily.get(0).getRevenue(), 1e-9);
+
+        mockMvc.perform(get("/api/users/{userId}/analytics/events", organizer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+        mockMvc.perform(get("/api/users/{userId}/events", organizer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void recomputeRepairsRollupsOfQuietEventsOnly() {
+        List<User> users = createUsers(3);
+        User organizer = users.get(0);
+        Event lost = createPublishedEvent(organizer);
+        Event missing = createPublishedEvent(organizer);
+        Event busy = createPublishedEvent(organizer);
+        for (Event event : List.of(lost, missing, busy)) {
+            List<Long> registrationIds = registrationService.registerForEventBatch(event.getId(),
+                            users.stream().map(User::getId).toList())
+                    .getItems().stream().map(BatchItemResult::getRegistrationId).toList();
+            registrationService.confirmRegistrations(registrationIds.subList(0, 2));
+            registrationService.cancelRegistrations(registrationIds.subList(2, 3));
+        }
+        rollups.flush();
+
+        // As if an instance died holding deltas: one row lost its counts, one was never written
+        LocalDateTime before = LocalDateTime.now().minusHours(1);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE event_stats SET registrations = 1, cancelled = 0, revenue = 0, updated_at = ? " +
+                    "WHERE event_id IN (?, ?)", before, lost.getId(), busy.getId());
+            jdbcTemplate.update("DELETE FROM event_stats WHERE event_id = ?", missing.getId());
+            jdbcTemplate.update("UPDATE event_registrations SET registered_at = ?, updated_at = ? WHERE event_id IN (?, ?)",
+                    before, before, lost.getId(), missing.getId());
+        });
+
+        // One row corrected, one added and then filled in
+        assertTrue(statsReconciler.recompute() >= 3);
+
+        Map<Long, EventAnalyticsDto> byEvent = analyticsService.getEventAnalytics(organizer.getId(), PageRequest.of(0, 10))
+                .getContent().stream().collect(Collectors.toMap(EventAnalyticsDto::getEventId, Function.identity()));
+        for (Event repaired : List.of(lost, missing)) {
+            EventAnalyticsDto analytics = byEvent.get(repaired.getId());
+            assertEquals(3, analytics.getRegistrations());
+            assertEquals(1, analytics.getCancelled());
+            assertEquals(2 * PRICE, analytics.getRevenue(), 1e-9);
+        }
+        // Registrations changed within the quiet period may still have deltas in flight
+        assertEquals(1, byEvent.get(busy.getId()).getRegistrations());
+        assertEquals(0, statsReconciler.recompute());
+
+        // A delete leaves no registration behind, yet its delta is buffered until the next flush
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE event_stats SET updated_at = ? WHERE event_id = ?", before, lost.getId()));
+        Long deleted = jdbcTemplate.queryForList("SELECT id FROM event_registrations WHERE event_id = ? ORDER BY id",
+                Long.class, lost.getId()).get(0);
+        registrationService.deleteRegistration(deleted);
+        statsReconciler.recompute();
+        rollups.flush();
+        assertEquals(2, analyticsService.getEventAnalytics(organizer.getId(), PageRequest.of(0, 10)).getContent().stream()
+                .filter(row -> row.getEventId().equals(lost.getId())).findFirst().orElseThrow().getRegistrations());
+    }
+
+    @Test
+    void rejectsUnknownOrganizersAndBadRanges() {
+        Long organizerId = userRepository.findAll().get(0).getId();
+        LocalDate today = LocalDate.now();
+        assertThrows(RuntimeException.class, () -> analyticsService.getEventAnalytics(-1L, PageRequest.of(0, 10)));
+        assertThrows(RuntimeException.class, () -> analyticsService.getDailyRegistrations(organizerId, today, today.minusDays(1)));
+        assertThrows(RuntimeException.class, () -> analyticsService.getDailyRegistrations(organizerId, today.minusYears(2), today));
+    }
+
+    private List<User> createUsers(int count) {
+        String prefix = "analytics-" + System.nanoTime() + "-";
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + "@example.com");
+            user.setPassword("password");
+            user.setFirstName("Analytics");
+            user.setLastName("Attendee");
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private Event createPublishedEvent(User organizer) {
+        Category category = categoryRepository.findAll().get(0);
+        Event event = new Event();
+        event.setTitle("Workshop");
+        event.setDescription("Tracked on the organizer dashboard");
+        event.setStartDate(LocalDateTime.now().plusDays(14));
+        event.setEndDate(LocalDateTime.now().plusDays(15));
+        event.setLocation("Studio");
+        event.setMaxCapacity(CAPACITY);
+        event.setTicketPrice(PRICE);
+        event.setCategory(category);
+        event.setOrganizer(organizer);
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        return eventRepository.save(event);
+    }
+}
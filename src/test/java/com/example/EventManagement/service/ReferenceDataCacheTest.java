@@ -0,0 +1,150 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.dto.CategoryDto;
+import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.dto.UserDto;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void categoryListIsServedFromCacheUntilACategoryChanges() {
+        CategoryDto created = categoryService.createCategory(category("Cached " + System.nanoTime()));
+        categoryService.getAllCategories();
+
+        // Only the stats table, which is not cached, is read again
+        statistics.clear();
+        categoryService.getAllCategories();
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        CategoryDto renamed = category("Renamed " + System.nanoTime());
+        categoryService.updateCategory(created.getId(), renamed);
+        statistics.clear();
+        assertTrue(categoryService.getAllCategories().stream()
+                .anyMatch(category -> category.getName().equals(renamed.getName())));
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertEquals(renamed.getName(), categoryRepository.findByName(renamed.getName()).getName());
+    }
+
+    @Test
+    void naturalKeyLookupsFollowUpdates() {
+        User user = createUser();
+        userService.getUserByUsername(user.getUsername());
+        userService.getUserByEmail(user.getEmail());
+
+        // The service also counts organized events; the lookups themselves need no statement
+        statistics.clear();
+        userRepository.findByUsername(user.getUsername()).orElseThrow();
+        userRepository.findByEmail(user.getEmail()).orElseThrow();
+        assertEquals(2, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        UserDto changed = userService.getUserById(user.getId());
+        changed.setEmail("changed-" + user.getEmail());
+        userService.updateUser(user.getId(), changed);
+        assertEquals(changed.getEmail(), userService.getUserByUsername(user.getUsername()).getEmail());
+        assertEquals(user.getId(), userService.getUserByEmail(changed.getEmail()).getId());
+    }
+
+    @Test
+    void eventWritesReadCategoryAndOrganizerFromTheEntityCache() throws Exception {
+        User organizer = createUser();
+        Long categoryId = categoryRepository.findAllByOrderByNameAsc().get(0).getId();
+        eventService.createEvent(event(categoryId), organizer.getId());
+
+        statistics.clear();
+        eventService.createEvent(event(categoryId), organizer.getId());
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(Category.class.getName()).getHitCount() >= 1);
+        assertTrue(statistics.getDomainDataRegionStatistics(User.class.getName()).getHitCount() >= 1);
+
+        mockMvc.perform(get("/api/health/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + Category.class.getName() + "'].hits").isNumber());
+    }
+
+    private CategoryDto category(String name) {
+        CategoryDto category = new CategoryDto();
+        category.setName(name);
+        category.setDescription("Second-level cache");
+        return category;
+    }
+
+    private User createUser() {
+        User user = new User();
+        user.setUsername("cached-" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("secret");
+        user.setFirstName("Cached");
+        user.setLastName("User");
+        user.setRole(User.UserRole.ORGANIZER);
+        return userRepository.save(user);
+    }
+
+    private CreateEventRequest event(Long categoryId) {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle("Cached reference data");
+        request.setDescription("Category and organizer come from the cache");
+        request.setStartDate(LocalDateTime.now().plusDays(20));
+        request.setEndDate(LocalDateTime.now().plusDays(21));
+        request.setLocation("Hall B");
+        request.setMaxCapacity(30);
+        request.setTicketPrice(12.0);
+        request.setCategoryId(categoryId);
+        return request;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.benchmark.BenchmarkDataset;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRegistrationRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RegistrationExportTest {
+
+    private static final int ATTENDEES = 1500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsEveryRegistrationAsNdjsonAndCsv() throws Exception {
+        Event event = createPublishedEvent();
+        List<Long> userIds = new ArrayList<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userIds.addAll(BenchmarkDataset.seedUsers(jdbcTemplate, "export-" + event.getId(), ATTENDEES)));
+        for (int i = 0; i < userIds.size(); i += 500) {
+            registrationService.registerForEventBatch(event.getId(), userIds.subList(i, Math.min(i + 500, userIds.size())));
+        }
+        EventRegistration first = registrationRepository.findByEventIdAndUserId(event.getId(), userIds.get(0)).orElseThrow();
+        first.setSpecialRequirements("Wheelchair access, \"front\" row");
+        registrationRepository.save(first);
+
+        String ndjson = export(event.getId(), "ndjson", "application/x-ndjson");
+        String[] lines = ndjson.split("\n");
+        assertEquals(ATTENDEES, lines.length);
+        JsonNode firstLine = objectMapper.readTree(lines[0]);
+        assertEquals(first.getId().longValue(), firstLine.get("registrationId").asLong());
+        assertEquals("export-" + event.getId() + "-0", firstLine.get("username").asText());
+        assertEquals("PENDING", firstLine.get("status").asText());
+
+        String csv = export(event.getId(), "CSV", "text/csv;charset=UTF-8");
+        String[] rows = csv.split("\r\n");
+        assertEquals(ATTENDEES + 1, rows.length);
+        assertTrue(rows[0].startsWith("registration_id,user_id,username"));
+        assertTrue(rows[1].contains(",\"Wheelchair access, \"\"front\"\" row\","), rows[1]);
+    }
+
+    @Test
+    void rejectsUnknownEventsAndFormatsBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/api/registrations/event/{eventId}/export", -1L))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/registrations/event/{eventId}/export", createPublishedEvent().getId()).param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String export(Long eventId, String format, String contentType) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/registrations/event/{eventId}/export", eventId).param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", contentType))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"event-" + eventId + "-registrations." + format.toLowerCase() + "\""))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private Event createPublishedEvent() {
+        Category category = categoryRepository.findAll().get(0);
+        User organizer = userRepository.findAll().get(0);
+        Event event = new Event();
+        event.setTitle("Annual conference");
+        event.setDescription("Large attendee list");
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(31));
+        event.setLocation("Exhibition hall");
+        event.setMaxCapacity(ATTENDEES);
+        event.setTicketPrice(10.0);
+        event.setCategory(category);
+        event.setOrganizer(organizer);
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        return eventRepository.save(event);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.config.MetricsConfig;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRegistrationRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.registration.hold-ttl=2s")
+@ActiveProfiles("test")
+class SeatHoldExpiryTest {
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private SeatHoldExpirer expirer;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void unconfirmedHoldsExpireAndPassTheSeatOn() throws InterruptedException {
+        List<User> users = createUsers(3);
+        Event event = createPublishedEvent(users.get(0), 2);
+        EventRegistration confirmed = registrationService.registerForEvent(event.getId(), users.get(0).getId());
+        EventRegistration unpaid = registrationService.registerForEvent(event.getId(), users.get(1).getId());
+        EventRegistration waiting = registrationService.registerForEvent(event.getId(), users.get(2).getId());
+        assertNotNull(unpaid.getHoldExpiresAt());
+        assertEquals(RegistrationStatus.WAITLISTED, waiting.getStatus());
+        registrationService.confirmRegistration(confirmed.getId());
+        double expiredBefore = meterRegistry.get(MetricsConfig.SEAT_HOLDS + ".expired").counter().count();
+
+        awaitStatus(unpaid, RegistrationStatus.EXPIRED);
+        EventRegistration promoted = registrationRepository.findById(waiting.getId()).orElseThrow();
+        assertEquals(RegistrationStatus.PENDING, promoted.getStatus());
+        assertTrue(promoted.getHoldExpiresAt().isAfter(unpaid.getHoldExpiresAt()));
+        assertEquals(RegistrationStatus.CONFIRMED, reload(confirmed).getStatus());
+        assertSeats(event, 1, 1);
+        assertTrue(meterRegistry.get(MetricsConfig.SEAT_HOLDS + ".expired").counter().count() > expiredBefore);
+
+        // The promoted registration got a hold of its own, which runs out the same way
+        awaitStatus(waiting, RegistrationStatus.EXPIRED);
+        assertSeats(event, 1, 0);
+    }
+
+    @Test
+    void sweepExpiresHoldsThisInstanceDoesNotTrack() {
+        User user = createUsers(1).get(0);
+        Event event = createPublishedEvent(user, 5);
+        EventRegistration registration = createExpiredHold(event, user);
+
+        expirer.sweep();
+
+        assertEquals(RegistrationStatus.EXPIRED, reload(registration).getStatus());
+        assertSeats(event, 0, 0);
+        assertNotNull(meterRegistry.find(MetricsConfig.SEAT_HOLDS + ".active").gauge());
+    }
+
+    @Test
+    void confirmationRacingExpiryMovesTheSeatOnce() throws Exception {
+        User user = createUsers(1).get(0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 20; round++) {
+                Event event = createPublishedEvent(user, 5);
+                EventRegistration registration = createExpiredHold(event, user);
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> confirm = executor.submit(() -> {
+                    start.await();
+                    return registrationService.confirmRegistration(registration.getId());
+                });
+                Future<Integer> expire = executor.submit(() -> {
+                    start.await();
+                    return registrationService.expireHolds(List.of(registration.getId()));
+                });
+                start.countDown();
+                int expired = expire.get();
+                try {
+                    confirm.get();
+                } catch (ExecutionException e) {
+                    // The hold expired first
+                    assertEquals("Registration changed concurrently", e.getCause().getMessage());
+                }
+
+                // Confirming after the expiry committed claims a fresh seat, so either way the
+                // counters must match the status the registration ended up in
+                RegistrationStatus status = reload(registration).getStatus();
+                if (status == RegistrationStatus.CONFIRMED) {
+                    assertSeats(event, 1, 0);
+                } else {
+                    assertEquals(RegistrationStatus.EXPIRED, status);
+                    assertEquals(1, expired);
+                    assertSeats(event, 0, 0);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Written past the service, like a hold taken by another instance
+    private EventRegistration createExpiredHold(Event event, User user) {
+        event.setReservedCount(1);
+        eventRepository.save(event);
+        EventRegistration registration = new EventRegistration();
+        registration.setEvent(event);
+        registration.setUser(user);
+        registration.setAmountPaid(event.getTicketPrice());
+        registration.setStatus(RegistrationStatus.PENDING);
+        registration.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+        return registrationRepository.save(registration);
+    }
+
+    private void awaitStatus(EventRegistration registration, RegistrationStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (reload(registration).getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(status, reload(registration).getStatus());
+    }
+
+    private EventRegistration reload(EventRegistration registration) {
+        return registrationRepository.findById(registration.getId()).orElseThrow();
+    }
+
+    private void assertSeats(Event event, int confirmed, int reserved) {
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(confirmed, reloaded.getConfirmedCount());
+        assertEquals(reserved, reloaded.getReservedCount());
+    }
+
+    private List<User> createUsers(int count) {
+        String prefix = "hold-" + System.nanoTime() + "-";
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + "@example.com");
+            user.setPassword("password");
+            user.setFirstName("Holding");
+            user.setLastName("Attendee");
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private Event createPublishedEvent(User organizer, int capacity) {
+        Category category = categoryRepository.findAll().get(0);
+        Event event = new Event();
+        event.setTitle("Limited masterclass");
+        event.setDescription("Unpaid seats are released");
+        event.setStartDate(LocalDateTime.now().plusDays(9));
+        event.setEndDate(LocalDateTime.now().plusDays(10));
+        event.setLocation("Room 101");
+        event.setMaxCapacity(capacity);
+        event.setTicketPrice(40.0);
+        event.setCategory(category);
+        event.setOrganizer(organizer);
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        return eventRepository.save(event);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.dto.CursorPage;
+import com.example.EventManagement.dto.UserDto;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserDirectoryTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+    private List<User> organizers;
+
+    @BeforeEach
+    void seedOrganizers() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        organizers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            User organizer = new User();
+            organizer.setUsername("directory-" + System.nanoTime() + "-" + i);
+            organizer.setEmail(organizer.getUsername() + "@example.com");
+            organizer.setPassword("secret");
+            organizer.setFirstName("Directory");
+            organizer.setLastName("Organizer" + i);
+            organizer.setRole(User.UserRole.ORGANIZER);
+            organizers.add(userRepository.save(organizer));
+        }
+        // Organizer i runs i events
+        Category category = categoryRepository.findAll().get(0);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < organizers.size(); i++) {
+            for (int n = 0; n < i; n++) {
+                Event event = new Event();
+                event.setTitle("Directory event " + i + "-" + n);
+                event.setDescription("Counted, not loaded");
+                event.setStartDate(LocalDateTime.now().plusDays(3));
+                event.setEndDate(LocalDateTime.now().plusDays(4));
+                event.setLocation("Annex");
+                event.setMaxCapacity(10);
+                event.setTicketPrice(0.0);
+                event.setCategory(category);
+                event.setOrganizer(organizers.get(i));
+                events.add(event);
+            }
+        }
+        eventRepository.saveAll(events);
+    }
+
+    @Test
+    void listingIsOneStatementWithCountsAndNoPassword() {
+        statistics.clear();
+        List<UserDto> users = userService.getAllUsers();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+
+        Map<Long, UserDto> byId = users.stream().collect(Collectors.toMap(UserDto::getId, Function.identity()));
+        for (int i = 0; i < organizers.size(); i++) {
+            UserDto user = byId.get(organizers.get(i).getId());
+            assertEquals(i, user.getOrganizedEventCount());
+            assertNull(user.getPassword());
+        }
+        assertEquals(users.stream().map(UserDto::getId).sorted().toList(), users.stream().map(UserDto::getId).toList());
+
+        // The page content plus at most its COUNT, however many users the page holds
+        assertTrue(countStatements(() -> userService.getUsers(PageRequest.of(0, 2))) <= 2);
+        assertTrue(countStatements(() -> userService.getUsers(PageRequest.of(0, 50))) <= 2);
+        assertEquals(organizers.size() - 1, userService.getUserById(organizers.get(organizers.size() - 1).getId()).getOrganizedEventCount());
+    }
+
+    @Test
+    void feedWalksEveryUserOnceInIdOrder() {
+        // No COUNT query: each slice is a single statement
+        assertEquals(1, countStatements(() -> userService.getUsersAfter(null, 3)));
+
+        List<Long> seen = new ArrayList<>();
+        CursorPage<UserDto> page = userService.getUsersAfter(null, 3);
+        while (true) {
+            page.getContent().forEach(user -> seen.add(user.getId()));
+            if (!page.isHasNext()) {
+                break;
+            }
+            page = userService.getUsersAfter(page.getNextCursor(), 3);
+        }
+        assertNull(page.getNextCursor());
+        assertEquals(userRepository.count(), seen.size());
+        assertEquals(seen.stream().sorted().toList(), seen);
+        assertEquals(Set.copyOf(seen).size(), seen.size());
+
+        assertThrows(RuntimeException.class, () -> userService.getUsersAfter("not a cursor", 3));
+    }
+
+    @Test
+    void listingsCapHowManyUsersTheyReturn() throws Exception {
+        assertEquals(Math.min(userRepository.count(), UserService.MAX_USER_LIST_SIZE), userService.getAllUsers().size());
+
+        mockMvc.perform(get("/api/users/page").param("size", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(100));
+        mockMvc.perform(get("/api/users/role/{role}", User.UserRole.USER).param("size", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(100));
+        mockMvc.perform(get("/api/users/{userId}/events", organizers.get(0).getId()).param("size", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(100));
+        mockMvc.perform(get("/api/users/feed").param("size", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(Math.min(userRepository.count(), 100)));
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.EventManagement.service;
+
+import com.example.EventManagement.dto.BatchResult;
+import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.EventRegistration;
+import com.example.EventManagement.model.EventRegistration.RegistrationStatus;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRegistrationRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WaitlistTest {
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void givenUpSeatsGoToTheHeadOfTheWaitlist() {
+        List<User> users = createUsers(5);
+        Event event = createPublishedEvent(users.get(0), 2);
+        List<EventRegistration> registrations = new ArrayList<>();
+        for (User user : users) {
+            registrations.add(registrationService.registerForEvent(event.getId(), user.getId()));
+        }
+        assertStatuses(registrations, RegistrationStatus.PENDING, RegistrationStatus.PENDING,
+                RegistrationStatus.WAITLISTED, RegistrationStatus.WAITLISTED, RegistrationStatus.WAITLISTED);
+        RuntimeException waitlisted = assertThrows(RuntimeException.class,
+                () -> registrationService.confirmRegistration(registrations.get(2).getId()));
+        assertEquals("Registration is waitlisted", waitlisted.getMessage());
+
+        // A confirmed seat given up becomes the first waitlister's held seat
+        registrationService.confirmRegistration(registrations.get(0).getId());
+        assertSeats(event, 1, 1);
+        registrationService.cancelRegistration(registrations.get(0).getId());
+        assertStatuses(registrations, RegistrationStatus.CANCELLED, RegistrationStatus.PENDING,
+                RegistrationStatus.PENDING, RegistrationStatus.WAITLISTED, RegistrationStatus.WAITLISTED);
+        assertSeats(event, 0, 2);
+
+        // Leaving the waitlist frees nothing and promotes nobody
+        registrationService.cancelRegistration(registrations.get(3).getId());
+        assertStatuses(registrations, RegistrationStatus.CANCELLED, RegistrationStatus.PENDING,
+                RegistrationStatus.PENDING, RegistrationStatus.CANCELLED, RegistrationStatus.WAITLISTED);
+        assertSeats(event, 0, 2);
+
+        registrationService.deleteRegistration(registrations.get(1).getId());
+        assertEquals(RegistrationStatus.PENDING, reload(registrations.get(4)).getStatus());
+        assertSeats(event, 0, 2);
+
+        // Nobody left waiting: the seat is freed and the next registration gets it
+        registrationService.cancelRegistration(registrations.get(2).getId());
+        assertSeats(event, 0, 1);
+        User latecomer = createUsers(1).get(0);
+        assertEquals(RegistrationStatus.PENDING,
+                registrationService.registerForEvent(event.getId(), latecomer.getId()).getStatus());
+    }
+
+    @Test
+    void batchCancelPromotesOnePerSeatGivenUp() {
+        List<User> users = createUsers(6);
+        Event event = createPublishedEvent(users.get(0), 3);
+        BatchResult registered = registrationService.registerForEventBatch(event.getId(),
+                users.stream().map(User::getId).toList());
+        List<Long> ids = registered.getItems().stream().map(item -> item.getRegistrationId()).toList();
+
+        // Two held seats and one waitlister leave; the two remaining waitlisters take the seats
+        BatchResult cancelled = registrationService.cancelRegistrations(List.of(ids.get(0), ids.get(1), ids.get(3)));
+        assertEquals(3, cancelled.getSucceeded());
+        assertEquals(RegistrationStatus.PENDING, registrationRepository.findById(ids.get(4)).orElseThrow().getStatus());
+        assertEquals(RegistrationStatus.PENDING, registrationRepository.findById(ids.get(5)).orElseThrow().getStatus());
+        assertSeats(event, 0, 3);
+
+        BatchResult confirmed = registrationService.confirmRegistrations(List.of(ids.get(2), ids.get(4), ids.get(5)));
+        assertEquals(3, confirmed.getSucceeded());
+        assertSeats(event, 3, 0);
+    }
+
+    @Test
+    void raisingCapacityPromotesTheWaitlist() {
+        List<User> users = createUsers(5);
+        Event event = createPublishedEvent(users.get(0), 2);
+        List<EventRegistration> registrations = new ArrayList<>();
+        for (User user : users) {
+            registrations.add(registrationService.registerForEvent(event.getId(), user.getId()));
+        }
+
+        eventService.updateEvent(event.getId(), withCapacity(event, 4), users.get(0).getId());
+        assertStatuses(registrations, RegistrationStatus.PENDING, RegistrationStatus.PENDING,
+                RegistrationStatus.PENDING, RegistrationStatus.PENDING, RegistrationStatus.WAITLISTED);
+        assertSeats(event, 0, 4);
+
+        // More seats than waitlisters: the rest are open to newcomers
+        eventService.updateEvent(event.getId(), withCapacity(event, 10), users.get(0).getId());
+        assertEquals(RegistrationStatus.PENDING, reload(registrations.get(4)).getStatus());
+        assertSeats(event, 0, 5);
+        User latecomer = createUsers(1).get(0);
+        assertEquals(RegistrationStatus.PENDING,
+                registrationService.registerForEvent(event.getId(), latecomer.getId()).getStatus());
+        assertSeats(event, 0, 6);
+    }
+
+    @Test
+    void updatedEventReportsTheSeatsConfirmedUnderIt() {
+        List<User> users = createUsers(2);
+        Event event = createPublishedEvent(users.get(0), 2);
+        EventRegistration registration = registrationService.registerForEvent(event.getId(), users.get(1).getId());
+
+        // The event is already loaded when the seat is confirmed by a counter update
+        EventDto updated = new TransactionTemplate(transactionManager).execute(status -> {
+            eventRepository.findById(event.getId()).orElseThrow();
+            registrationService.confirmRegistration(registration.getId());
+            return eventService.updateEvent(event.getId(), withCapacity(event, 3), users.get(0).getId());
+        });
+        assertEquals(1, updated.getCurrentRegistrations());
+        assertEquals(3, updated.getMaxCapacity());
+        assertEquals(1, eventService.publishEvent(event.getId(), users.get(0).getId()).getCurrentRegistrations());
+    }
+
+    private CreateEventRequest withCapacity(Event event, int capacity) {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle(event.getTitle());
+        request.setDescription(event.getDescription());
+        request.setStartDate(event.getStartDate());
+        request.setEndDate(event.getEndDate());
+        request.setLocation(event.getLocation());
+        request.setMaxCapacity(capacity);
+        request.setTicketPrice(event.getTicketPrice());
+        request.setCategoryId(event.getCategory().getId());
+        return request;
+    }
+
+    private void assertStatuses(List<EventRegistration> registrations, RegistrationStatus... expected) {
+        assertEquals(List.of(expected), registrations.stream().map(registration -> reload(registration).getStatus()).toList());
+    }
+
+    private EventRegistration reload(EventRegistration registration) {
+        return registrationRepository.findById(registration.getId()).orElseThrow();
+    }
+
+    private void assertSeats(Event event, int confirmed, int reserved) {
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(confirmed, reloaded.getConfirmedCount());
+        assertEquals(reserved, reloaded.getReservedCount());
+    }
+
+    private List<User> createUsers(int count) {
+        String prefix = "waitlist-" + System.nanoTime() + "-";
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + "@example.com");
+            user.setPassword("password");
+            user.setFirstName("Waiting");
+            user.setLastName("Attendee");
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private Event createPublishedEvent(User organizer, int capacity) {
+        Category category = categoryRepository.findAll().get(0);
+        Event event = new Event();
+        event.setTitle("Sold-out workshop");
+        event.setDescription("Seats are passed down the waitlist");
+        event.setStartDate(LocalDateTime.now().plusDays(14));
+        event.setEndDate(LocalDateTime.now().plusDays(15));
+        event.setLocation("Studio 2");
+        event.setMaxCapacity(capacity);
+        event.setTicketPrice(30.0);
+        event.setCategory(category);
+        event.setOrganizer(organizer);
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        return eventRepository.save(event);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.EventManagement.timeline;
+
+import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.dto.CursorPage;
+import com.example.EventManagement.dto.EventCursor;
+import com.example.EventManagement.dto.EventDto;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.UserRepository;
+import com.example.EventManagement.service.EventRegistrationService;
+import com.example.EventManagement.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UpcomingEventsTimelineTest {
+
+    // Far enough ahead that no other test's events start in between
+    private static final LocalDateTime BASE = LocalDateTime.now().plusYears(40).withNano(0);
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Autowired
+    private UpcomingEventsTimeline timeline;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void followsEventLifecycleInStartOrder() {
+        User organizer = userRepository.findAll().get(0);
+        EventDto third = create(organizer, BASE.plusDays(3));
+        EventDto first = create(organizer, BASE.plusDays(1));
+        EventDto second = create(organizer, BASE.plusDays(2));
+        Set<Long> ids = Set.of(first.getId(), second.getId(), third.getId());
+
+        // Drafts are not listed until published
+        assertEquals(List.of(), mine(eventService.getUpcomingEvents(), ids));
+        for (EventDto event : List.of(third, first, second)) {
+            eventService.publishEvent(event.getId(), organizer.getId());
+        }
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()), mine(eventService.getUpcomingEvents(), ids));
+
+        // Moving a start date repositions the event instead of listing it twice
+        eventService.updateEvent(first.getId(), request(BASE.plusDays(4)), organizer.getId());
+        assertEquals(List.of(second.getId(), third.getId(), first.getId()), mine(eventService.getUpcomingEvents(), ids));
+
+        // Confirmed seats show up in the listed entry
+        EventDto listedBefore = find(second.getId());
+        Long registrationId = registrationService.registerForEvent(second.getId(), organizer.getId()).getId();
+        registrationService.confirmRegistration(registrationId);
+        assertEquals(listedBefore.getCurrentRegistrations() + 1, find(second.getId()).getCurrentRegistrations());
+
+        eventService.cancelEvent(third.getId(), organizer.getId());
+        assertEquals(List.of(second.getId(), first.getId()), mine(eventService.getUpcomingEvents(), ids));
+        assertFalse(timeline.contains(third.getId()));
+    }
+
+    @Test
+    void pagesWithCursorsAndSkipsStartedEvents() {
+        UpcomingEventsTimeline local = new UpcomingEventsTimeline();
+        LocalDateTime now = LocalDateTime.now();
+        List<EventDto> events = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            // Events 1 and 2 share a start date and are ordered by id
+            events.add(dto(id, now.plusHours(id <= 2 ? 1 : id)));
+        }
+        events.add(dto(6, now.minusMinutes(5)));
+        EventDto draft = dto(7, now.plusHours(1));
+        draft.setStatus(Event.EventStatus.DRAFT);
+        events.add(draft);
+        local.replaceAll(events, now.minusHours(1));
+        assertEquals(6, local.size());
+
+        assertEquals(List.of(1L, 2L), ids(local.upcoming(now, 2)));
+        assertEquals(List.of(3L, 4L), ids(local.after(EventCursor.of(events.get(1)), now, 2)));
+        assertEquals(1, local.trim(now));
+        assertEquals(5, local.size());
+    }
+
+    @Test
+    void feedWalksPastEveryEventOnce() {
+        User organizer = userRepository.findAll().get(0);
+        List<Long> created = new ArrayList<>();
+        for (int day = 10; day < 13; day++) {
+            EventDto event = create(organizer, BASE.plusDays(day));
+            eventService.publishEvent(event.getId(), organizer.getId());
+            created.add(event.getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        CursorPage<EventDto> page = eventService.getUpcomingEventsAfter(null, 2);
+        while (true) {
+            page.getContent().forEach(event -> seen.add(event.getId()));
+            if (!page.isHasNext()) {
+                break;
+            }
+            page = eventService.getUpcomingEventsAfter(page.getNextCursor(), 2);
+        }
+        assertNull(page.getNextCursor());
+        assertEquals(seen.size(), Set.copyOf(seen).size());
+        assertEquals(created, seen.stream().filter(created::contains).toList());
+    }
+
+    private EventDto create(User organizer, LocalDateTime startDate) {
+        return eventService.createEvent(request(startDate), organizer.getId());
+    }
+
+    private CreateEventRequest request(LocalDateTime startDate) {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle("Timeline event");
+        request.setDescription("Ordered by start date");
+        request.setStartDate(startDate);
+        request.setEndDate(startDate.plusHours(2));
+        request.setLocation("Riverside");
+        request.setMaxCapacity(10);
+        request.setTicketPrice(5.0);
+        request.setCategoryId(categoryRepository.findAll().get(0).getId());
+        return request;
+    }
+
+    private EventDto find(Long eventId) {
+        return eventService.getUpcomingEvents().stream()
+                .filter(event -> event.getId().equals(eventId))
+                .findFirst().orElseThrow();
+    }
+
+    private static List<Long> mine(List<EventDto> events, Set<Long> ids) {
+        return events.stream().map(EventDto::getId).filter(ids::contains).toList();
+    }
+
+    private static List<Long> ids(List<EventDto> events) {
+        return events.stream().map(EventDto::getId).toList();
+    }
+
+    private static EventDto dto(long id, LocalDateTime startDate) {
+        EventDto event = new EventDto();
+        event.setId(id);
+        event.setStartDate(startDate);
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        return event;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.UserRepository;
+import com.example.EventManagement.service.EventRegistrationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EventRegistrationService registrationService;
+
+    @Test
+    void categoryRevalidatesUntilItChanges() throws Exception {
+        Category category = createCategory();
+        String path = "/api/categories/" + category.getId();
+
+        MvcResult first = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, must-revalidate"))
+                .andExpect(jsonPath("$.name").value(category.getName()))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        String lastModified = first.getResponse().getHeader("Last-Modified");
+        assertNotNull(lastModified);
+
+        mockMvc.perform(get(path).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", "max-age=300, must-revalidate"))
+                .andExpect(content().string(""));
+        mockMvc.perform(get(path).header("If-Modified-Since", lastModified))
+                .andExpect(status().isNotModified());
+
+        category.setDescription("Changed after the first read");
+        categoryRepository.save(category);
+        String changed = mockMvc.perform(get(path).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Changed after the first read"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, changed);
+
+        // The list changes with any category, including new ones
+        String listEtag = mockMvc.perform(get("/api/categories")).andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/categories").header("If-None-Match", listEtag)).andExpect(status().isNotModified());
+        createCategory();
+        mockMvc.perform(get("/api/categories").header("If-None-Match", listEtag)).andExpect(status().isOk());
+    }
+
+    @Test
+    void eventChangesWithItsSeatsAndUserWithTheEventsTheyOrganize() throws Exception {
+        Category category = createCategory();
+        User organizer = createUser();
+        Event event = createEvent(category, organizer);
+        String eventPath = "/api/events/" + event.getId();
+        String userPath = "/api/users/" + organizer.getId();
+
+        String eventEtag = mockMvc.perform(get(eventPath))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get(eventPath).header("If-None-Match", eventEtag)).andExpect(status().isNotModified());
+        // A confirmed seat changes the registration count shown on the event
+        User attendee = createUser();
+        Long registrationId = registrationService.registerForEvent(event.getId(), attendee.getId()).getId();
+        registrationService.confirmRegistration(registrationId);
+        mockMvc.perform(get(eventPath).header("If-None-Match", eventEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentRegistrations").value(1));
+
+        String userEtag = mockMvc.perform(get(userPath))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get(userPath).header("If-None-Match", userEtag)).andExpect(status().isNotModified());
+        createEvent(category, organizer);
+        mockMvc.perform(get(userPath).header("If-None-Match", userEtag)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/events/-1")).andExpect(status().isBadRequest());
+    }
+
+    private Category createCategory() {
+        Category category = new Category();
+        category.setName("Cached " + System.nanoTime());
+        category.setDescription("Served with an ETag");
+        return categoryRepository.save(category);
+    }
+
+    private User createUser() {
+        String name = "cached-" + System.nanoTime();
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password");
+        user.setFirstName("Cached");
+        user.setLastName("Organizer");
+        return userRepository.save(user);
+    }
+
+    private Event createEvent(Category category, User organizer) {
+        Event event = new Event();
+        event.setTitle("Cached event");
+        event.setDescription("Revalidated with If-None-Match");
+        event.setStartDate(LocalDateTime.now().plusDays(5));
+        event.setEndDate(LocalDateTime.now().plusDays(6));
+        event.setLocation("Town hall");
+        event.setMaxCapacity(30);
+        event.setTicketPrice(5.0);
+        event.setCategory(category);
+        event.setOrganizer(organizer);
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        return eventRepository.save(event);
+    }
+}
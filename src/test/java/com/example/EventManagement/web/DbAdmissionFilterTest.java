@@ -0,0 +1,79 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.config.MetricsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DbAdmissionFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DbAdmissionFilter filter = new DbAdmissionFilter(1, Duration.ofMillis(100), registry);
+
+    @Test
+    void requestsBeyondThePermitsWaitAndThenGetServiceUnavailable() throws Exception {
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/events"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            admitted.countDown();
+                            awaitQuietly(release);
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, registry.get(MetricsConfig.DB_ADMISSION + ".available").gauge().value());
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        AtomicInteger reached = new AtomicInteger();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/events"), rejected,
+                (request, response) -> reached.incrementAndGet());
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(0, reached.get());
+
+        // Paths outside /api never touch the database and are not limited
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+                (request, response) -> reached.incrementAndGet());
+        assertEquals(1, reached.get());
+
+        release.countDown();
+        holder.join();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/events"), new MockHttpServletResponse(),
+                (request, response) -> reached.incrementAndGet());
+        assertEquals(2, reached.get());
+        assertEquals(1, registry.get(MetricsConfig.DB_ADMISSION + ".available").gauge().value());
+    }
+
+    @Test
+    void streamingResponsesHoldTheirPermitUntilTheAsyncCycleEnds() throws Exception {
+        MockHttpServletRequest streaming = new MockHttpServletRequest("GET", "/api/events/all");
+        streaming.setAsyncSupported(true);
+        filter.doFilter(streaming, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+        assertEquals(0, registry.get(MetricsConfig.DB_ADMISSION + ".available").gauge().value());
+
+        streaming.getAsyncContext().complete();
+        assertEquals(1, registry.get(MetricsConfig.DB_ADMISSION + ".available").gauge().value());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
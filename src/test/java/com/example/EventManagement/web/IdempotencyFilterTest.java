@@ -0,0 +1,288 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.dto.CreateEventRequest;
+import com.example.EventManagement.exception.GlobalExceptionHandler;
+import com.example.EventManagement.model.Category;
+import com.example.EventManagement.model.Event;
+import com.example.EventManagement.model.IdempotencyRecord;
+import com.example.EventManagement.model.User;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.EventRegistrationRepository;
+import com.example.EventManagement.repository.EventRepository;
+import com.example.EventManagement.repository.IdempotencyRecordRepository;
+import com.example.EventManagement.repository.UserRepository;
+import com.example.EventManagement.web.IdempotencyStore.StoredResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientIdentity clientIdentity;
+
+    @Test
+    void retriedRegistrationReplaysTheFirstResponse() throws Exception {
+        Event event = createPublishedEvent();
+        User attendee = userRepository.findAll().get(0);
+        String key = UUID.randomUUID().toString();
+
+        String first = mockMvc.perform(register(event, attendee).header(IdempotencyFilter.KEY_HEADER, key))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(register(event, attendee).header(IdempotencyFilter.KEY_HEADER, key))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(content().json(first, true));
+        assertEquals(1, registrationRepository.findByEventId(event.getId()).size());
+
+        // Without the key the same request runs again and is turned down
+        mockMvc.perform(register(event, attendee)).andExpect(status().isBadRequest());
+
+        // The key belongs to the first request; a different one reusing it is refused
+        Event other = createPublishedEvent();
+        mockMvc.perform(register(other, attendee).header(IdempotencyFilter.KEY_HEADER, key))
+                .andExpect(status().isUnprocessableEntity());
+        assertEquals(0, registrationRepository.findByEventId(other.getId()).size());
+    }
+
+    @Test
+    void retriedEventCreationCreatesOneEvent() throws Exception {
+        User organizer = userRepository.findAll().get(0);
+        String body = objectMapper.writeValueAsString(createRequest());
+        String key = UUID.randomUUID().toString();
+        long before = eventRepository.count();
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            mockMvc.perform(post("/api/events").param("organizerId", organizer.getId().toString())
+                            .contentType(MediaType.APPLICATION_JSON).content(body)
+                            .header(IdempotencyFilter.KEY_HEADER, key))
+                    .andExpect(status().isCreated());
+        }
+        assertEquals(before + 1, eventRepository.count());
+
+        mockMvc.perform(post("/api/events").param("organizerId", organizer.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header(IdempotencyFilter.KEY_HEADER, "x".repeat(256)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void persistedResponsesOutliveTheInstanceThatStoredThem() {
+        String key = UUID.randomUUID().toString();
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        IdempotencyStore first = new IdempotencyStore(Duration.ofHours(1), 100, true, idempotencyRepository);
+        assertTrue(first.begin(key));
+        first.complete(key, new StoredResponse("abc", 201, MediaType.APPLICATION_JSON_VALUE, "/api/events/1", body));
+        first.end(key);
+
+        StoredResponse replayed = new IdempotencyStore(Duration.ofHours(1), 100, true, idempotencyRepository)
+                .find(key).orElseThrow();
+        assertEquals("abc", replayed.fingerprint());
+        assertEquals(201, replayed.status());
+        assertEquals("/api/events/1", replayed.location());
+        assertArrayEquals(body, replayed.body());
+
+        // Expired keys are not replayed and are purged
+        String stale = UUID.randomUUID().toString();
+        idempotencyRepository.save(new IdempotencyRecord(stale, "def", 200, null, null, "{}", null,
+                LocalDateTime.now().minusMinutes(1)));
+        IdempotencyStore store = new IdempotencyStore(Duration.ofHours(1), 100, true, idempotencyRepository);
+        assertTrue(store.find(stale).isEmpty());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> store.purgeExpired());
+        assertTrue(idempotencyRepository.findById(stale).isEmpty());
+        assertTrue(idempotencyRepository.findById(key).isPresent());
+    }
+
+    @Test
+    void transientFailuresCanBeRetriedWithTheSameKey() throws Exception {
+        // A deadlock wrapped by a service still comes out as a retryable 503
+        ResponseEntity<Map<String, String>> busy = new GlobalExceptionHandler().handleRuntimeException(
+                new RuntimeException("Failed to register", new CannotAcquireLockException("Deadlock found")));
+        assertEquals(503, busy.getStatusCode().value());
+        assertEquals(400, new GlobalExceptionHandler().handleRuntimeException(
+                new RuntimeException("Event is full")).getStatusCode().value());
+
+        IdempotencyFilter filter = new IdempotencyFilter(
+                new IdempotencyStore(Duration.ofHours(1), 100, false, idempotencyRepository), clientIdentity);
+        String key = UUID.randomUUID().toString();
+        AtomicInteger reached = new AtomicInteger();
+        for (int status : new int[]{503, 409, 429, 201, 500}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/registrations");
+            request.addHeader(IdempotencyFilter.KEY_HEADER, key);
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                reached.incrementAndGet();
+                ((HttpServletResponse) res).setStatus(status);
+            });
+        }
+        // Every attempt ran until the 201, which the last one got back instead of its 500
+        assertEquals(4, reached.get());
+    }
+
+    @Test
+    void keysAreScopedToTheClientAndEndpoint() throws Exception {
+        Event event = createPublishedEvent();
+        User other = new User();
+        other.setUsername("idempotent-" + System.nanoTime());
+        other.setEmail(other.getUsername() + "@example.com");
+        other.setPassword("password");
+        other.setFirstName("Other");
+        other.setLastName("Client");
+        List<User> attendees = List.of(userRepository.findAll().get(0), userRepository.save(other));
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(register(event, attendees.get(0)).header(IdempotencyFilter.KEY_HEADER, key)
+                        .with(remoteAddress("10.1.0.1")))
+                .andExpect(status().isCreated());
+        // Another client picking the same key gets its own request run, not a replay or a 422
+        mockMvc.perform(register(event, attendees.get(1)).header(IdempotencyFilter.KEY_HEADER, key)
+                        .with(remoteAddress("10.1.0.2")))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+        mockMvc.perform(register(event, attendees.get(0)).header(IdempotencyFilter.KEY_HEADER, key)
+                        .with(remoteAddress("10.1.0.1")))
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+        assertEquals(2, registrationRepository.findByEventId(event.getId()).size());
+    }
+
+    @Test
+    void cachedBodiesSupportNonBlockingReads() throws Exception {
+        IdempotencyFilter filter = new IdempotencyFilter(
+                new IdempotencyStore(Duration.ofHours(1), 100, false, idempotencyRepository), clientIdentity);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/events");
+        request.addHeader(IdempotencyFilter.KEY_HEADER, UUID.randomUUID().toString());
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent("{\"title\":\"Async\"}".getBytes(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicInteger allRead = new AtomicInteger();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream input = req.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        read.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            });
+            ((HttpServletResponse) res).setStatus(201);
+        });
+        assertEquals("{\"title\":\"Async\"}", read.toString(StandardCharsets.UTF_8));
+        assertEquals(1, allRead.get());
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private MockHttpServletRequestBuilder register(Event event, User user) {
+        return post("/api/registrations")
+                .param("eventId", event.getId().toString())
+                .param("userId", user.getId().toString());
+    }
+
+    private CreateEventRequest createRequest() {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle("Retried launch");
+        request.setDescription("Created once however often it is sent");
+        request.setStartDate(LocalDateTime.now().plusDays(20).withNano(0));
+        request.setEndDate(LocalDateTime.now().plusDays(21).withNano(0));
+        request.setLocation("Harbour view");
+        request.setMaxCapacity(40);
+        request.setTicketPrice(12.0);
+        request.setCategoryId(categoryRepository.findAll().get(0).getId());
+        return request;
+    }
+
+    private Event createPublishedEvent() {
+        Category category = categoryRepository.findAll().get(0);
+        Event event = new Event();
+        event.setTitle("Retried registration");
+        event.setDescription("Registered once however often it is sent");
+        event.setStartDate(LocalDateTime.now().plusDays(12));
+        event.setEndDate(LocalDateTime.now().plusDays(13));
+        event.setLocation("North wing");
+        event.setMaxCapacity(10);
+        event.setTicketPrice(8.0);
+        event.setCategory(category);
+        event.setOrganizer(userRepository.findAll().get(0));
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        return eventRepository.save(event);
+    }
+}
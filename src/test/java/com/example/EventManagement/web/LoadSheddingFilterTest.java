@@ -0,0 +1,112 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.config.MetricsConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadSheddingFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LoadSheddingFilter filter = new LoadSheddingFilter(1, 5, Duration.ofMillis(200), registry);
+    private final AtomicInteger reached = new AtomicInteger();
+
+    @Test
+    void shedsRequestsBeyondTheInFlightLimit() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/events"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            running.countDown();
+                            awaitQuietly(release);
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        assertEquals(1, registry.get(MetricsConfig.LOAD_SHEDDING + ".in_flight").gauge().value());
+
+        MockHttpServletResponse shed = send("/api/events");
+        assertEquals(503, shed.getStatus());
+        assertEquals("1", shed.getHeader("Retry-After"));
+        assertEquals(200, send("/api/health").getStatus());
+        assertEquals(1, reached.get());
+
+        release.countDown();
+        holder.join();
+        assertEquals(200, send("/api/events").getStatus());
+        assertEquals(1, rejected("shed_in_flight"));
+    }
+
+    @Test
+    void shedsWhileThePoolIsBackedUp() throws Exception {
+        AtomicInteger pending = new AtomicInteger();
+        Gauge.builder("hikaricp.connections.pending", pending, AtomicInteger::get).register(registry);
+        Timer acquire = Timer.builder("hikaricp.connections.acquire").register(registry);
+
+        pending.set(6);
+        filter.sample();
+        assertEquals(503, send("/api/events").getStatus());
+
+        pending.set(0);
+        filter.sample();
+        assertEquals(200, send("/api/events").getStatus());
+
+        // Slow hand-outs since the last sample count even with nobody queued right now
+        acquire.record(Duration.ofMillis(900));
+        acquire.record(Duration.ofMillis(100));
+        filter.sample();
+        assertEquals(503, send("/api/events").getStatus());
+        assertEquals(500, registry.get(MetricsConfig.LOAD_SHEDDING + ".acquire_time").gauge().value(), 0.001);
+
+        // No connections handed out in the next interval: the pool has drained
+        filter.sample();
+        assertEquals(200, send("/api/events").getStatus());
+        assertEquals(2, rejected("shed_pool"));
+    }
+
+    @Test
+    void streamingResponsesStayInFlightUntilTheAsyncCycleEnds() throws Exception {
+        MockHttpServletRequest streaming = new MockHttpServletRequest("GET", "/api/events/all");
+        streaming.setAsyncSupported(true);
+        filter.doFilter(streaming, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+        assertEquals(1, registry.get(MetricsConfig.LOAD_SHEDDING + ".in_flight").gauge().value());
+        assertEquals(503, send("/api/events").getStatus());
+
+        streaming.getAsyncContext().complete();
+        assertEquals(0, registry.get(MetricsConfig.LOAD_SHEDDING + ".in_flight").gauge().value());
+        assertEquals(200, send("/api/events").getStatus());
+    }
+
+    private double rejected(String reason) {
+        return registry.get(MetricsConfig.REJECTED_REQUESTS).tag("reason", reason).counter().count();
+    }
+
+    private MockHttpServletResponse send(String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, (request, res) -> reached.incrementAndGet());
+        return response;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
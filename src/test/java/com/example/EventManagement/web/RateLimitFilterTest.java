@@ -0,0 +1,96 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.config.MetricsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // 20 tokens refilling at one a second: two searches, or twenty plain reads
+    private final RateLimitFilter filter = new RateLimitFilter(20, 1, new ClientIdentity("X-Client-Id", new String[]{"10.0.0.3"}),
+            10, 20, 20, 2, 1000, Duration.ofMinutes(10), registry);
+    private final AtomicInteger reached = new AtomicInteger();
+
+    @Test
+    void expensiveEndpointsDrainTheClientsBucketFirst() throws Exception {
+        assertEquals(200, send("GET", "/api/events/search", "10.0.0.1").getStatus());
+        assertEquals(200, send("GET", "/api/events/search", "10.0.0.1").getStatus());
+        MockHttpServletResponse limited = send("GET", "/api/events/search", "10.0.0.1");
+        assertEquals(429, limited.getStatus());
+        assertTrue(Integer.parseInt(limited.getHeader("Retry-After")) >= 10);
+        assertEquals(2, reached.get());
+
+        // Other clients have their own buckets, and health checks are never limited
+        assertEquals(200, send("GET", "/api/events/all", "10.0.0.2").getStatus());
+        assertEquals(200, send("GET", "/api/health", "10.0.0.1").getStatus());
+        assertEquals(4, reached.get());
+        assertEquals(1, registry.get(MetricsConfig.REJECTED_REQUESTS)
+                .tag("reason", "rate_limited").tag("endpoint", "search").counter().count());
+    }
+
+    @Test
+    void clientHeaderSeparatesClientsBehindATrustedProxy() throws Exception {
+        // Writes cost two tokens each
+        for (int i = 0; i < 10; i++) {
+            assertEquals(201, withClient("10.0.0.3", "kiosk-1").getStatus());
+        }
+        assertEquals(429, withClient("10.0.0.3", "kiosk-1").getStatus());
+        assertEquals(201, withClient("10.0.0.3", "kiosk-2").getStatus());
+        assertEquals(200, send("POST", "/api/registrations", "10.0.0.3").getStatus());
+        assertEquals(12, reached.get());
+    }
+
+    @Test
+    void clientHeaderFromAnyOtherAddressIsIgnored() throws Exception {
+        // A new header value per request still draws from the address's one bucket
+        for (int i = 0; i < 10; i++) {
+            assertEquals(201, withClient("10.0.0.4", "spoofed-" + i).getStatus());
+        }
+        assertEquals(429, withClient("10.0.0.4", "spoofed-10").getStatus());
+        assertEquals(10, reached.get());
+    }
+
+    @Test
+    void bucketsRefillOverTime() {
+        RateLimitFilter.TokenBucket bucket = new RateLimitFilter.TokenBucket(2, 0);
+        double perNano = 1 / 1e9;
+        assertEquals(0, bucket.tryTake(2, 2, perNano, 0));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), bucket.tryTake(1, 2, perNano, 0));
+        assertEquals(0, bucket.tryTake(1, 2, perNano, TimeUnit.SECONDS.toNanos(1)));
+        // A cost above the capacity waits for a full bucket instead of never passing
+        assertEquals(0, bucket.tryTake(5, 2, perNano, TimeUnit.SECONDS.toNanos(10)));
+    }
+
+    private MockHttpServletResponse withClient(String address, String client) throws Exception {
+        MockHttpServletRequest request = request("POST", "/api/registrations", address);
+        request.addHeader("X-Client-Id", client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            reached.incrementAndGet();
+            ((MockHttpServletResponse) res).setStatus(201);
+        });
+        return response;
+    }
+
+    private MockHttpServletResponse send(String method, String path, String address) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, path, address), response, (req, res) -> reached.incrementAndGet());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(address);
+        return request;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.EventManagement.web;
+
+import com.example.EventManagement.EventManagementApplication;
+import com.example.EventManagement.benchmark.BenchmarkDataset;
+import com.example.EventManagement.repository.CategoryRepository;
+import com.example.EventManagement.repository.UserRepository;
+import com.example.EventManagement.service.EventRegistrationService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the same HTTP workload against the default platform-thread Tomcat and against the
+ * {@code virtual} profile (virtual threads plus the database admission limiter) and prints
+ * throughput, latency, peak platform threads and peak heap for each. Both run against a pool
+ * of 10 connections, so most clients are waiting for the database at any moment.
+ * Run with {@code mvn test -Pbenchmark -Dtest=RequestExecutionLoadTest [-Dbenchmark.clients=2000]}.
+ */
+@Tag("benchmark")
+class RequestExecutionLoadTest {
+
+    private final int clients = Integer.getInteger("benchmark.clients", 1000);
+    private final int requestsPerClient = Integer.getInteger("benchmark.requests", 20);
+    private final int users = Integer.getInteger("benchmark.users", 2000);
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run("platform");
+        Result virtual = run("virtual");
+
+        System.out.printf("%n%d clients x %d requests, Hikari pool of 10%n", clients, requestsPerClient);
+        System.out.printf("%-9s %10s %9s %9s %13s %14s%n", "mode", "req/s", "p50 ms", "p99 ms", "peak threads", "peak heap MB");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-9s %10.0f %9.1f %9.1f %13d %14d%n", result.mode, result.throughput,
+                    result.p50Millis, result.p99Millis, result.peakThreads, result.peakHeapBytes >> 20);
+        }
+
+        assertEquals(0, platform.failures, "platform mode had failed requests");
+        assertEquals(0, virtual.failures, "virtual mode had failed requests");
+    }
+
+    private Result run(String mode) throws Exception {
+        List<String> profiles = new ArrayList<>(List.of("test"));
+        if (mode.equals("virtual")) {
+            profiles.add("virtual");
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EventManagementApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.datasource.hikari.maximum-pool-size=10",
+                        // Every client shares one address; measure the executors, not the limiters
+                        "--app.ratelimit.enabled=false",
+                        "--app.shedding.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.EventManagement=WARN");
+        try {
+            long[] userIds = seed(context);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            return drive(mode, port, userIds);
+        } finally {
+            context.close();
+        }
+    }
+
+    // A few events, each user registered for one of them, so every request reads and serializes rows
+    private long[] seed(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long categoryId = context.getBean(CategoryRepository.class).findAll().get(0).getId();
+        Long organizerId = context.getBean(UserRepository.class).findAll().get(0).getId();
+        List<Long> userIds = new ArrayList<>();
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            BenchmarkDataset.seedEvents(jdbcTemplate, 10, users, categoryId, organizerId);
+            userIds.addAll(BenchmarkDataset.seedUsers(jdbcTemplate, "load", users));
+        });
+        List<Long> eventIds = jdbcTemplate.queryForList("SELECT id FROM events WHERE status = 'PUBLISHED' ORDER BY id", Long.class);
+        EventRegistrationService registrationService = context.getBean(EventRegistrationService.class);
+        for (int i = 0; i < userIds.size(); i += 500) {
+            registrationService.registerForEventBatch(eventIds.get((i / 500) % eventIds.size()),
+                    userIds.subList(i, Math.min(i + 500, userIds.size())));
+        }
+        return userIds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private Result drive(String mode, int port, long[] userIds) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 50, TimeUnit.MILLISECONDS);
+
+        // Clients are virtual threads in both modes, so only the server side differs
+        long[] latencies = new long[clients * requestsPerClient];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        long started = System.nanoTime();
+        try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                clientThreads.submit(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        long userId = userIds[(client * requestsPerClient + r) % userIds.length];
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/api/registrations/user/" + userId)).build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                    }
+                    return null;
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        sampler.shutdownNow();
+
+        Arrays.sort(latencies);
+        return new Result(mode,
+                latencies.length / (elapsed / 1e9),
+                latencies[latencies.length / 2] / 1e6,
+                latencies[(int) (latencies.length * 0.99)] / 1e6,
+                threads.getPeakThreadCount(),
+                peakHeap.get(),
+                failures.get());
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis,
+                          int peakThreads, long peakHeapBytes, int failures) {
+    }
+}